@@ -106,13 +106,15 @@ public class CallableMethod implements Callable {
         return generateCalleeType;
     }
 
-    public void invokeWithDefault(InstructionAdapter v, int mask) {
+    public void invokeWithDefault(InstructionAdapter v, int[] masks) {
         if (defaultImplOwner.length() == 0 || defaultImplParam.length() == 0) {
             throw new IllegalStateException();
         }
 
-        v.iconst(mask);
-        String desc = getSignature().getAsmMethod().getDescriptor().replace(")", "I)");
+        for (int mask : masks) {
+            v.iconst(mask);
+        }
+        String desc = FunctionCodegen.getDefaultMethodDescriptor(getSignature().getAsmMethod().getDescriptor(), masks.length);
         if("<init>".equals(getSignature().getAsmMethod().getName())) {
             v.visitMethodInsn(Opcodes.INVOKESPECIAL, defaultImplOwner, "<init>", desc);
         }
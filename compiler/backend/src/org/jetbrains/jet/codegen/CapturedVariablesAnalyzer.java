@@ -0,0 +1,201 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.codegen;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.codegen.intrinsics.StupidSync;
+import org.jetbrains.jet.lang.descriptors.VariableDescriptor;
+import org.jetbrains.jet.lang.psi.*;
+import org.jetbrains.jet.lang.resolve.BindingContext;
+import org.jetbrains.jet.lang.types.lang.JetStandardLibrary;
+import org.jetbrains.jet.lexer.JetTokens;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds local vars that are referenced from closures (MUST_BE_WRAPPED_IN_A_REF) but still can live in plain locals:
+ * <ul>
+ * <li>closures only read the var, and every write to it happens before the closures are created,
+ * so copying the value into the closure is enough;</li>
+ * <li>the var is referenced only from synchronized blocks that are inlined by codegen, so there is no closure at all.</li>
+ * </ul>
+ *
+ * @author agent
+ */
+class CapturedVariablesAnalyzer {
+    private final BindingContext bindingContext;
+    private final JetStandardLibrary standardLibrary;
+    private final Map<VariableDescriptor, Boolean> capturedByValue = new HashMap<VariableDescriptor, Boolean>();
+
+    CapturedVariablesAnalyzer(@NotNull BindingContext bindingContext, @NotNull JetStandardLibrary standardLibrary) {
+        this.bindingContext = bindingContext;
+        this.standardLibrary = standardLibrary;
+    }
+
+    public boolean isCapturedByValue(@NotNull VariableDescriptor variable) {
+        Boolean result = capturedByValue.get(variable);
+        if (result == null) {
+            result = analyze(variable);
+            capturedByValue.put(variable, result);
+        }
+        return result;
+    }
+
+    private boolean analyze(@NotNull final VariableDescriptor variable) {
+        PsiElement declaration = bindingContext.get(BindingContext.DESCRIPTOR_TO_DECLARATION, variable);
+        final PsiElement owner = bindingContext.get(BindingContext.DESCRIPTOR_TO_DECLARATION, variable.getContainingDeclaration());
+        if (!(declaration instanceof JetProperty) || owner == null || !PsiTreeUtil.isAncestor(owner, declaration, true)) {
+            return false;
+        }
+
+        final List<JetExpression> writes = new ArrayList<JetExpression>();
+        final List<PsiElement> captures = new ArrayList<PsiElement>();
+        final boolean[] mustBeWrapped = new boolean[1];
+        owner.accept(new JetVisitorVoid() {
+            @Override
+            public void visitSimpleNameExpression(JetSimpleNameExpression expression) {
+                if (bindingContext.get(BindingContext.REFERENCE_TARGET, expression) == variable) {
+                    PsiElement capture = getCapturingElement(expression, owner);
+                    boolean isWrite = isWrite(expression);
+                    if (capture == null) {
+                        if (isWrite) {
+                            writes.add(expression);
+                        }
+                    }
+                    else if (isWrite || capture == owner) {
+                        mustBeWrapped[0] = true;
+                    }
+                    else {
+                        captures.add(capture);
+                    }
+                }
+                super.visitSimpleNameExpression(expression);
+            }
+
+            @Override
+            public void visitJetElement(JetElement element) {
+                if (!mustBeWrapped[0]) {
+                    element.acceptChildren(this);
+                }
+            }
+        });
+
+        if (mustBeWrapped[0]) {
+            return false;
+        }
+
+        for (PsiElement capture : captures) {
+            for (JetExpression write : writes) {
+                if (write.getTextRange().getEndOffset() > capture.getTextRange().getStartOffset() ||
+                    isInSameLoop(write, capture, owner)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return outermost closure between the reference and the declaration owning the var, null if there is none,
+     *         or the owner itself if the var is referenced from a construct this analysis doesn't handle
+     */
+    @Nullable
+    private PsiElement getCapturingElement(@NotNull JetExpression reference, @NotNull PsiElement owner) {
+        PsiElement capture = null;
+        for (PsiElement element = reference.getParent(); element != owner; element = element.getParent()) {
+            if (element == null) {
+                return owner;
+            }
+            if (element instanceof JetFunctionLiteralExpression) {
+                if (!isInlinedBlock((JetFunctionLiteralExpression) element)) {
+                    capture = element;
+                }
+            }
+            else if (element instanceof JetNamedFunction || element instanceof JetObjectLiteralExpression) {
+                capture = element;
+            }
+            else if (element instanceof JetClassOrObject && !(element.getParent() instanceof JetObjectLiteralExpression)) {
+                // local classes and objects: initializers and members may run at any time
+                return owner;
+            }
+        }
+        return capture;
+    }
+
+    private boolean isInlinedBlock(@NotNull JetFunctionLiteralExpression literal) {
+        PsiElement parent = literal.getParent();
+        if (parent instanceof JetPrefixExpression) {
+            // labeled literal
+            parent = parent.getParent();
+        }
+        if (parent instanceof JetValueArgument) {
+            parent = parent.getParent().getParent();
+        }
+        if (!(parent instanceof JetCallExpression)) {
+            return false;
+        }
+
+        JetCallExpression call = (JetCallExpression) parent;
+        if (!StupidSync.isInlinedCall(call, bindingContext, standardLibrary)) {
+            return false;
+        }
+        List<JetExpression> arguments = StupidSync.getInlinedArguments(call);
+        return arguments != null && arguments.get(1) == literal;
+    }
+
+    private static boolean isWrite(@NotNull JetExpression reference) {
+        JetExpression expression = reference;
+        PsiElement parent = expression.getParent();
+        while (parent instanceof JetParenthesizedExpression) {
+            expression = (JetExpression) parent;
+            parent = parent.getParent();
+        }
+
+        if (parent instanceof JetBinaryExpression) {
+            JetBinaryExpression binaryExpression = (JetBinaryExpression) parent;
+            IElementType operationToken = binaryExpression.getOperationToken();
+            return binaryExpression.getLeft() == expression &&
+                   (operationToken == JetTokens.EQ || JetTokens.AUGMENTED_ASSIGNMENTS.contains(operationToken));
+        }
+        if (parent instanceof JetUnaryExpression) {
+            JetUnaryExpression unaryExpression = (JetUnaryExpression) parent;
+            IElementType operationToken = unaryExpression.getOperationReference().getReferencedNameElementType();
+            return unaryExpression.getBaseExpression() == expression &&
+                   (operationToken == JetTokens.PLUSPLUS || operationToken == JetTokens.MINUSMINUS);
+        }
+        return false;
+    }
+
+    /**
+     * A write inside a loop around the closure happens again after the closure is created
+     */
+    private static boolean isInSameLoop(@NotNull JetExpression write, @NotNull PsiElement capture, @NotNull PsiElement owner) {
+        for (PsiElement element = capture.getParent(); element != null && element != owner; element = element.getParent()) {
+            if (element instanceof JetLoopExpression && PsiTreeUtil.isAncestor(element, write, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
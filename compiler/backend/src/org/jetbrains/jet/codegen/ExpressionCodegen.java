@@ -24,6 +24,7 @@ import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jet.codegen.intrinsics.IntrinsicMethod;
+import org.jetbrains.jet.codegen.intrinsics.StupidSync;
 import org.jetbrains.jet.codegen.signature.JvmPropertyAccessorSignature;
 import org.jetbrains.jet.lang.descriptors.*;
 import org.jetbrains.jet.lang.diagnostics.DiagnosticUtils;
@@ -97,6 +98,18 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> {
         }
     }
 
+    static class MonitorBlockStackElement extends BlockStackElement {
+        final int lockIndex;
+        // start/end pairs of the code that holds the monitor: every early exit releases it and closes the current range
+        final List<Label> protectedRanges = new ArrayList<Label>();
+        Label rangeStart;
+
+        MonitorBlockStackElement(int lockIndex, Label rangeStart) {
+            this.lockIndex = lockIndex;
+            this.rangeStart = rangeStart;
+        }
+    }
+
 
     public ExpressionCodegen(MethodVisitor v,
                              FrameMap myMap,
@@ -617,10 +630,14 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> {
                 //noinspection ConstantConditions
                 gen(jetTryExpression.getFinallyBlock().getFinalExpression(), Type.VOID_TYPE);
             }
+            else if (stackElement instanceof MonitorBlockStackElement) {
+                exitMonitor((MonitorBlockStackElement) stackElement);
+            }
             else if(stackElement instanceof LoopBlockStackElement) {
                 LoopBlockStackElement loopBlockStackElement = (LoopBlockStackElement) stackElement;
                 if (labelElement == null || loopBlockStackElement.targetLabel != null && labelElement.getReferencedName().equals(loopBlockStackElement.targetLabel.getReferencedName())) {
                     v.goTo(loopBlockStackElement.breakLabel);
+                    resumeExitedMonitors();
                     return StackValue.none();
                 }
             }
@@ -643,10 +660,14 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> {
                 JetTryExpression jetTryExpression = finallyBlockStackElement.expression;
                 gen(jetTryExpression.getFinallyBlock().getFinalExpression(), Type.VOID_TYPE);
             }
+            else if (stackElement instanceof MonitorBlockStackElement) {
+                exitMonitor((MonitorBlockStackElement) stackElement);
+            }
             else if(stackElement instanceof LoopBlockStackElement) {
                 LoopBlockStackElement loopBlockStackElement = (LoopBlockStackElement) stackElement;
                 if (labelElement == null || loopBlockStackElement.targetLabel != null && labelElement.getReferencedName().equals(loopBlockStackElement.targetLabel.getReferencedName())) {
                     v.goTo(loopBlockStackElement.continueLabel);
+                    resumeExitedMonitors();
                     return StackValue.none();
                 }
             }
@@ -917,6 +938,33 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> {
         }
     }
     
+    private void exitMonitor(MonitorBlockStackElement monitor) {
+        assert monitor.rangeStart != null : "monitor is already released";
+        v.load(monitor.lockIndex, TYPE_OBJECT);
+        v.monitorexit();
+
+        Label rangeEnd = new Label();
+        v.mark(rangeEnd);
+        monitor.protectedRanges.add(monitor.rangeStart);
+        monitor.protectedRanges.add(rangeEnd);
+        monitor.rangeStart = null;
+    }
+
+    /**
+     * Code after a jump out of synchronized block is still executed holding the monitor
+     */
+    private void resumeExitedMonitors() {
+        for (BlockStackElement stackElement : blockStackElements) {
+            if (stackElement instanceof MonitorBlockStackElement) {
+                MonitorBlockStackElement monitor = (MonitorBlockStackElement) stackElement;
+                if (monitor.rangeStart == null) {
+                    monitor.rangeStart = new Label();
+                    v.mark(monitor.rangeStart);
+                }
+            }
+        }
+    }
+
     @Override
     public StackValue visitReturnExpression(JetReturnExpression expression, StackValue receiver) {
         final JetExpression returnedExpression = expression.getReturnedExpression();
@@ -1355,11 +1403,11 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> {
             }
         }
 
-        int mask = pushMethodArguments(expression, callableMethod.getValueParameterTypes());
-        if(mask == 0)
+        int[] masks = pushMethodArguments(expression, callableMethod.getValueParameterTypes());
+        if(masks == null)
             callableMethod.invoke(v);
         else
-            callableMethod.invokeWithDefault(v, mask);
+            callableMethod.invokeWithDefault(v, masks);
     }
 
     private void genThisAndReceiverFromResolvedCall(StackValue receiver, ResolvedCall<? extends CallableDescriptor> resolvedCall, CallableMethod callableMethod) {
@@ -1472,7 +1520,11 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> {
         return false;
     }
 
-    private int pushMethodArguments(@NotNull ResolvedCall resolvedCall, List<Type> valueParameterTypes) {
+    /**
+     * @return masks of the omitted arguments to pass to the $default method, or null if the function itself can be called
+     */
+    @Nullable
+    private int[] pushMethodArguments(@NotNull ResolvedCall resolvedCall, List<Type> valueParameterTypes) {
         @SuppressWarnings("unchecked")
         List<ResolvedValueArgument> valueArguments = resolvedCall.getValueArgumentsByIndex();
         CallableDescriptor fd = resolvedCall.getResultingDescriptor();
@@ -1482,7 +1534,7 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> {
         }
 
         int index = 0;
-        int mask  = 0;
+        int[] masks = null;
 
         for (ValueParameterDescriptor valueParameterDescriptor : fd.getValueParameters()) {
             ResolvedValueArgument resolvedValueArgument = valueArguments.get(valueParameterDescriptor.getIndex());
@@ -1492,21 +1544,31 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> {
             }
             else if(resolvedValueArgument instanceof DefaultValueArgument) {
                 Type type = valueParameterTypes.get(index);
-                if(type.getSort() == Type.OBJECT||type.getSort() == Type.ARRAY)
-                    v.aconst(null);
-                else if(type.getSort() == Type.FLOAT) {
-                    v.aconst(0f);
-                }
-                else if(type.getSort() == Type.DOUBLE) {
-                    v.aconst(0d);
-                }
-                else if(type.getSort() == Type.LONG) {
-                    v.aconst(0l);
+                JetExpression constantDefaultValue = getConstantDefaultValue(valueParameterDescriptor);
+                if(constantDefaultValue != null) {
+                    // the same constant the $default method would push, so the function can be called directly
+                    gen(constantDefaultValue, type);
                 }
                 else {
-                    v.iconst(0);
+                    if(type.getSort() == Type.OBJECT||type.getSort() == Type.ARRAY)
+                        v.aconst(null);
+                    else if(type.getSort() == Type.FLOAT) {
+                        v.aconst(0f);
+                    }
+                    else if(type.getSort() == Type.DOUBLE) {
+                        v.aconst(0d);
+                    }
+                    else if(type.getSort() == Type.LONG) {
+                        v.aconst(0l);
+                    }
+                    else {
+                        v.iconst(0);
+                    }
+                    if(masks == null) {
+                        masks = new int[FunctionCodegen.getDefaultMaskCount(fd.getValueParameters().size())];
+                    }
+                    masks[index / FunctionCodegen.MASK_BITS] |= 1 << (index % FunctionCodegen.MASK_BITS);
                 }
-                mask |= (1 << index);
             }
             else if(resolvedValueArgument instanceof VarargValueArgument) {
                 VarargValueArgument valueArgument = (VarargValueArgument) resolvedValueArgument;
@@ -1531,10 +1593,26 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> {
             }
             index++;
         }
-        return mask;
+        return masks;
+    }
+
+    @Nullable
+    private JetExpression getConstantDefaultValue(ValueParameterDescriptor valueParameterDescriptor) {
+        PsiElement declaration = bindingContext.get(BindingContext.DESCRIPTOR_TO_DECLARATION, valueParameterDescriptor.getOriginal());
+        if (!(declaration instanceof JetParameter)) {
+            // declared in a library
+            return null;
+        }
+        // null for a default value inherited from an overridden function
+        JetExpression defaultValue = ((JetParameter) declaration).getDefaultValue();
+        if (defaultValue == null || bindingContext.get(BindingContext.COMPILE_TIME_VALUE, defaultValue) == null) {
+            return null;
+        }
+        return defaultValue;
     }
 
-    public int pushMethodArguments(JetCallElement expression, List<Type> valueParameterTypes) {
+    @Nullable
+    public int[] pushMethodArguments(JetCallElement expression, List<Type> valueParameterTypes) {
         ResolvedCall<? extends CallableDescriptor> resolvedCall = bindingContext.get(BindingContext.RESOLVED_CALL, expression.getCalleeExpression());
         if(resolvedCall != null) {
             return pushMethodArguments(resolvedCall, valueParameterTypes);
@@ -1545,7 +1623,7 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> {
                 ValueArgument arg = args.get(i);
                 gen(arg.getArgumentExpression(), valueParameterTypes.get(i));
             }
-            return 0;
+            return null;
         }
     }
 
@@ -1571,7 +1649,7 @@ public class ExpressionCodegen extends JetVisitor<StackValue, StackValue> {
         Type receiverType = asmType(receiverJetType);
         gen(expr, receiverType);
         assert receiverJetType != null;
-        if(!receiverJetType.isNullable()) {
+        if(!receiverJetType.isNullable() || bindingContext.get(BindingContext.KNOWN_NOT_NULL, expr)) {
             StackValue propValue = genQualified(StackValue.onStack(receiverType), expression.getSelectorExpression());
             Type type = propValue.type;
             propValue.put(type, v);
@@ -2534,6 +2612,61 @@ If finally block is present, its last expression is the value of try expression.
         return StackValue.onStack(expectedAsmType);
     }
 
+    /**
+     * Generates synchronized(lock) { ... } with a literal block as MONITORENTER/MONITOREXIT around the literal body,
+     * the same way javac compiles a synchronized statement.
+     *
+     * @return null if the block can't be inlined and has to be called as a closure
+     */
+    @Nullable
+    public StackValue generateSynchronizedBlock(JetCallExpression expression, Type expectedType) {
+        List<JetExpression> arguments = StupidSync.getInlinedArguments(expression);
+        if (arguments == null) {
+            return null;
+        }
+        JetFunctionLiteralExpression block = (JetFunctionLiteralExpression) arguments.get(1);
+
+        gen(arguments.get(0), TYPE_OBJECT);
+        int lockIndex = myFrameMap.enterTemp();
+        v.dup();
+        v.store(lockIndex, TYPE_OBJECT);
+        v.monitorenter();
+
+        Label savedContinueLabel = continueLabel;
+        continueLabel = null;
+
+        Label blockStart = new Label();
+        v.mark(blockStart);
+        MonitorBlockStackElement monitor = new MonitorBlockStackElement(lockIndex, blockStart);
+        blockStackElements.push(monitor);
+
+        //noinspection ConstantConditions
+        generateBlock(block.getBodyExpression().getStatements()).put(expectedType, v);
+
+        blockStackElements.pop();
+        exitMonitor(monitor);
+
+        Label end = new Label();
+        v.goTo(end);
+
+        Label handler = new Label();
+        v.mark(handler);
+        v.load(lockIndex, TYPE_OBJECT);
+        v.monitorexit();
+        v.athrow();
+
+        List<Label> ranges = monitor.protectedRanges;
+        for (int i = 0; i < ranges.size(); i += 2) {
+            v.visitTryCatchBlock(ranges.get(i), ranges.get(i + 1), handler, null);
+        }
+
+        v.mark(end);
+        myFrameMap.leaveTemp();
+        continueLabel = savedContinueLabel;
+
+        return StackValue.onStack(expectedType);
+    }
+
     @Override
     public StackValue visitBinaryWithTypeRHSExpression(final JetBinaryExpressionWithTypeRHS expression, StackValue receiver) {
         JetSimpleNameExpression operationSign = expression.getOperationSign();
@@ -2660,8 +2793,11 @@ If finally block is present, its last expression is the value of try expression.
 
         v.mark(lblCheck);
         for (int i = 0; i < entries.size(); i++) {
-            final StackValue tupleField = StackValue.field(TYPE_OBJECT, tupleClassName, "_" + (i + 1), false);
-            final StackValue stackValue = generatePatternMatch(entries.get(i).getPattern(), false, tupleField, nextEntry);
+            // specialized pairs like jet.IntTuple2 don't fill the fields, so the components are read through the getters
+            final Method getter = new Method("get_" + (i + 1), TYPE_OBJECT, new Type[0]);
+            final StackValue tupleComponent = StackValue.property("_" + (i + 1), tupleClassName, tupleClassName, TYPE_OBJECT,
+                                                                  false, false, false, getter, null, Opcodes.INVOKEVIRTUAL);
+            final StackValue stackValue = generatePatternMatch(entries.get(i).getPattern(), false, tupleComponent, nextEntry);
             stackValue.condJump(lblPopAndFail, true, v);
         }
 
@@ -2711,14 +2847,29 @@ If finally block is present, its last expression is the value of try expression.
     @Override
     public StackValue visitWhenExpression(JetWhenExpression expression, StackValue receiver) {
         JetExpression expr = expression.getSubjectExpression();
-        final Type subjectType = expressionType(expr);
+        final List<JetExpression> subjectComponents = getScalarReplaceableTupleSubject(expression);
+        final Type subjectType = subjectComponents == null ? expressionType(expr) : Type.VOID_TYPE;
         final Type resultType = expressionType(expression);
-        final int subjectLocal = expr != null ? myFrameMap.enterTemp(subjectType.getSize()) : -1;
+        final int subjectLocal = expr != null && subjectComponents == null ? myFrameMap.enterTemp(subjectType.getSize()) : -1;
         if(subjectLocal != -1) {
             gen(expr, subjectType);
             v.store(subjectLocal, subjectType);
         }
 
+        // the tuple itself is never allocated: its components are kept in locals and matched one by one
+        StackValue[] componentValues = null;
+        if (subjectComponents != null) {
+            componentValues = new StackValue[subjectComponents.size()];
+            for (int i = 0; i < componentValues.length; i++) {
+                final JetExpression component = subjectComponents.get(i);
+                final Type componentType = expressionType(component);
+                final int componentLocal = myFrameMap.enterTemp(componentType.getSize());
+                gen(component, componentType);
+                v.store(componentLocal, componentType);
+                componentValues[i] = StackValue.local(componentLocal, componentType);
+            }
+        }
+
         Label end = new Label();
         boolean hasElse = false;
         for (JetWhenEntry whenEntry : expression.getEntries()) {
@@ -2739,7 +2890,9 @@ If finally block is present, its last expression is the value of try expression.
             if (!whenEntry.isElse()) {
                 final JetWhenCondition[] conditions = whenEntry.getConditions();
                 for (int i = 0; i < conditions.length; i++) {
-                    StackValue conditionValue = generateWhenCondition(subjectType, subjectLocal, conditions[i], nextCondition);
+                    StackValue conditionValue = componentValues != null
+                                                ? generateTupleComponentsMatch((JetTuplePattern) ((JetWhenConditionIsPattern) conditions[i]).getPattern(), componentValues, nextCondition)
+                                                : generateWhenCondition(subjectType, subjectLocal, conditions[i], nextCondition);
                     conditionValue.condJump(nextCondition, true, v);
                     if (i < conditions.length - 1) {
                         v.goTo(thisEntry);
@@ -2762,10 +2915,57 @@ If finally block is present, its last expression is the value of try expression.
         }
         v.mark(end);
 
+        if (componentValues != null) {
+            for (int i = componentValues.length - 1; i >= 0; i--) {
+                myFrameMap.leaveTemp(componentValues[i].type.getSize());
+            }
+        }
         myFrameMap.leaveTemp(subjectType.getSize());
         return StackValue.onStack(resultType);
     }
 
+    /**
+     * @return entries of the subject if it is a tuple literal and every condition is a plain tuple pattern of the same size,
+     *         so that the tuple doesn't need to be created at all
+     */
+    @Nullable
+    private static List<JetExpression> getScalarReplaceableTupleSubject(JetWhenExpression expression) {
+        JetExpression subject = expression.getSubjectExpression();
+        if (!(subject instanceof JetTupleExpression)) {
+            return null;
+        }
+        List<JetExpression> components = ((JetTupleExpression) subject).getEntries();
+        if (components.isEmpty()) {
+            return null;
+        }
+        for (JetWhenEntry whenEntry : expression.getEntries()) {
+            if (whenEntry.isElse()) {
+                continue;
+            }
+            for (JetWhenCondition condition : whenEntry.getConditions()) {
+                if (!(condition instanceof JetWhenConditionIsPattern)) {
+                    return null;
+                }
+                JetWhenConditionIsPattern patternCondition = (JetWhenConditionIsPattern) condition;
+                JetPattern pattern = patternCondition.getPattern();
+                if (patternCondition.isNegated() || !(pattern instanceof JetTuplePattern)
+                    || ((JetTuplePattern) pattern).getEntries().size() != components.size()) {
+                    return null;
+                }
+            }
+        }
+        return components;
+    }
+
+    private StackValue generateTupleComponentsMatch(JetTuplePattern pattern, StackValue[] componentValues, Label nextEntry) {
+        final List<JetTuplePatternEntry> entries = pattern.getEntries();
+        for (int i = 0; i < entries.size(); i++) {
+            final StackValue stackValue = generatePatternMatch(entries.get(i).getPattern(), false, componentValues[i], nextEntry);
+            stackValue.condJump(nextEntry, true, v);
+        }
+        return StackValue.constant(true, Type.BOOLEAN_TYPE);
+    }
+
     private StackValue generateWhenCondition(Type subjectType, int subjectLocal, JetWhenCondition condition, @Nullable Label nextEntry) {
         if (condition instanceof JetWhenConditionInRange) {
             JetWhenConditionInRange conditionInRange = (JetWhenConditionInRange) condition;
@@ -2829,18 +3029,24 @@ If finally block is present, its last expression is the value of try expression.
             return StackValue.onStack(Type.getObjectType("jet/Tuple0"));
         }
 
-        final String className = "jet/Tuple" + entries.size();
-        Type tupleType = Type.getObjectType(className);
+        List<JetType> entryTypes = new ArrayList<JetType>(entries.size());
+        for (JetExpression entry : entries) {
+            entryTypes.add(bindingContext.get(BindingContext.EXPRESSION_TYPE, entry));
+        }
+        final Type tupleType = typeMapper.mapTupleImplementation(entryTypes);
+        final String className = tupleType.getInternalName();
+        // a specialized pair takes both components unboxed
+        Type entryType = className.equals("jet/Tuple" + entries.size()) ? TYPE_OBJECT : asmType(entryTypes.get(0));
         StringBuilder signature = new StringBuilder("(");
         for (int i = 0; i != entries.size(); ++i) {
-            signature.append("Ljava/lang/Object;");
+            signature.append(entryType.getDescriptor());
         }
         signature.append(")V");
 
         v.anew(tupleType);
         v.dup();
         for (JetExpression entry : entries) {
-            gen(entry, TYPE_OBJECT);
+            gen(entry, entryType);
         }
         v.invokespecial(className, "<init>", signature.toString());
         return StackValue.onStack(tupleType);
@@ -50,6 +50,11 @@ public class FunctionCodegen {
     private final ClassBuilder v;
     private final GenerationState state;
 
+    /**
+     * Each int mask passed to a $default method flags the omitted arguments of 32 consecutive value parameters.
+     */
+    public static final int MASK_BITS = 32;
+
     public FunctionCodegen(CodegenContext owner, ClassBuilder v, GenerationState state) {
         this.owner = owner;
         this.v = v;
@@ -324,7 +329,8 @@ public class FunctionCodegen {
                                        NamespaceCodegen.getJVMClassName(DescriptorUtils.getFQName(contextClass).toSafe(), true) :
                                        state.getInjector().getJetTypeMapper().mapType(((ClassDescriptor) contextClass).getDefaultType(), OwnerKind.IMPLEMENTATION).getInternalName();
 
-            String descriptor = jvmSignature.getDescriptor().replace(")","I)");
+            String descriptor = getDefaultMethodDescriptor(jvmSignature.getDescriptor(),
+                                                           getDefaultMaskCount(functionDescriptor.getValueParameters().size()));
             boolean isConstructor = "<init>".equals(jvmSignature.getName());
             if(!isStatic && !isConstructor)
                 descriptor = descriptor.replace("(","(L" + ownerInternalName + ";");
@@ -378,8 +384,8 @@ public class FunctionCodegen {
                     Type t = argumentTypes[extra + index];
                     Label endArg = null;
                     if (parameterDescriptor.hasDefaultValue()) {
-                        iv.load(maskIndex, Type.INT_TYPE);
-                        iv.iconst(1 << index);
+                        iv.load(maskIndex + index / MASK_BITS, Type.INT_TYPE);
+                        iv.iconst(1 << (index % MASK_BITS));
                         iv.and(Type.INT_TYPE);
                         Label loadArg = new Label();
                         iv.ifeq(loadArg);
@@ -425,6 +431,21 @@ public class FunctionCodegen {
         }
     }
 
+    public static int getDefaultMaskCount(int valueParameterCount) {
+        return Math.max(1, (valueParameterCount + MASK_BITS - 1) / MASK_BITS);
+    }
+
+    /**
+     * @return descriptor of the $default method: the original parameters followed by the int masks
+     */
+    public static String getDefaultMethodDescriptor(String descriptor, int maskCount) {
+        StringBuilder masks = new StringBuilder();
+        for (int i = 0; i < maskCount; i++) {
+            masks.append('I');
+        }
+        return descriptor.replace(")", masks + ")");
+    }
+
     private static boolean differentMethods(Method method, Method overriden) {
         if(!method.getReturnType().equals(overriden.getReturnType()))
             return true;
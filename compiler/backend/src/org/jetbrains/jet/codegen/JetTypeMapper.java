@@ -63,6 +63,7 @@ public class JetTypeMapper {
     private JetStandardLibrary standardLibrary;
     public BindingContext bindingContext;
     private ClosureAnnotator closureAnnotator;
+    private CapturedVariablesAnalyzer capturedVariablesAnalyzer;
 
 
     @Inject
@@ -84,6 +85,7 @@ public class JetTypeMapper {
     public void init() {
         initKnownTypes();
         initKnownTypeNames();
+        capturedVariablesAnalyzer = new CapturedVariablesAnalyzer(bindingContext, standardLibrary);
     }
 
 
@@ -113,6 +115,7 @@ public class JetTypeMapper {
     public static final Type TYPE_SHARED_BOOLEAN = Type.getObjectType("jet/runtime/SharedVar$Boolean");
     public static final Type TYPE_FUNCTION0 = Type.getObjectType("jet/Function0");
     public static final Type TYPE_FUNCTION1 = Type.getObjectType("jet/Function1");
+    public static final Type TYPE_TUPLE2 = Type.getObjectType("jet/Tuple2");
 
     public static boolean isIntPrimitive(Type type) {
         return type == Type.INT_TYPE || type == Type.SHORT_TYPE || type == Type.BYTE_TYPE || type == Type.CHAR_TYPE;
@@ -122,6 +125,39 @@ public class JetTypeMapper {
         return type.getSort() != Type.OBJECT && type.getSort() != Type.ARRAY;
     }
 
+    /**
+     * @return the prefix of the specialized jet.Tuple2 subclass (and the suffix of its unboxed getters)
+     *         for components of this type, or null if such components are stored boxed
+     */
+    @Nullable
+    public static String getTupleSpecializationName(Type type) {
+        switch (type.getSort()) {
+            case Type.INT:
+                return "Int";
+            case Type.LONG:
+                return "Long";
+            case Type.DOUBLE:
+                return "Double";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Pairs of non-nullable ints, longs or doubles are created as jet.IntTuple2 etc. to avoid boxing the components.
+     */
+    @NotNull
+    public Type mapTupleImplementation(@NotNull List<JetType> entryTypes) {
+        if (entryTypes.size() == 2) {
+            Type first = mapType(entryTypes.get(0));
+            String specialization = getTupleSpecializationName(first);
+            if (specialization != null && first.equals(mapType(entryTypes.get(1)))) {
+                return Type.getObjectType("jet/" + specialization + "Tuple2");
+            }
+        }
+        return Type.getObjectType("jet/Tuple" + entryTypes.size());
+    }
+
     public static Type correctElementType(Type type) {
         String internalName = type.getInternalName();
         assert internalName.charAt(0) == '[';
@@ -862,7 +898,7 @@ public class JetTypeMapper {
         }
         else if (descriptor instanceof VariableDescriptor) {
             Boolean aBoolean = bindingContext.get(BindingContext.MUST_BE_WRAPPED_IN_A_REF, (VariableDescriptor) descriptor);
-            if (aBoolean != null && aBoolean) {
+            if (aBoolean != null && aBoolean && !capturedVariablesAnalyzer.isCapturedByValue((VariableDescriptor) descriptor)) {
                 JetType outType = ((VariableDescriptor) descriptor).getType();
                 return StackValue.sharedTypeForType(mapType(outType));
             }
@@ -151,6 +151,7 @@ public class IntrinsicMethods {
         declareIntrinsicProperty("String", "length", new StringLength());
 
         declareArrayMethods();
+        declareTupleComponents();
     }
 
     private void declareArrayMethods() {
@@ -175,6 +176,15 @@ public class IntrinsicMethods {
         declareIterator(myStdLib.getPrimitiveArrayClassDescriptor(primitiveType));
     }
 
+    private void declareTupleComponents() {
+        final JetScope tupleScope = JetStandardClasses.getTuple(2).getDefaultType().getMemberScope();
+        for (int i = 1; i <= 2; i++) {
+            for (VariableDescriptor property : tupleScope.getProperties("_" + i)) {
+                myMethods.put(property.getOriginal(), new TupleComponent(i));
+            }
+        }
+    }
+
     private void declareIterator(ClassDescriptor classDescriptor) {
         declareOverload(classDescriptor.getDefaultType().getMemberScope().getFunctions("iterator"), 0, ARRAY_ITERATOR);
     }
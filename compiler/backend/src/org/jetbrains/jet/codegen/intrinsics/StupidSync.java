@@ -17,23 +17,104 @@
 package org.jetbrains.jet.codegen.intrinsics;
 
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jet.codegen.ExpressionCodegen;
 import org.jetbrains.jet.codegen.GenerationState;
 import org.jetbrains.jet.codegen.JetTypeMapper;
 import org.jetbrains.jet.codegen.StackValue;
-import org.jetbrains.jet.lang.psi.JetCallExpression;
-import org.jetbrains.jet.lang.psi.JetExpression;
+import org.jetbrains.jet.lang.descriptors.CallableDescriptor;
+import org.jetbrains.jet.lang.psi.*;
+import org.jetbrains.jet.lang.resolve.BindingContext;
+import org.jetbrains.jet.lang.resolve.calls.ResolvedCall;
+import org.jetbrains.jet.lang.types.lang.JetStandardLibrary;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.commons.InstructionAdapter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 public class StupidSync implements IntrinsicMethod {
+    /**
+     * @return lock and block expressions if the call can be compiled as MONITORENTER/MONITOREXIT around the block body,
+     *         null if the block has to be passed as a closure
+     */
+    @Nullable
+    public static List<JetExpression> getInlinedArguments(@NotNull JetCallExpression expression) {
+        List<JetExpression> arguments = new ArrayList<JetExpression>();
+        for (ValueArgument argument : expression.getValueArguments()) {
+            if (argument.isNamed()) {
+                return null;
+            }
+            arguments.add(argument.getArgumentExpression());
+        }
+        if (arguments.isEmpty()) {
+            return null;
+        }
+        arguments.addAll(expression.getFunctionLiteralArguments());
+        if (arguments.size() != 2 || !(arguments.get(1) instanceof JetFunctionLiteralExpression)) {
+            return null;
+        }
+
+        JetFunctionLiteralExpression block = (JetFunctionLiteralExpression) arguments.get(1);
+        if (!block.getValueParameters().isEmpty() || hasReturnsFromLiteral(block)) {
+            return null;
+        }
+        return arguments;
+    }
+
+    /**
+     * Is it a call of the library synchronized() whose block is inlined by codegen
+     */
+    public static boolean isInlinedCall(
+            @NotNull JetCallExpression expression,
+            @NotNull BindingContext bindingContext,
+            @NotNull JetStandardLibrary standardLibrary
+    ) {
+        ResolvedCall<? extends CallableDescriptor> resolvedCall = bindingContext.get(BindingContext.RESOLVED_CALL, expression.getCalleeExpression());
+        if (resolvedCall == null) {
+            return false;
+        }
+        CallableDescriptor descriptor = resolvedCall.getResultingDescriptor().getOriginal();
+        if (descriptor.getValueParameters().size() != 2 ||
+            !standardLibrary.getLibraryScope().getFunctions("synchronized").contains(descriptor)) {
+            return false;
+        }
+        return getInlinedArguments(expression) != null;
+    }
+
+    /**
+     * Any return in the literal body itself, labeled or not, has no frame to return from once the body is inlined.
+     * So codegen never meets a return while it holds an inlined monitor
+     */
+    private static boolean hasReturnsFromLiteral(final JetFunctionLiteralExpression literal) {
+        final boolean[] result = new boolean[1];
+        literal.getFunctionLiteral().acceptChildren(new JetVisitorVoid() {
+            @Override
+            public void visitReturnExpression(JetReturnExpression expression) {
+                if (PsiTreeUtil.getParentOfType(expression, JetDeclarationWithBody.class) == literal.getFunctionLiteral()) {
+                    result[0] = true;
+                }
+                super.visitReturnExpression(expression);
+            }
+
+            @Override
+            public void visitJetElement(JetElement element) {
+                element.acceptChildren(this);
+            }
+        });
+        return result[0];
+    }
+
     @Override
     public StackValue generate(ExpressionCodegen codegen, InstructionAdapter v, Type expectedType, @Nullable PsiElement element, @Nullable List<JetExpression> arguments, StackValue receiver, @NotNull GenerationState state) {
+        StackValue inlined = codegen.generateSynchronizedBlock((JetCallExpression) element, expectedType);
+        if (inlined != null) {
+            return inlined;
+        }
+
         codegen.pushMethodArguments((JetCallExpression)element, Arrays.asList(JetTypeMapper.TYPE_OBJECT, JetTypeMapper.TYPE_FUNCTION0));
         v.invokestatic("jet/runtime/Intrinsics", "stupidSync", "(Ljava/lang/Object;Ljet/Function0;)Ljava/lang/Object;");
         StackValue.onStack(JetTypeMapper.TYPE_OBJECT).put(expectedType, v);
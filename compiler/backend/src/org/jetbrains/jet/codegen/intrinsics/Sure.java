@@ -26,6 +26,8 @@ import org.jetbrains.jet.lang.psi.JetCallExpression;
 import org.jetbrains.jet.lang.psi.JetExpression;
 import org.jetbrains.jet.lang.resolve.BindingContext;
 import org.jetbrains.jet.lang.resolve.calls.ResolvedCall;
+import org.jetbrains.jet.lang.resolve.scopes.receivers.ExpressionReceiver;
+import org.jetbrains.jet.lang.resolve.scopes.receivers.ReceiverDescriptor;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.commons.InstructionAdapter;
@@ -41,13 +43,16 @@ public class Sure implements IntrinsicMethod {
         JetCallExpression call = (JetCallExpression) element;
         ResolvedCall<? extends CallableDescriptor> resolvedCall = codegen.getBindingContext().get(BindingContext.RESOLVED_CALL, call.getCalleeExpression());
         assert resolvedCall != null;
-        if(resolvedCall.getReceiverArgument().getType().isNullable())  {
+        ReceiverDescriptor receiverArgument = resolvedCall.getReceiverArgument();
+        if(receiverArgument.getType().isNullable())  {
             receiver.put(receiver.type, v);
-            v.dup();
-            Label ok = new Label();
-            v.ifnonnull(ok);
-            v.invokestatic("jet/runtime/Intrinsics", "throwNpe", "()V");
-            v.mark(ok);
+            if(!isKnownNotNull(receiverArgument, codegen.getBindingContext())) {
+                v.dup();
+                Label ok = new Label();
+                v.ifnonnull(ok);
+                v.invokestatic("jet/runtime/Intrinsics", "throwNpe", "()V");
+                v.mark(ok);
+            }
             StackValue.onStack(receiver.type).put(expectedType, v);
         }
         else {
@@ -55,4 +60,9 @@ public class Sure implements IntrinsicMethod {
         }
         return StackValue.onStack(expectedType);
     }
+
+    private static boolean isKnownNotNull(ReceiverDescriptor receiverArgument, BindingContext bindingContext) {
+        return receiverArgument instanceof ExpressionReceiver &&
+               bindingContext.get(BindingContext.KNOWN_NOT_NULL, ((ExpressionReceiver) receiverArgument).getExpression());
+    }
 }
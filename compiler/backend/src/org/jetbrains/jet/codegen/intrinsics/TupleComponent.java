@@ -0,0 +1,55 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.codegen.intrinsics;
+
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.codegen.ExpressionCodegen;
+import org.jetbrains.jet.codegen.GenerationState;
+import org.jetbrains.jet.codegen.JetTypeMapper;
+import org.jetbrains.jet.codegen.StackValue;
+import org.jetbrains.jet.lang.psi.JetExpression;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.InstructionAdapter;
+
+import java.util.List;
+
+/**
+ * Reads _1 or _2 of a pair. Int, Long and Double components are taken from the unboxed getters,
+ * which return the stored value directly for jet.IntTuple2 and friends.
+ *
+ * @author agent
+ */
+public class TupleComponent implements IntrinsicMethod {
+    private final int index;
+
+    public TupleComponent(int index) {
+        this.index = index;
+    }
+
+    @Override
+    public StackValue generate(ExpressionCodegen codegen, InstructionAdapter v, Type expectedType, PsiElement element, List<JetExpression> arguments, StackValue receiver, @NotNull GenerationState state) {
+        receiver.put(JetTypeMapper.TYPE_TUPLE2, v);
+        String specialization = JetTypeMapper.getTupleSpecializationName(expectedType);
+        if (specialization != null) {
+            v.invokevirtual(JetTypeMapper.TYPE_TUPLE2.getInternalName(), "get_" + index + specialization, "()" + expectedType.getDescriptor());
+            return StackValue.onStack(expectedType);
+        }
+        v.invokevirtual(JetTypeMapper.TYPE_TUPLE2.getInternalName(), "get_" + index, "()Ljava/lang/Object;");
+        return StackValue.onStack(JetTypeMapper.TYPE_OBJECT);
+    }
+}
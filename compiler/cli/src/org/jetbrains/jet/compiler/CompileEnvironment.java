@@ -45,7 +45,12 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.*;
 
 /**
@@ -175,7 +180,7 @@ public class CompileEnvironment {
         return null;
     }
 
-    public boolean compileModuleScript(String moduleScriptFile, @Nullable String jarPath, @Nullable String outputDir, boolean jarRuntime) {
+    public boolean compileModuleScript(String moduleScriptFile, @Nullable final String jarPath, @Nullable final String outputDir, final boolean jarRuntime) {
         CompileEnvironment moduleCompilationEnvironment = copyEnvironment(false);
         try {
             moduleCompilationEnvironment.myStdlib = myStdlib;
@@ -191,27 +196,53 @@ public class CompileEnvironment {
             }
 
             final String directory = new File(moduleScriptFile).getParent();
-            for (Module moduleBuilder : modules) {
-                CompileEnvironment compileEnvironment = copyEnvironment(verbose);
-                try {
-                    ClassFileFactory moduleFactory = compileEnvironment.compileModule(moduleBuilder, directory);
-                    if (moduleFactory == null) {
-                        return false;
-                    }
-                    if (outputDir != null) {
-                        writeToOutputDirectory(moduleFactory, outputDir);
-                    }
-                    else {
-                        String path = jarPath != null ? jarPath : new File(directory, moduleBuilder.getModuleName() + ".jar").getPath();
-                        try {
-                            writeToJar(moduleFactory, new FileOutputStream(path), null, jarRuntime);
-                        } catch (FileNotFoundException e) {
-                            throw new CompileEnvironmentException("Invalid jar path " + path, e);
+            ExecutorService outputWriter = Executors.newSingleThreadExecutor();
+            List<Future<?>> outputs = new ArrayList<Future<?>>();
+            // The last output written to every path: the writer thread writes outputs in order
+            Map<File, Future<?>> pendingOutputs = new HashMap<File, Future<?>>();
+            try {
+                for (Module moduleBuilder : modules) {
+                    waitForOutputsOnClasspath(moduleBuilder, pendingOutputs);
+
+                    CompileEnvironment compileEnvironment = copyEnvironment(verbose);
+                    final ClassFileFactory moduleFactory;
+                    try {
+                        moduleFactory = compileEnvironment.compileModule(moduleBuilder, directory);
+                        if (moduleFactory == null) {
+                            return false;
                         }
+                        // Finish code generation while the environment is alive, only the class files are written in background
+                        moduleFactory.files();
+                    } finally {
+                        compileEnvironment.dispose();
                     }
-                } finally {
-                    compileEnvironment.dispose();
+
+                    final String path = outputDir != null ? outputDir
+                                        : jarPath != null ? jarPath : new File(directory, moduleBuilder.getModuleName() + ".jar").getPath();
+                    Future<?> output = outputWriter.submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (outputDir != null) {
+                                writeToOutputDirectory(moduleFactory, outputDir);
+                            }
+                            else {
+                                try {
+                                    writeToJar(moduleFactory, new FileOutputStream(path), null, jarRuntime);
+                                } catch (FileNotFoundException e) {
+                                    throw new CompileEnvironmentException("Invalid jar path " + path, e);
+                                }
+                            }
+                        }
+                    });
+                    outputs.add(output);
+                    pendingOutputs.put(new File(path).getAbsoluteFile(), output);
                 }
+                for (Future<?> output : outputs) {
+                    FutureUtil.getResult(output);
+                }
+            } finally {
+                outputWriter.shutdown();
+                FutureUtil.awaitTermination(outputWriter);
             }
             return true;
         } finally {
@@ -219,6 +250,22 @@ public class CompileEnvironment {
         }
     }
 
+    /**
+     * Modules are compiled one at a time, in the order of the script, so independent modules of the graph are not compiled
+     * concurrently: every core environment registers itself as the application and the standard library is a singleton.
+     * Writing of the output overlaps with compilation of the next modules, unless one of them has the output on its classpath.
+     */
+    private static void waitForOutputsOnClasspath(@NotNull Module moduleBuilder, @NotNull Map<File, Future<?>> pendingOutputs) {
+        for (String classpathRoot : moduleBuilder.getClasspathRoots()) {
+            for (File output = new File(classpathRoot).getAbsoluteFile(); output != null; output = output.getParentFile()) {
+                Future<?> pendingOutput = pendingOutputs.get(output);
+                if (pendingOutput != null) {
+                    FutureUtil.getResult(pendingOutput);
+                }
+            }
+        }
+    }
+
     private CompileEnvironment copyEnvironment(boolean verbose) {
         CompileEnvironment compileEnvironment = new CompileEnvironment(myMessageRenderer, verbose);
         compileEnvironment.setIgnoreErrors(ignoreErrors);
@@ -19,6 +19,7 @@ package org.jetbrains.jet.compiler;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiErrorElement;
@@ -49,6 +50,7 @@ import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.*;
 
 /**
  * The session which handles analyzing and compiling a single module.
@@ -191,17 +193,75 @@ public class CompileSession {
     }
 
     private void reportSyntaxErrors() {
-        for (JetFile file : mySourceFiles) {
-            file.accept(new PsiRecursiveElementWalkingVisitor() {
-                @Override
-                public void visitErrorElement(PsiErrorElement element) {
-                    String description = element.getErrorDescription();
-                    String message = StringUtil.isEmpty(description) ? "Syntax error" : description;
-                    Diagnostic diagnostic = DiagnosticFactory.create(Severity.ERROR, message).on(element);
-                    reportDiagnostic(myMessageCollector, diagnostic);
-                }
-            });
+        for (List<PsiErrorElement> fileErrors : parseSourceFiles()) {
+            for (PsiErrorElement element : fileErrors) {
+                String description = element.getErrorDescription();
+                String message = StringUtil.isEmpty(description) ? "Syntax error" : description;
+                Diagnostic diagnostic = DiagnosticFactory.create(Severity.ERROR, message).on(element);
+                reportDiagnostic(myMessageCollector, diagnostic);
+            }
+        }
+    }
+
+    /**
+     * Parses the source files on a pool of worker threads, the files are read and parsed (function bodies included)
+     * when their syntax errors are collected.
+     *
+     * Every task touches the tree of its own file only: the lexer and the PSI builder are created for each parse, and
+     * a lazily parsed element locks its own tree while it is expanded. The tasks run in read actions, as PSI requires.
+     * The speed-up on many files is expected from this, it has not been measured; the errors and their order are the
+     * same as with sequential parsing, see CompileEnvironmentTest.testSyntaxErrorsInSeveralFiles.
+     *
+     * @return syntax errors of every source file, in the order of the files
+     */
+    @NotNull
+    private List<List<PsiErrorElement>> parseSourceFiles() {
+        List<List<PsiErrorElement>> result = new ArrayList<List<PsiErrorElement>>(mySourceFiles.size());
+
+        int threadCount = Math.min(Runtime.getRuntime().availableProcessors(), mySourceFiles.size());
+        if (threadCount <= 1) {
+            for (JetFile file : mySourceFiles) {
+                result.add(collectSyntaxErrors(file));
+            }
+            return result;
         }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<List<PsiErrorElement>>> futures = new ArrayList<Future<List<PsiErrorElement>>>(mySourceFiles.size());
+            for (final JetFile file : mySourceFiles) {
+                futures.add(executor.submit(new Callable<List<PsiErrorElement>>() {
+                    @Override
+                    public List<PsiErrorElement> call() {
+                        return myEnvironment.getApplication().runReadAction(new Computable<List<PsiErrorElement>>() {
+                            @Override
+                            public List<PsiErrorElement> compute() {
+                                return collectSyntaxErrors(file);
+                            }
+                        });
+                    }
+                }));
+            }
+            for (Future<List<PsiErrorElement>> future : futures) {
+                result.add(FutureUtil.getResult(future));
+            }
+            return result;
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @NotNull
+    private static List<PsiErrorElement> collectSyntaxErrors(@NotNull JetFile file) {
+        final List<PsiErrorElement> errors = new ArrayList<PsiErrorElement>();
+        file.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitErrorElement(PsiErrorElement element) {
+                errors.add(element);
+            }
+        });
+        return errors;
     }
 
     private static void reportDiagnostic(MessageCollector collector, Diagnostic diagnostic) {
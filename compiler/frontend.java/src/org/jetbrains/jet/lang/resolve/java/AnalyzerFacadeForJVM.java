@@ -65,6 +65,9 @@ public class AnalyzerFacadeForJVM {
 
     /**
      * Analyze project with string cache for given file. Given file will be fully analyzed.
+     * <p/>
+     * Other files are analyzed for declarations only, so the result is kept until the file itself changes
+     * or some change outside of code blocks happens in the project.
      *
      * @param file
      * @param declarationProvider
@@ -84,7 +87,7 @@ public class AnalyzerFacadeForJVM {
                                     declarationProvider.fun(file),
                                     Predicates.<PsiFile>equalTo(file),
                                     JetControlFlowDataTraceFactory.EMPTY);
-                            return new Result<AnalyzeExhaust>(bindingContext, PsiModificationTracker.MODIFICATION_COUNT);
+                            return new Result<AnalyzeExhaust>(bindingContext, file, PsiModificationTracker.OUT_OF_CODE_BLOCK_MODIFICATION_COUNT);
                         }
                         catch (ProcessCanceledException e) {
                             throw e;
@@ -95,7 +98,7 @@ public class AnalyzerFacadeForJVM {
                             BindingTraceContext bindingTraceContext = new BindingTraceContext();
                             bindingTraceContext.report(Errors.EXCEPTION_WHILE_ANALYZING.on(file, e));
                             AnalyzeExhaust analyzeExhaust = new AnalyzeExhaust(bindingTraceContext.getBindingContext(), null);
-                            return new Result<AnalyzeExhaust>(analyzeExhaust, PsiModificationTracker.MODIFICATION_COUNT);
+                            return new Result<AnalyzeExhaust>(analyzeExhaust, file, PsiModificationTracker.OUT_OF_CODE_BLOCK_MODIFICATION_COUNT);
                         }
                     }
                 }, false);
@@ -106,7 +109,8 @@ public class AnalyzerFacadeForJVM {
     }
 
     /**
-     * Analyze project with string cache for the whole project. All given files will be analyzed only for descriptors.
+     * Analyze project with string cache for the whole project. All given files will be analyzed only for descriptors,
+     * so changes inside code blocks don't invalidate the result.
      */
     public static AnalyzeExhaust analyzeProjectWithCache(@NotNull final Project project,
             @NotNull final Collection<JetFile> files) {
@@ -123,7 +127,7 @@ public class AnalyzerFacadeForJVM {
                                     files,
                                     Predicates.<PsiFile>alwaysFalse(),
                                     JetControlFlowDataTraceFactory.EMPTY);
-                            return new Result<AnalyzeExhaust>(analyzeExhaust, PsiModificationTracker.MODIFICATION_COUNT);
+                            return new Result<AnalyzeExhaust>(analyzeExhaust, PsiModificationTracker.OUT_OF_CODE_BLOCK_MODIFICATION_COUNT);
                         }
                         catch (ProcessCanceledException e) {
                             throw e;
@@ -133,7 +137,7 @@ public class AnalyzerFacadeForJVM {
                             LOG.error(e);
                             BindingTraceContext bindingTraceContext = new BindingTraceContext();
                             AnalyzeExhaust analyzeExhaust = new AnalyzeExhaust(bindingTraceContext.getBindingContext(), null);
-                            return new Result<AnalyzeExhaust>(analyzeExhaust, PsiModificationTracker.MODIFICATION_COUNT);
+                            return new Result<AnalyzeExhaust>(analyzeExhaust, PsiModificationTracker.OUT_OF_CODE_BLOCK_MODIFICATION_COUNT);
                         }
                     }
                 }, false);
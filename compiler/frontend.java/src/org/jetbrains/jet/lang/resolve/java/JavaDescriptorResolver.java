@@ -36,7 +36,6 @@ import org.jetbrains.jet.lang.types.lang.JetStandardClasses;
 import org.jetbrains.jet.lang.types.lang.JetStandardLibrary;
 import org.jetbrains.jet.rt.signature.JetSignatureAdapter;
 import org.jetbrains.jet.rt.signature.JetSignatureExceptionsAdapter;
-import org.jetbrains.jet.rt.signature.JetSignatureReader;
 import org.jetbrains.jet.rt.signature.JetSignatureVisitor;
 
 import javax.inject.Inject;
@@ -184,6 +183,7 @@ public class JavaDescriptorResolver {
     protected final Map<FqName, ResolverBinaryClassData> classDescriptorCache = Maps.newHashMap();
     protected final Map<FqName, ResolverNamespaceData> namespaceDescriptorCacheByFqn = Maps.newHashMap();
     protected final Map<PsiElement, ResolverNamespaceData> namespaceDescriptorCache = Maps.newHashMap();
+    private final JetSignatureCache signatureCache = new JetSignatureCache();
 
     protected Project project;
     protected JavaSemanticServices semanticServices;
@@ -216,6 +216,11 @@ public class JavaDescriptorResolver {
         this.psiClassFinder = psiClassFinder;
     }
 
+    @NotNull
+    public JetSignatureCache getSignatureCache() {
+        return signatureCache;
+    }
+
 
 
     @Nullable
@@ -618,7 +623,7 @@ public class JavaDescriptorResolver {
                 return new JetSignatureAdapter();
             }
         };
-        new JetSignatureReader(jetSignature).accept(jetSignatureTypeParametersVisitor);
+        signatureCache.accept(jetSignature, jetSignatureTypeParametersVisitor);
         return jetSignatureTypeParametersVisitor.r;
     }
 
@@ -700,7 +705,7 @@ public class JavaDescriptorResolver {
         if (psiClass.getJetClass().signature().length() > 0) {
             final TypeVariableResolver typeVariableResolver = TypeVariableResolvers.typeVariableResolverFromTypeParameters(typeParameters, classDescriptor, context);
             
-            new JetSignatureReader(psiClass.getJetClass().signature()).accept(new JetSignatureExceptionsAdapter() {
+            signatureCache.accept(psiClass.getJetClass().signature(), new JetSignatureExceptionsAdapter() {
                 @Override
                 public JetSignatureVisitor visitFormalTypeParameter(String name, TypeInfoVariance variance, boolean reified) {
                     // TODO: collect
@@ -1599,7 +1604,7 @@ public class JavaDescriptorResolver {
     {
         String context = "method " + method.getName() + " in class " + method.getContainingClass().getQualifiedName();
         JetSignatureTypeParametersVisitor jetSignatureTypeParametersVisitor = new JetSignatureTypeParametersVisitor(functionDescriptor, method, context);
-        new JetSignatureReader(jetSignature).acceptFormalTypeParametersOnly(jetSignatureTypeParametersVisitor);
+        signatureCache.acceptFormalTypeParametersOnly(jetSignature, jetSignatureTypeParametersVisitor);
         return jetSignatureTypeParametersVisitor.r;
     }
 
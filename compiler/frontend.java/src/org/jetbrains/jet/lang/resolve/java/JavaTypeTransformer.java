@@ -27,7 +27,6 @@ import org.jetbrains.jet.lang.types.*;
 import org.jetbrains.jet.lang.types.lang.JetStandardClasses;
 import org.jetbrains.jet.lang.types.lang.JetStandardLibrary;
 import org.jetbrains.jet.lang.types.lang.PrimitiveType;
-import org.jetbrains.jet.rt.signature.JetSignatureReader;
 
 import javax.inject.Inject;
 import java.util.Collections;
@@ -101,7 +100,7 @@ public class JavaTypeTransformer {
                 r[0] = jetType;
             }
         };
-        new JetSignatureReader(kotlinSignature).acceptType(reader);
+        resolver.getSignatureCache().acceptType(kotlinSignature, reader);
         return r[0];
     }
 
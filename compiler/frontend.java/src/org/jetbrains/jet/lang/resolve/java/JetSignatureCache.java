@@ -0,0 +1,305 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import jet.typeinfo.TypeInfoVariance;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.rt.signature.JetSignatureReader;
+import org.jetbrains.jet.rt.signature.JetSignatureVariance;
+import org.jetbrains.jet.rt.signature.JetSignatureVisitor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses every distinct signature string of the {@code JetClass}/{@code JetMethod}/{@code JetValueParameter}
+ * annotations only once.
+ * <p/>
+ * A parse is recorded as a tree of visitor calls and replayed into the visitor of every later request
+ * for the same signature, so library members with equal signatures share one parse.
+ *
+ * @author agent
+ */
+public class JetSignatureCache {
+
+    private final Map<String, RecordedSignature> classOrMethodSignatures = Maps.newHashMap();
+    private final Map<String, RecordedSignature> typeParametersSignatures = Maps.newHashMap();
+    private final Map<String, RecordedSignature> typeSignatures = Maps.newHashMap();
+
+    /**
+     * @see JetSignatureReader#accept(JetSignatureVisitor)
+     */
+    public void accept(@NotNull String signature, @NotNull JetSignatureVisitor v) {
+        RecordedSignature recorded = classOrMethodSignatures.get(signature);
+        if (recorded == null) {
+            recorded = new RecordedSignature();
+            new JetSignatureReader(signature).accept(recorded);
+            classOrMethodSignatures.put(signature, recorded);
+        }
+        recorded.replay(v);
+    }
+
+    /**
+     * @see JetSignatureReader#acceptFormalTypeParametersOnly(JetSignatureVisitor)
+     */
+    public void acceptFormalTypeParametersOnly(@NotNull String signature, @NotNull JetSignatureVisitor v) {
+        RecordedSignature recorded = typeParametersSignatures.get(signature);
+        if (recorded == null) {
+            recorded = new RecordedSignature();
+            new JetSignatureReader(signature).acceptFormalTypeParametersOnly(recorded);
+            typeParametersSignatures.put(signature, recorded);
+        }
+        recorded.replay(v);
+    }
+
+    /**
+     * @see JetSignatureReader#acceptType(JetSignatureVisitor)
+     */
+    public void acceptType(@NotNull String signature, @NotNull JetSignatureVisitor v) {
+        RecordedSignature recorded = typeSignatures.get(signature);
+        if (recorded == null) {
+            recorded = new RecordedSignature();
+            new JetSignatureReader(signature).acceptType(recorded);
+            typeSignatures.put(signature, recorded);
+        }
+        recorded.replay(v);
+    }
+
+    private enum Kind {
+        FORMAL_TYPE_PARAMETER,
+        FORMAL_TYPE_PARAMETER_END,
+        CLASS_BOUND,
+        INTERFACE_BOUND,
+        SUPERCLASS,
+        INTERFACE,
+        PARAMETER_TYPE,
+        RETURN_TYPE,
+        EXCEPTION_TYPE,
+        BASE_TYPE,
+        TYPE_VARIABLE,
+        ARRAY_TYPE,
+        CLASS_TYPE,
+        INNER_CLASS_TYPE,
+        STAR_TYPE_ARGUMENT,
+        TYPE_ARGUMENT,
+        END
+    }
+
+    private static class Call {
+        private final Kind kind;
+        @Nullable
+        private final String name;
+        private final char descriptor;
+        private final boolean nullable;
+        private final boolean flag;
+        @Nullable
+        private final Object variance;
+        // calls made on the visitor this call returned
+        @Nullable
+        private final RecordedSignature nested;
+
+        private Call(
+                @NotNull Kind kind,
+                @Nullable String name,
+                char descriptor,
+                boolean nullable,
+                boolean flag,
+                @Nullable Object variance,
+                @Nullable RecordedSignature nested
+        ) {
+            this.kind = kind;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.nullable = nullable;
+            this.flag = flag;
+            this.variance = variance;
+            this.nested = nested;
+        }
+    }
+
+    /**
+     * Records the calls made on it, and on the visitors it returns, as they come from {@link JetSignatureReader}.
+     * Never modified once the reader is done, so replaying it does not change it.
+     */
+    private static class RecordedSignature implements JetSignatureVisitor {
+        private final List<Call> calls = Lists.newArrayList();
+
+        private void record(@NotNull Kind kind, @Nullable String name, char descriptor, boolean nullable, boolean flag) {
+            calls.add(new Call(kind, name, descriptor, nullable, flag, null, null));
+        }
+
+        @NotNull
+        private JetSignatureVisitor recordNested(@NotNull Kind kind, @Nullable String name, boolean flag, @Nullable Object variance) {
+            RecordedSignature nested = new RecordedSignature();
+            calls.add(new Call(kind, name, '\0', false, flag, variance, nested));
+            return nested;
+        }
+
+        private void replay(@NotNull JetSignatureVisitor v) {
+            for (Call call : calls) {
+                switch (call.kind) {
+                    case FORMAL_TYPE_PARAMETER:
+                        replayNested(call, v.visitFormalTypeParameter(call.name, (TypeInfoVariance) call.variance, call.flag));
+                        break;
+                    case FORMAL_TYPE_PARAMETER_END:
+                        v.visitFormalTypeParameterEnd();
+                        break;
+                    case CLASS_BOUND:
+                        replayNested(call, v.visitClassBound());
+                        break;
+                    case INTERFACE_BOUND:
+                        replayNested(call, v.visitInterfaceBound());
+                        break;
+                    case SUPERCLASS:
+                        replayNested(call, v.visitSuperclass());
+                        break;
+                    case INTERFACE:
+                        replayNested(call, v.visitInterface());
+                        break;
+                    case PARAMETER_TYPE:
+                        replayNested(call, v.visitParameterType());
+                        break;
+                    case RETURN_TYPE:
+                        replayNested(call, v.visitReturnType());
+                        break;
+                    case EXCEPTION_TYPE:
+                        replayNested(call, v.visitExceptionType());
+                        break;
+                    case BASE_TYPE:
+                        v.visitBaseType(call.descriptor, call.nullable);
+                        break;
+                    case TYPE_VARIABLE:
+                        v.visitTypeVariable(call.name, call.nullable);
+                        break;
+                    case ARRAY_TYPE:
+                        replayNested(call, v.visitArrayType(call.flag));
+                        break;
+                    case CLASS_TYPE:
+                        v.visitClassType(call.name, call.nullable, call.flag);
+                        break;
+                    case INNER_CLASS_TYPE:
+                        v.visitInnerClassType(call.name, call.nullable);
+                        break;
+                    case STAR_TYPE_ARGUMENT:
+                        v.visitTypeArgument();
+                        break;
+                    case TYPE_ARGUMENT:
+                        replayNested(call, v.visitTypeArgument((JetSignatureVariance) call.variance));
+                        break;
+                    case END:
+                        v.visitEnd();
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown call: " + call.kind);
+                }
+            }
+        }
+
+        private static void replayNested(@NotNull Call call, @NotNull JetSignatureVisitor v) {
+            assert call.nested != null : call.kind;
+            call.nested.replay(v);
+        }
+
+        @Override
+        public JetSignatureVisitor visitFormalTypeParameter(String name, TypeInfoVariance variance, boolean reified) {
+            return recordNested(Kind.FORMAL_TYPE_PARAMETER, name, reified, variance);
+        }
+
+        @Override
+        public void visitFormalTypeParameterEnd() {
+            record(Kind.FORMAL_TYPE_PARAMETER_END, null, '\0', false, false);
+        }
+
+        @Override
+        public JetSignatureVisitor visitClassBound() {
+            return recordNested(Kind.CLASS_BOUND, null, false, null);
+        }
+
+        @Override
+        public JetSignatureVisitor visitInterfaceBound() {
+            return recordNested(Kind.INTERFACE_BOUND, null, false, null);
+        }
+
+        @Override
+        public JetSignatureVisitor visitSuperclass() {
+            return recordNested(Kind.SUPERCLASS, null, false, null);
+        }
+
+        @Override
+        public JetSignatureVisitor visitInterface() {
+            return recordNested(Kind.INTERFACE, null, false, null);
+        }
+
+        @Override
+        public JetSignatureVisitor visitParameterType() {
+            return recordNested(Kind.PARAMETER_TYPE, null, false, null);
+        }
+
+        @Override
+        public JetSignatureVisitor visitReturnType() {
+            return recordNested(Kind.RETURN_TYPE, null, false, null);
+        }
+
+        @Override
+        public JetSignatureVisitor visitExceptionType() {
+            return recordNested(Kind.EXCEPTION_TYPE, null, false, null);
+        }
+
+        @Override
+        public void visitBaseType(char descriptor, boolean nullable) {
+            record(Kind.BASE_TYPE, null, descriptor, nullable, false);
+        }
+
+        @Override
+        public void visitTypeVariable(String name, boolean nullable) {
+            record(Kind.TYPE_VARIABLE, name, '\0', nullable, false);
+        }
+
+        @Override
+        public JetSignatureVisitor visitArrayType(boolean nullable) {
+            return recordNested(Kind.ARRAY_TYPE, null, nullable, null);
+        }
+
+        @Override
+        public void visitClassType(String name, boolean nullable, boolean forceReal) {
+            record(Kind.CLASS_TYPE, name, '\0', nullable, forceReal);
+        }
+
+        @Override
+        public void visitInnerClassType(String name, boolean nullable) {
+            record(Kind.INNER_CLASS_TYPE, name, '\0', nullable, false);
+        }
+
+        @Override
+        public void visitTypeArgument() {
+            record(Kind.STAR_TYPE_ARGUMENT, null, '\0', false, false);
+        }
+
+        @Override
+        public JetSignatureVisitor visitTypeArgument(JetSignatureVariance wildcard) {
+            return recordNested(Kind.TYPE_ARGUMENT, null, false, wildcard);
+        }
+
+        @Override
+        public void visitEnd() {
+            record(Kind.END, null, '\0', false, false);
+        }
+    }
+}
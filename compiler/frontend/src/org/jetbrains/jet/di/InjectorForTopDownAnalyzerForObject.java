@@ -0,0 +1,153 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jetbrains.jet.di;
+
+import org.jetbrains.jet.lang.resolve.TopDownAnalyzer;
+import org.jetbrains.jet.lang.resolve.TopDownAnalysisParameters;
+import org.jetbrains.jet.lang.resolve.ObservableBindingTrace;
+import org.jetbrains.jet.lang.descriptors.ModuleDescriptor;
+import org.jetbrains.jet.lang.cfg.pseudocode.JetControlFlowDataTraceFactory;
+import org.jetbrains.jet.lang.ModuleConfiguration;
+import org.jetbrains.jet.lang.types.expressions.ExpressionTypingServices;
+import org.jetbrains.jet.lang.resolve.DescriptorResolver;
+import org.jetbrains.jet.lang.resolve.calls.CallResolver;
+import org.jetbrains.jet.lang.resolve.BodyResolver;
+import org.jetbrains.jet.lang.resolve.TopDownAnalysisContext;
+import org.jetbrains.jet.lang.resolve.ControlFlowAnalyzer;
+import org.jetbrains.jet.lang.resolve.DeclarationResolver;
+import org.jetbrains.jet.lang.resolve.AnnotationResolver;
+import org.jetbrains.jet.lang.resolve.ImportsResolver;
+import org.jetbrains.jet.lang.resolve.QualifiedExpressionResolver;
+import org.jetbrains.jet.lang.resolve.DeclarationsChecker;
+import org.jetbrains.jet.lang.resolve.DelegationResolver;
+import org.jetbrains.jet.lang.resolve.NamespaceFactoryImpl;
+import org.jetbrains.jet.lang.resolve.OverloadResolver;
+import org.jetbrains.jet.lang.resolve.OverrideResolver;
+import org.jetbrains.jet.lang.resolve.TypeHierarchyResolver;
+import org.jetbrains.jet.lang.resolve.TopDownAnalysisParameters;
+import org.jetbrains.jet.lang.resolve.ObservableBindingTrace;
+import org.jetbrains.jet.lang.descriptors.ModuleDescriptor;
+import org.jetbrains.jet.lang.cfg.pseudocode.JetControlFlowDataTraceFactory;
+import org.jetbrains.jet.lang.ModuleConfiguration;
+import org.jetbrains.jet.lang.types.expressions.ExpressionTypingServices;
+import org.jetbrains.jet.lang.resolve.DescriptorResolver;
+import org.jetbrains.jet.lang.resolve.calls.CallResolver;
+import org.jetbrains.annotations.NotNull;
+
+/* This file is generated by org.jetbrains.jet.di.AllInjectorsGenerator. DO NOT EDIT! */
+public class InjectorForTopDownAnalyzerForObject {
+
+    private TopDownAnalyzer topDownAnalyzer;
+
+    public InjectorForTopDownAnalyzerForObject(
+        @NotNull TopDownAnalysisParameters topDownAnalysisParameters,
+        @NotNull ObservableBindingTrace observableBindingTrace,
+        @NotNull ModuleDescriptor moduleDescriptor,
+        JetControlFlowDataTraceFactory jetControlFlowDataTraceFactory,
+        @NotNull ModuleConfiguration moduleConfiguration,
+        @NotNull ExpressionTypingServices expressionTypingServices,
+        @NotNull DescriptorResolver descriptorResolver,
+        @NotNull CallResolver callResolver
+    ) {
+        this.topDownAnalyzer = new TopDownAnalyzer();
+        BodyResolver bodyResolver = new BodyResolver();
+        TopDownAnalysisContext topDownAnalysisContext = new TopDownAnalysisContext();
+        ControlFlowAnalyzer controlFlowAnalyzer = new ControlFlowAnalyzer();
+        DeclarationResolver declarationResolver = new DeclarationResolver();
+        AnnotationResolver annotationResolver = new AnnotationResolver();
+        ImportsResolver importsResolver = new ImportsResolver();
+        QualifiedExpressionResolver qualifiedExpressionResolver = new QualifiedExpressionResolver();
+        DeclarationsChecker declarationsChecker = new DeclarationsChecker();
+        DelegationResolver delegationResolver = new DelegationResolver();
+        NamespaceFactoryImpl namespaceFactoryImpl = new NamespaceFactoryImpl();
+        OverloadResolver overloadResolver = new OverloadResolver();
+        OverrideResolver overrideResolver = new OverrideResolver();
+        TypeHierarchyResolver typeHierarchyResolver = new TypeHierarchyResolver();
+
+        this.topDownAnalyzer.setBodyResolver(bodyResolver);
+        this.topDownAnalyzer.setContext(topDownAnalysisContext);
+        this.topDownAnalyzer.setControlFlowAnalyzer(controlFlowAnalyzer);
+        this.topDownAnalyzer.setDeclarationResolver(declarationResolver);
+        this.topDownAnalyzer.setDeclarationsChecker(declarationsChecker);
+        this.topDownAnalyzer.setDelegationResolver(delegationResolver);
+        this.topDownAnalyzer.setModuleDescriptor(moduleDescriptor);
+        this.topDownAnalyzer.setNamespaceFactory(namespaceFactoryImpl);
+        this.topDownAnalyzer.setOverloadResolver(overloadResolver);
+        this.topDownAnalyzer.setOverrideResolver(overrideResolver);
+        this.topDownAnalyzer.setTopDownAnalysisParameters(topDownAnalysisParameters);
+        this.topDownAnalyzer.setTrace(observableBindingTrace);
+        this.topDownAnalyzer.setTypeHierarchyResolver(typeHierarchyResolver);
+
+        bodyResolver.setCallResolver(callResolver);
+        bodyResolver.setContext(topDownAnalysisContext);
+        bodyResolver.setDescriptorResolver(descriptorResolver);
+        bodyResolver.setExpressionTypingServices(expressionTypingServices);
+        bodyResolver.setTopDownAnalysisParameters(topDownAnalysisParameters);
+        bodyResolver.setTrace(observableBindingTrace);
+
+        topDownAnalysisContext.setTopDownAnalysisParameters(topDownAnalysisParameters);
+
+        controlFlowAnalyzer.setContext(topDownAnalysisContext);
+        controlFlowAnalyzer.setFlowDataTraceFactory(jetControlFlowDataTraceFactory);
+        controlFlowAnalyzer.setTopDownAnalysisParameters(topDownAnalysisParameters);
+        controlFlowAnalyzer.setTrace(observableBindingTrace);
+
+        declarationResolver.setAnnotationResolver(annotationResolver);
+        declarationResolver.setContext(topDownAnalysisContext);
+        declarationResolver.setDescriptorResolver(descriptorResolver);
+        declarationResolver.setImportsResolver(importsResolver);
+        declarationResolver.setTrace(observableBindingTrace);
+
+        annotationResolver.setCallResolver(callResolver);
+        annotationResolver.setExpressionTypingServices(expressionTypingServices);
+
+        importsResolver.setConfiguration(moduleConfiguration);
+        importsResolver.setContext(topDownAnalysisContext);
+        importsResolver.setQualifiedExpressionResolver(qualifiedExpressionResolver);
+        importsResolver.setTrace(observableBindingTrace);
+
+        declarationsChecker.setContext(topDownAnalysisContext);
+        declarationsChecker.setTrace(observableBindingTrace);
+
+        delegationResolver.setContext(topDownAnalysisContext);
+        delegationResolver.setTrace(observableBindingTrace);
+
+        namespaceFactoryImpl.setConfiguration(moduleConfiguration);
+        namespaceFactoryImpl.setModuleDescriptor(moduleDescriptor);
+        namespaceFactoryImpl.setTrace(observableBindingTrace);
+
+        overloadResolver.setContext(topDownAnalysisContext);
+        overloadResolver.setTrace(observableBindingTrace);
+
+        overrideResolver.setContext(topDownAnalysisContext);
+        overrideResolver.setTopDownAnalysisParameters(topDownAnalysisParameters);
+        overrideResolver.setTrace(observableBindingTrace);
+
+        typeHierarchyResolver.setContext(topDownAnalysisContext);
+        typeHierarchyResolver.setDescriptorResolver(descriptorResolver);
+        typeHierarchyResolver.setImportsResolver(importsResolver);
+        typeHierarchyResolver.setNamespaceFactory(namespaceFactoryImpl);
+        typeHierarchyResolver.setTrace(observableBindingTrace);
+
+    }
+
+    public TopDownAnalyzer getTopDownAnalyzer() {
+        return this.topDownAnalyzer;
+    }
+
+}
@@ -23,9 +23,10 @@ import org.jetbrains.jet.lexer.JetKeywordToken;
 import org.jetbrains.jet.lexer.JetToken;
 import org.jetbrains.jet.lexer.JetTokens;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 
 import static org.jetbrains.jet.lexer.JetTokens.*;
 
@@ -261,49 +262,65 @@ import static org.jetbrains.jet.lexer.JetTokens.*;
     }
 
     protected int matchTokenStreamPredicate(TokenStreamPattern pattern) {
+        if (pattern.isMatchedByTokenTypes() && !eof()) {
+            JetTokenIndex index = myBuilder.getTokenIndex();
+            int start = index.indexOf(myBuilder.getCurrentOffset());
+            if (start >= 0) {
+                matchTokenTypes(pattern, index, start);
+                return pattern.result();
+            }
+        }
+
         PsiBuilder.Marker currentPosition = mark();
-        Stack<IElementType> opens = new Stack<IElementType>();
+        // Brackets are never soft keywords, so comparing token types gives the same answers as at()
+        List<IElementType> opens = new ArrayList<IElementType>();
         int openAngleBrackets = 0;
         int openBraces = 0;
         int openParentheses = 0;
         int openBrackets = 0;
+        boolean skipNested = pattern.canSkipNestedTokens();
+        boolean previousTopLevel = true;
         while (!eof()) {
-            if (pattern.processToken(
-                    myBuilder.getCurrentOffset(),
-                    pattern.isTopLevel(openAngleBrackets, openBrackets, openBraces, openParentheses))) {
+            boolean topLevel = pattern.isTopLevel(openAngleBrackets, openBrackets, openBraces, openParentheses);
+            // Inside brackets such a pattern only needs to see the first token, so the predicates are not evaluated
+            // again and again for the tokens of deeply nested expressions
+            if ((topLevel || previousTopLevel || !skipNested) && pattern.processToken(myBuilder.getCurrentOffset(), topLevel)) {
                 break;
             }
-            if (at(LPAR)) {
+            previousTopLevel = topLevel;
+
+            IElementType token = tt();
+            if (token == LPAR) {
                 openParentheses++;
-                opens.push(LPAR);
+                opens.add(LPAR);
             }
-            else if (at(LT)) {
+            else if (token == LT) {
                 openAngleBrackets++;
-                opens.push(LT);
+                opens.add(LT);
             }
-            else if (at(LBRACE)) {
+            else if (token == LBRACE) {
                 openBraces++;
-                opens.push(LBRACE);
+                opens.add(LBRACE);
             }
-            else if (at(LBRACKET)) {
+            else if (token == LBRACKET) {
                 openBrackets++;
-                opens.push(LBRACKET);
+                opens.add(LBRACKET);
             }
-            else if (at(RPAR)) {
+            else if (token == RPAR) {
                 openParentheses--;
-                if (opens.isEmpty() || opens.pop() != LPAR) {
+                if (opens.isEmpty() || opens.remove(opens.size() - 1) != LPAR) {
                     if (pattern.handleUnmatchedClosing(RPAR)) {
                         break;
                     }
                 }
             }
-            else if (at(GT)) {
+            else if (token == GT) {
                 openAngleBrackets--;
             }
-            else if (at(RBRACE)) {
+            else if (token == RBRACE) {
                 openBraces--;
             }
-            else if (at(RBRACKET)) {
+            else if (token == RBRACKET) {
                 openBrackets--;
             }
             advance(); // skip token
@@ -312,6 +329,47 @@ import static org.jetbrains.jet.lexer.JetTokens.*;
         return pattern.result();
     }
 
+    /*
+     * The same walk for a pattern that needs nothing but token types: the builder stays where it is, and a token that
+     * opens or closes a bracket is followed by the first token inside (see TokenStreamPattern.canSkipNestedTokens())
+     * and then straight by the next top-level token, so nothing inside the brackets is visited
+     */
+    private void matchTokenTypes(TokenStreamPattern pattern, JetTokenIndex index, int start) {
+        boolean joinComplexTokens = myBuilder.isJoiningComplexTokens();
+        int eofOffset = myBuilder.getEofOffset();
+        int end = eofOffset >= 0 ? index.indexAtOrAfter(eofOffset) : index.size();
+
+        int i = start;
+        while (i >= 0 && i < end) {
+            IElementType joinedType = joinComplexTokens ? index.getJoinedType(i) : null;
+            if (pattern.processTokenType(index.getStart(i), joinedType != null ? joinedType : index.getType(i))) {
+                return;
+            }
+            if (joinedType != null) {
+                // Complex tokens contain no brackets, so the token after one is on the top level as well
+                i += 2;
+                continue;
+            }
+            int next = index.getNextAtSameDepth(i);
+            if (next != i + 1 && i + 1 < end) {
+                pattern.processTokenType(index.getStart(i + 1), null);
+            }
+            i = next;
+        }
+    }
+
+    // at() and atSet() look at nothing but the type of the current token when they expect these types
+    private static boolean isMatchedByType(IElementType type) {
+        return type != IDENTIFIER && type != EOL_OR_SEMICOLON && !SOFT_KEYWORDS.contains(type);
+    }
+
+    private static boolean isMatchedByTypes(TokenSet types) {
+        for (IElementType type : types.getTypes()) {
+            if (!isMatchedByType(type)) return false;
+        }
+        return true;
+    }
+
     /*
      * Looks for a the last top-level (not inside any {} [] () <>) '.' occurring before a
      * top-level occurrence of a token from the <code>stopSet</code>
@@ -356,10 +414,12 @@ import static org.jetbrains.jet.lexer.JetTokens.*;
 
         private final IElementType lookFor;
         private final boolean topLevelOnly;
+        private final TokenSet topLevelTokenTypes;
 
         public At(IElementType lookFor, boolean topLevelOnly) {
             this.lookFor = lookFor;
             this.topLevelOnly = topLevelOnly;
+            this.topLevelTokenTypes = topLevelOnly && isMatchedByType(lookFor) ? TokenSet.create(lookFor) : null;
         }
 
         public At(IElementType lookFor) {
@@ -371,15 +431,27 @@ import static org.jetbrains.jet.lexer.JetTokens.*;
             return (topLevel || !topLevelOnly) && at(lookFor);
         }
 
+        @Override
+        public boolean isTopLevelOnly() {
+            return topLevelOnly;
+        }
+
+        @Override
+        public TokenSet getTopLevelTokenTypes() {
+            return topLevelTokenTypes;
+        }
+
     }
 
     protected class AtSet extends AbstractTokenStreamPredicate {
         private final TokenSet lookFor;
         private final TokenSet topLevelOnly;
+        private final TokenSet topLevelTokenTypes;
 
         public AtSet(TokenSet lookFor, TokenSet topLevelOnly) {
             this.lookFor = lookFor;
             this.topLevelOnly = topLevelOnly;
+            this.topLevelTokenTypes = isTopLevelOnly() && isMatchedByTypes(lookFor) ? lookFor : null;
         }
 
         public AtSet(TokenSet lookFor) {
@@ -394,6 +466,24 @@ import static org.jetbrains.jet.lexer.JetTokens.*;
         public boolean matching(boolean topLevel) {
             return (topLevel || !atSet(topLevelOnly)) && atSet(lookFor);
         }
+
+        @Override
+        public boolean isTopLevelOnly() {
+            for (IElementType type : lookFor.getTypes()) {
+                if (!topLevelOnly.contains(type)) return false;
+            }
+            // atSet() remaps soft keywords and identifiers even when it is called for a nested token
+            if (topLevelOnly.contains(IDENTIFIER)) return false;
+            for (IElementType type : topLevelOnly.getTypes()) {
+                if (SOFT_KEYWORDS.contains(type)) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public TokenSet getTopLevelTokenTypes() {
+            return topLevelTokenTypes;
+        }
     }
 
     protected class AtFirstTokenOfTokens extends AbstractTokenStreamPredicate {
@@ -43,5 +43,19 @@ public abstract class AbstractTokenStreamPattern implements TokenStreamPattern {
     public boolean handleUnmatchedClosing(IElementType token) {
         return false;
     }
-}
 
+    @Override
+    public boolean canSkipNestedTokens() {
+        return false;
+    }
+
+    @Override
+    public boolean isMatchedByTokenTypes() {
+        return false;
+    }
+
+    @Override
+    public boolean processTokenType(int offset, IElementType topLevelType) {
+        throw new UnsupportedOperationException("Not matched by token types: " + this);
+    }
+}
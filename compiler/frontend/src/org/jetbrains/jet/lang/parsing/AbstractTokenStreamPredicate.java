@@ -16,11 +16,23 @@
 
 package org.jetbrains.jet.lang.parsing;
 
+import com.intellij.psi.tree.TokenSet;
+
 /**
  * @author abreslav
  */
 public abstract class AbstractTokenStreamPredicate implements TokenStreamPredicate {
 
+    @Override
+    public boolean isTopLevelOnly() {
+        return false;
+    }
+
+    @Override
+    public TokenSet getTopLevelTokenTypes() {
+        return null;
+    }
+
     @Override
     public TokenStreamPredicate or(final TokenStreamPredicate other) {
         return new AbstractTokenStreamPredicate() {
@@ -29,6 +41,19 @@ public abstract class AbstractTokenStreamPredicate implements TokenStreamPredica
                 if (AbstractTokenStreamPredicate.this.matching(topLevel)) return true;
                 return other.matching(topLevel);
             }
+
+            @Override
+            public boolean isTopLevelOnly() {
+                return AbstractTokenStreamPredicate.this.isTopLevelOnly() && other.isTopLevelOnly();
+            }
+
+            @Override
+            public TokenSet getTopLevelTokenTypes() {
+                TokenSet types = AbstractTokenStreamPredicate.this.getTopLevelTokenTypes();
+                TokenSet otherTypes = other.getTopLevelTokenTypes();
+                if (types == null || otherTypes == null) return null;
+                return TokenSet.orSet(types, otherTypes);
+            }
         };
     }
 }
@@ -16,6 +16,8 @@
 
 package org.jetbrains.jet.lang.parsing;
 
+import com.intellij.psi.tree.IElementType;
+
 /**
 * @author abreslav
 */
@@ -39,4 +41,25 @@ public class FirstBefore extends AbstractTokenStreamPattern {
         }
         return false;
     }
+
+    @Override
+    public boolean canSkipNestedTokens() {
+        // nested tokens match neither predicate
+        return lookFor.isTopLevelOnly() && stopAt.isTopLevelOnly();
+    }
+
+    @Override
+    public boolean isMatchedByTokenTypes() {
+        return lookFor.getTopLevelTokenTypes() != null && stopAt.getTopLevelTokenTypes() != null;
+    }
+
+    @Override
+    public boolean processTokenType(int offset, IElementType topLevelType) {
+        if (topLevelType == null) return false;
+        if (lookFor.getTopLevelTokenTypes().contains(topLevelType)) {
+            lastOccurrence = offset;
+            return true;
+        }
+        return stopAt.getTopLevelTokenTypes().contains(topLevelType);
+    }
 }
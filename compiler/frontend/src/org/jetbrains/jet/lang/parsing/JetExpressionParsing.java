@@ -35,6 +35,7 @@ import static org.jetbrains.jet.lexer.JetTokens.*;
 public class JetExpressionParsing extends AbstractJetParsing {
     private static final TokenSet WHEN_CONDITION_RECOVERY_SET = TokenSet.create(RBRACE, IN_KEYWORD, NOT_IN, IS_KEYWORD, NOT_IS, ELSE_KEYWORD);
     private static final TokenSet WHEN_CONDITION_RECOVERY_SET_WITH_ARROW = TokenSet.create(RBRACE, IN_KEYWORD, NOT_IN, IS_KEYWORD, NOT_IS, ELSE_KEYWORD, ARROW, DOT);
+    private static final TokenSet LOCAL_DECLARATION_FIRST = TokenSet.create(CLASS_KEYWORD, FUN_KEYWORD, VAL_KEYWORD, VAR_KEYWORD, TYPE_KEYWORD);
 
 
     private static final ImmutableMap<String, JetToken> KEYWORD_TEXTS = tokenSetToMap(KEYWORDS);
@@ -563,8 +564,7 @@ public class JetExpressionParsing extends AbstractJetParsing {
         else if (at(DO_KEYWORD)) {
             parseDoWhile();
         }
-        else if (atSet(CLASS_KEYWORD, FUN_KEYWORD, VAL_KEYWORD,
-                VAR_KEYWORD, TYPE_KEYWORD)) {
+        else if (atSet(LOCAL_DECLARATION_FIRST)) {
             parseLocalDeclaration();
         }
         else if (at(FIELD_IDENTIFIER)) {
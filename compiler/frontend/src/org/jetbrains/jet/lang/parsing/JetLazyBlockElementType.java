@@ -0,0 +1,87 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.parsing;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.PsiBuilderFactory;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IReparseableElementType;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.lang.psi.JetBlockExpression;
+import org.jetbrains.jet.lexer.JetLexer;
+import org.jetbrains.jet.plugin.JetLanguage;
+
+import static org.jetbrains.jet.lexer.JetTokens.LBRACE;
+import static org.jetbrains.jet.lexer.JetTokens.RBRACE;
+
+/**
+ * Block body of a function, a property accessor, a constructor or an anonymous initializer.
+ * <p/>
+ * The parser only matches the braces of such a block and collapses it, the statements are parsed on first access.
+ * An edit inside the block reparses this block only, as long as its braces stay balanced.
+ *
+ * @author agent
+ */
+public class JetLazyBlockElementType extends IReparseableElementType {
+    public JetLazyBlockElementType(@NotNull @NonNls String debugName) {
+        super(debugName, JetLanguage.INSTANCE);
+    }
+
+    @Override
+    protected ASTNode doParseContents(@NotNull ASTNode chameleon, @NotNull PsiElement psi) {
+        Project project = psi.getProject();
+        PsiBuilder builder = PsiBuilderFactory.getInstance().createBuilder(project, chameleon, null, getLanguage(), chameleon.getChars());
+        JetParsing.createForTopLevel(new SemanticWhitespaceAwarePsiBuilderImpl(builder)).parseLazyBlockContents(this);
+        return builder.getTreeBuilt().getFirstChildNode();
+    }
+
+    @Override
+    public boolean isParsable(CharSequence buffer, Project project) {
+        Lexer lexer = new JetLexer();
+        lexer.start(buffer);
+        if (lexer.getTokenType() != LBRACE) return false;
+
+        int balance = 0;
+        while (true) {
+            IElementType tokenType = lexer.getTokenType();
+            if (tokenType == null) return false;
+            if (tokenType == LBRACE) {
+                balance++;
+            }
+            else if (tokenType == RBRACE) {
+                balance--;
+                if (balance == 0) {
+                    lexer.advance();
+                    // the closing brace must be the last token of the block
+                    return lexer.getTokenType() == null;
+                }
+            }
+            lexer.advance();
+        }
+    }
+
+    @NotNull
+    public JetBlockExpression createPsi(@NotNull ASTNode node) {
+        assert node.getElementType() == this;
+        return new JetBlockExpression(node);
+    }
+}
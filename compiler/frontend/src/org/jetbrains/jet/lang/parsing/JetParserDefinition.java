@@ -80,6 +80,10 @@ public class JetParserDefinition implements ParserDefinition {
             return ((JetStubElementType) astNode.getElementType()).createPsiFromAst(astNode);
         }
 
+        if (astNode.getElementType() instanceof JetLazyBlockElementType) {
+            return ((JetLazyBlockElementType) astNode.getElementType()).createPsi(astNode);
+        }
+
         return ((JetNodeType) astNode.getElementType()).createPsi(astNode);
     }
 
@@ -56,6 +56,8 @@ public class JetParsing extends AbstractJetParsing {
     private static final TokenSet NAMESPACE_NAME_RECOVERY_SET = TokenSet.create(DOT, EOL_OR_SEMICOLON);
     /*package*/ static final TokenSet TYPE_REF_FIRST = TokenSet.create(LBRACKET, IDENTIFIER, FUN_KEYWORD, LPAR, CAPITALIZED_THIS_KEYWORD, HASH);
     private static final TokenSet RECEIVER_TYPE_TERMINATORS = TokenSet.create(DOT, SAFE_ACCESS);
+    private static final TokenSet PRIMARY_CONSTRUCTOR_FOLLOW = TokenSet.create(LPAR, LBRACE, COLON);
+    private static final TokenSet PROPERTY_END = TokenSet.create(EOL_OR_SEMICOLON, RBRACE);
 
     public static JetParsing createForTopLevel(SemanticWhitespaceAwarePsiBuilder builder) {
         JetParsing jetParsing = new JetParsing(builder);
@@ -427,7 +429,7 @@ public class JetParsing extends AbstractJetParsing {
         boolean hasConstructorModifiers = parseModifierList(PRIMARY_CONSTRUCTOR_MODIFIER_LIST, false);
 
         // Some modifiers found, but no parentheses following: class has already ended, and we are looking at something else
-        if (hasConstructorModifiers && !atSet(LPAR, LBRACE, COLON) ) {
+        if (hasConstructorModifiers && !atSet(PRIMARY_CONSTRUCTOR_FOLLOW)) {
             beforeConstructorModifiers.rollbackTo();
             return CLASS;
         }
@@ -634,7 +636,7 @@ public class JetParsing extends AbstractJetParsing {
             parseObject(true, true);
             declType = OBJECT_DECLARATION;
         } else if (keywordToken == LBRACE) {
-            parseBlock();
+            parseLazyBlock();
             declType = ANONYMOUS_INITIALIZER;
         }
         return declType;
@@ -703,7 +705,7 @@ public class JetParsing extends AbstractJetParsing {
         }
 
         if (at(LBRACE)) {
-            parseBlock();
+            parseLazyBlock();
         }
         else {
             consumeIf(SEMICOLON);
@@ -810,11 +812,11 @@ public class JetParsing extends AbstractJetParsing {
      *       (getter? setter? | setter? getter?) SEMI?
      *   ;
      */
-    public JetNodeType parseProperty() {
+    public IElementType parseProperty() {
         return parseProperty(false);
     }
 
-    public JetNodeType parseProperty(boolean local) {
+    public IElementType parseProperty(boolean local) {
         if (at(VAL_KEYWORD) || at(VAR_KEYWORD)) {
             advance(); // VAL_KEYWORD or VAR_KEYWORD
         } else {
@@ -831,6 +833,11 @@ public class JetParsing extends AbstractJetParsing {
         int lastDot = matchTokenStreamPredicate(new LastBefore(
                 new AtSet(DOT, SAFE_ACCESS),
                 new AbstractTokenStreamPredicate() {
+                    @Override
+                    public boolean isTopLevelOnly() {
+                        return true;
+                    }
+
                     @Override
                     public boolean matching(boolean topLevel) {
                         if (topLevel && (at(EQ) || at(COLON))) return true;
@@ -872,7 +879,7 @@ public class JetParsing extends AbstractJetParsing {
             if (parsePropertyGetterOrSetter()) {
                 parsePropertyGetterOrSetter();
             }
-            if  (!atSet(EOL_OR_SEMICOLON, RBRACE)) {
+            if  (!atSet(PROPERTY_END)) {
                 if (getLastToken() != SEMICOLON) {
                     errorUntil("Property getter or setter expected", TokenSet.create(EOL_OR_SEMICOLON));
                 }
@@ -1062,7 +1069,7 @@ public class JetParsing extends AbstractJetParsing {
      */
     private void parseFunctionBody() {
         if (at(LBRACE)) {
-            parseBlock();
+            parseLazyBlock();
         }
         else if (at(EQ)) {
             advance(); // EQ
@@ -1082,6 +1089,12 @@ public class JetParsing extends AbstractJetParsing {
     public void parseBlock() {
         PsiBuilder.Marker block = mark();
 
+        parseBlockContents();
+
+        block.done(BLOCK);
+    }
+
+    private void parseBlockContents() {
         myBuilder.enableNewlines();
         expect(LBRACE, "Expecting '{' to open a block");
 
@@ -1089,8 +1102,55 @@ public class JetParsing extends AbstractJetParsing {
 
         expect(RBRACE, "Expecting '}");
         myBuilder.restoreNewlinesState();
+    }
 
-        block.done(BLOCK);
+    /*
+     * Skips a block by brace matching, its statements are parsed on first access (see JetLazyBlockElementType).
+     * Falls back to parseBlock() if the braces are not balanced.
+     */
+    private void parseLazyBlock() {
+        assert _at(LBRACE);
+
+        PsiBuilder.Marker block = mark();
+
+        int balance = 0;
+        while (!eof()) {
+            IElementType tt = tt();
+            if (tt == LBRACE) {
+                balance++;
+            }
+            else if (tt == RBRACE) {
+                balance--;
+            }
+            advance();
+
+            if (balance == 0) {
+                block.collapse(LAZY_BLOCK);
+                return;
+            }
+        }
+
+        block.rollbackTo();
+        parseBlock();
+    }
+
+    /*
+     * Parses the text of a collapsed block when it is first accessed
+     */
+    /*package*/ void parseLazyBlockContents(IElementType blockType) {
+        PsiBuilder.Marker block = mark();
+
+        parseBlockContents();
+
+        if (!eof()) {
+            PsiBuilder.Marker error = mark();
+            while (!eof()) {
+                advance();
+            }
+            error.error("Unexpected tokens after the block");
+        }
+
+        block.done(blockType);
     }
 
     /*
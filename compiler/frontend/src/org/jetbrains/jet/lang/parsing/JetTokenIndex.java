@@ -0,0 +1,202 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.parsing;
+
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lexer.JetLexer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.jetbrains.jet.lexer.JetTokens.*;
+
+/**
+ * The tokens of a whole text without whitespace and comments, computed by one lexer pass.
+ *
+ * Every token knows the next token that has the same numbers of open (), <>, {} and [] before it,
+ * so the parser can look ahead over the top-level tokens and jump over everything in brackets
+ * instead of advancing the builder through it.
+ *
+ * Token types are the lexer's: soft keywords and identifiers the parser remaps are not reflected here.
+ *
+ * @author agent
+ */
+public class JetTokenIndex {
+    private final IElementType[] types;
+    private final IElementType[] joinedTypes;
+    private final int[] starts;
+    private final int[] nextAtSameDepth;
+
+    private JetTokenIndex(IElementType[] types, IElementType[] joinedTypes, int[] starts, int[] nextAtSameDepth) {
+        this.types = types;
+        this.joinedTypes = joinedTypes;
+        this.starts = starts;
+        this.nextAtSameDepth = nextAtSameDepth;
+    }
+
+    @NotNull
+    public static JetTokenIndex build(@NotNull CharSequence text) {
+        int capacity = Math.max(16, text.length() / 4);
+        IElementType[] types = new IElementType[capacity];
+        IElementType[] joinedTypes = new IElementType[capacity];
+        int[] starts = new int[capacity];
+        int size = 0;
+
+        JetLexer lexer = new JetLexer();
+        lexer.start(text);
+        IElementType previousRawType = null;
+        for (IElementType type; (type = lexer.getTokenType()) != null; lexer.advance()) {
+            if (size > 0 && previousRawType == types[size - 1]) {
+                // The same joining as in SemanticWhitespaceAwarePsiBuilderImpl: only tokens with nothing in between
+                joinedTypes[size - 1] = joinedType(previousRawType, type);
+            }
+            previousRawType = type;
+            if (WHITE_SPACE_OR_COMMENT_BIT_SET.contains(type)) continue;
+
+            if (size == types.length) {
+                types = Arrays.copyOf(types, size * 2);
+                joinedTypes = Arrays.copyOf(joinedTypes, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+            }
+            types[size] = type;
+            starts[size] = lexer.getTokenStart();
+            size++;
+        }
+
+        return new JetTokenIndex(Arrays.copyOf(types, size), Arrays.copyOf(joinedTypes, size), Arrays.copyOf(starts, size),
+                                 computeNextAtSameDepth(types, size));
+    }
+
+    @Nullable
+    private static IElementType joinedType(IElementType first, IElementType second) {
+        if (first == QUEST) {
+            if (second == DOT) return SAFE_ACCESS;
+            if (second == COLON) return ELVIS;
+        }
+        else if (first == EXCL) {
+            if (second == EXCL) return EXCLEXCL;
+        }
+        return null;
+    }
+
+    private static int[] computeNextAtSameDepth(IElementType[] types, int size) {
+        // Depths before every token, counted the way AbstractJetParsing.matchTokenStreamPredicate() counts them
+        Depth[] depths = new Depth[size];
+        int parentheses = 0;
+        int angleBrackets = 0;
+        int braces = 0;
+        int brackets = 0;
+        for (int i = 0; i < size; i++) {
+            depths[i] = new Depth(parentheses, angleBrackets, braces, brackets);
+            IElementType type = types[i];
+            if (type == LPAR) parentheses++;
+            else if (type == RPAR) parentheses--;
+            else if (type == LT) angleBrackets++;
+            else if (type == GT) angleBrackets--;
+            else if (type == LBRACE) braces++;
+            else if (type == RBRACE) braces--;
+            else if (type == LBRACKET) brackets++;
+            else if (type == RBRACKET) brackets--;
+        }
+
+        int[] result = new int[size];
+        Map<Depth, Integer> following = new HashMap<Depth, Integer>();
+        for (int i = size - 1; i >= 0; i--) {
+            Integer next = following.put(depths[i], i);
+            result[i] = next == null ? -1 : next;
+        }
+        return result;
+    }
+
+    public int size() {
+        return types.length;
+    }
+
+    /**
+     * @return the index of the token that starts at the given offset, -1 if no token does
+     */
+    public int indexOf(int offset) {
+        int index = Arrays.binarySearch(starts, offset);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * @return the index of the first token that starts at the given offset or after it, {@link #size()} if no token does
+     */
+    public int indexAtOrAfter(int offset) {
+        int index = Arrays.binarySearch(starts, offset);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    @NotNull
+    public IElementType getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * @return the complex token (e.g. SAFE_ACCESS) this token forms together with the next one, null if there is none
+     */
+    @Nullable
+    public IElementType getJoinedType(int index) {
+        return joinedTypes[index];
+    }
+
+    public int getStart(int index) {
+        return starts[index];
+    }
+
+    /**
+     * @return the index of the next token with as many brackets of every kind open before it as before this one,
+     * -1 if there is no such token
+     */
+    public int getNextAtSameDepth(int index) {
+        return nextAtSameDepth[index];
+    }
+
+    private static final class Depth {
+        private final int parentheses;
+        private final int angleBrackets;
+        private final int braces;
+        private final int brackets;
+
+        private Depth(int parentheses, int angleBrackets, int braces, int brackets) {
+            this.parentheses = parentheses;
+            this.angleBrackets = angleBrackets;
+            this.braces = braces;
+            this.brackets = brackets;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Depth)) return false;
+            Depth depth = (Depth) o;
+            return parentheses == depth.parentheses
+                   && angleBrackets == depth.angleBrackets
+                   && braces == depth.braces
+                   && brackets == depth.brackets;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((parentheses * 31 + angleBrackets) * 31 + braces) * 31 + brackets;
+        }
+    }
+}
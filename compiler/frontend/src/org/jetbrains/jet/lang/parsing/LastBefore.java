@@ -16,6 +16,8 @@
 
 package org.jetbrains.jet.lang.parsing;
 
+import com.intellij.psi.tree.IElementType;
+
 /**
 * @author abreslav
 */
@@ -38,11 +40,22 @@ public class LastBefore extends AbstractTokenStreamPattern {
 
     @Override
     public boolean processToken(int offset, boolean topLevel) {
-        boolean lookForResult = lookFor.matching(topLevel);
+        return process(offset, topLevel, lookFor.matching(topLevel), stopAt.matching(topLevel));
+    }
+
+    @Override
+    public boolean processTokenType(int offset, IElementType topLevelType) {
+        boolean topLevel = topLevelType != null;
+        return process(offset, topLevel,
+                       topLevel && lookFor.getTopLevelTokenTypes().contains(topLevelType),
+                       topLevel && stopAt.getTopLevelTokenTypes().contains(topLevelType));
+    }
+
+    private boolean process(int offset, boolean topLevel, boolean lookForResult, boolean stopAtResult) {
         if (lookForResult) {
             lastOccurrence = offset;
         }
-        if (stopAt.matching(topLevel)) {
+        if (stopAtResult) {
             if (topLevel
                 && (!dontStopRightAfterOccurrence
                     || !previousLookForResult)) return true;
@@ -50,4 +63,15 @@ public class LastBefore extends AbstractTokenStreamPattern {
         previousLookForResult = lookForResult;
         return false;
     }
+
+    @Override
+    public boolean canSkipNestedTokens() {
+        // a nested token only resets previousLookForResult
+        return lookFor.isTopLevelOnly() && stopAt.isTopLevelOnly();
+    }
+
+    @Override
+    public boolean isMatchedByTokenTypes() {
+        return lookFor.getTopLevelTokenTypes() != null && stopAt.getTopLevelTokenTypes() != null;
+    }
 }
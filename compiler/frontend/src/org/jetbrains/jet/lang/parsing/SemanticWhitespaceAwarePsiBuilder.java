@@ -17,6 +17,7 @@
 package org.jetbrains.jet.lang.parsing;
 
 import com.intellij.lang.PsiBuilder;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * @author abreslav
@@ -32,4 +33,13 @@ public interface SemanticWhitespaceAwarePsiBuilder extends PsiBuilder {
     void restoreJoiningComplexTokensState();
     void enableJoiningComplexTokens();
     void disableJoiningComplexTokens();
+    boolean isJoiningComplexTokens();
+
+    /**
+     * @return the offset at which {@link #eof()} is reached before the end of the text, -1 if it is not
+     */
+    int getEofOffset();
+
+    @NotNull
+    JetTokenIndex getTokenIndex();
 }
@@ -17,6 +17,7 @@
 package org.jetbrains.jet.lang.parsing;
 
 import com.intellij.lang.impl.PsiBuilderAdapter;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * @author abreslav
@@ -65,4 +66,20 @@ public class SemanticWhitespaceAwarePsiBuilderAdapter extends PsiBuilderAdapter
     public void disableJoiningComplexTokens() {
         myBuilder.disableJoiningComplexTokens();
     }
+
+    @Override
+    public boolean isJoiningComplexTokens() {
+        return myBuilder.isJoiningComplexTokens();
+    }
+
+    @Override
+    public int getEofOffset() {
+        return myBuilder.getEofOffset();
+    }
+
+    @NotNull
+    @Override
+    public JetTokenIndex getTokenIndex() {
+        return myBuilder.getTokenIndex();
+    }
 }
@@ -22,6 +22,7 @@ import com.intellij.lang.impl.PsiBuilderAdapter;
 import com.intellij.psi.TokenType;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.jet.lexer.JetTokens;
 
 import java.util.Stack;
@@ -37,6 +38,8 @@ public class SemanticWhitespaceAwarePsiBuilderImpl extends PsiBuilderAdapter imp
 
     private final Stack<Boolean> newlinesEnabled = new Stack<Boolean>();
 
+    private JetTokenIndex tokenIndex;
+
     public SemanticWhitespaceAwarePsiBuilderImpl(final PsiBuilder delegate) {
         super(delegate);
         newlinesEnabled.push(true);
@@ -99,6 +102,25 @@ public class SemanticWhitespaceAwarePsiBuilderImpl extends PsiBuilderAdapter imp
         return joinComplexTokens.peek();
     }
 
+    @Override
+    public boolean isJoiningComplexTokens() {
+        return joinComplexTokens();
+    }
+
+    @Override
+    public int getEofOffset() {
+        return -1;
+    }
+
+    @NotNull
+    @Override
+    public JetTokenIndex getTokenIndex() {
+        if (tokenIndex == null) {
+            tokenIndex = JetTokenIndex.build(getOriginalText());
+        }
+        return tokenIndex;
+    }
+
     @Override
     public void restoreJoiningComplexTokensState() {
         joinComplexTokens.pop();
@@ -17,6 +17,7 @@
 package org.jetbrains.jet.lang.parsing;
 
 import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author abreslav
@@ -48,4 +49,25 @@ public interface TokenStreamPattern {
      * @return true to stop matching, false to proceed
      */
     boolean handleUnmatchedClosing(IElementType token);
+
+    /**
+     * Tells the matcher that it may call {@link #processToken(int, boolean)} only for the first token of every run
+     * of tokens that are not on the top level: such calls never stop the matching, and one of them has the same effect
+     * as the whole run
+     */
+    boolean canSkipNestedTokens();
+
+    /**
+     * Tells the matcher that the pattern is decided by token types alone (see {@link TokenStreamPredicate#getTopLevelTokenTypes()}),
+     * so it may call {@link #processTokenType(int, IElementType)} for the tokens of a precomputed {@link JetTokenIndex}
+     * instead of moving the builder. Implies {@link #canSkipNestedTokens()}
+     */
+    boolean isMatchedByTokenTypes();
+
+    /**
+     * Same as {@link #processToken(int, boolean)} for a pattern that {@link #isMatchedByTokenTypes()}
+     *
+     * @param topLevelType the type of a top-level token, null for a token that is not on the top level
+     */
+    boolean processTokenType(int offset, @Nullable IElementType topLevelType);
 }
@@ -16,11 +16,27 @@
 
 package org.jetbrains.jet.lang.parsing;
 
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.Nullable;
+
 /**
  * @author abreslav
  */
 public interface TokenStreamPredicate {
     boolean matching(boolean topLevel);
 
+    /**
+     * @return true if {@link #matching(boolean)} always returns false for tokens that are not on the top level,
+     * and does not touch the builder for them (e.g. does not remap soft keywords)
+     */
+    boolean isTopLevelOnly();
+
+    /**
+     * @return the token types this predicate matches, if it matches nothing but top-level tokens of these types
+     * and needs nothing but the type of a token to tell it; null otherwise
+     */
+    @Nullable
+    TokenSet getTopLevelTokenTypes();
+
     TokenStreamPredicate or(TokenStreamPredicate other);
 }
@@ -37,6 +37,13 @@ public class TruncatedSemanticWhitespaceAwarePsiBuilder extends SemanticWhitespa
         return myEOFPosition >= 0 && getCurrentOffset() >= myEOFPosition;
     }
 
+    @Override
+    public int getEofOffset() {
+        int eofOffset = super.getEofOffset();
+        if (myEOFPosition < 0) return eofOffset;
+        return eofOffset < 0 ? myEOFPosition : Math.min(eofOffset, myEOFPosition);
+    }
+
     @Override
     public String getTokenText() {
         if (eof()) return null;
@@ -18,11 +18,15 @@ package org.jetbrains.jet.lang.psi;
 
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import com.intellij.psi.stubs.IStubElementType;
 import com.intellij.util.IncorrectOperationException;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jet.JetNodeTypes;
+import org.jetbrains.jet.lang.psi.stubs.PsiJetObjectStub;
+import org.jetbrains.jet.lang.psi.stubs.elements.JetStubElementTypes;
 import org.jetbrains.jet.lexer.JetTokens;
 
 import java.util.Collections;
@@ -31,7 +35,7 @@ import java.util.List;
 /**
  * @author abreslav
  */
-public class JetObjectDeclaration extends JetNamedDeclaration implements JetClassOrObject  {
+public class JetObjectDeclaration extends JetNamedDeclaration implements JetClassOrObject, StubBasedPsiElement<PsiJetObjectStub> {
     public JetObjectDeclaration(@NotNull ASTNode node) {
         super(node);
     }
@@ -123,4 +127,15 @@ public class JetObjectDeclaration extends JetNamedDeclaration implements JetClas
     public void delete() throws IncorrectOperationException {
         JetPsiUtil.deleteClass(this);
     }
+
+    @Override
+    public IStubElementType getElementType() {
+        return JetStubElementTypes.OBJECT_DECLARATION;
+    }
+
+    @Override
+    public PsiJetObjectStub getStub() {
+        // TODO (stubs)
+        return null;
+    }
 }
@@ -18,14 +18,18 @@ package org.jetbrains.jet.lang.psi;
 
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
 import com.intellij.psi.search.LocalSearchScope;
 import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.stubs.IStubElementType;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.tree.TokenSet;
 import com.intellij.psi.util.PsiTreeUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jet.JetNodeTypes;
+import org.jetbrains.jet.lang.psi.stubs.PsiJetPropertyStub;
+import org.jetbrains.jet.lang.psi.stubs.elements.JetStubElementTypes;
 import org.jetbrains.jet.lexer.JetTokens;
 
 import java.util.List;
@@ -36,7 +40,7 @@ import static org.jetbrains.jet.lexer.JetTokens.*;
 /**
  * @author max
  */
-public class JetProperty extends JetTypeParameterListOwner implements JetModifierListOwner {
+public class JetProperty extends JetTypeParameterListOwner implements JetModifierListOwner, StubBasedPsiElement<PsiJetPropertyStub> {
     public JetProperty(@NotNull ASTNode node) {
         super(node);
     }
@@ -142,4 +146,15 @@ public class JetProperty extends JetTypeParameterListOwner implements JetModifie
     public ASTNode getEqualsSign() {
         return getNode().findChildByType(TokenSet.create(EQ));
     }
+
+    @Override
+    public IStubElementType getElementType() {
+        return JetStubElementTypes.PROPERTY;
+    }
+
+    @Override
+    public PsiJetPropertyStub getStub() {
+        // TODO (stubs)
+        return null;
+    }
 }
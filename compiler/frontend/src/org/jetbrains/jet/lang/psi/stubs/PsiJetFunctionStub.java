@@ -39,6 +39,13 @@ public interface PsiJetFunctionStub <T extends JetFunction> extends StubElement<
      */
     boolean isExtension();
 
+    /**
+     * Short name of the extension receiver type, "Any" for a receiver that can't be named statically
+     * (a type parameter, a function or a tuple type). Null for non-extension functions.
+     */
+    @Nullable
+    String getReceiverTypeShortName();
+
     @NotNull
     String[] getAnnotations();
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.jet.lang.psi.stubs;
+
+import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.psi.JetProperty;
+
+/**
+ * @author agent
+ */
+public interface PsiJetPropertyStub extends StubElement<JetProperty> {
+    @Nullable
+    String getName();
+
+    boolean isVar();
+
+    /**
+     * Is property defined directly in package.
+     */
+    boolean isTopLevel();
+
+    /**
+     * Does property extend some type.
+     */
+    boolean isExtension();
+
+    /**
+     * Short name of the extension receiver type, see {@link PsiJetFunctionStub#getReceiverTypeShortName()}.
+     * Null for non-extension properties.
+     */
+    @Nullable
+    String getReceiverTypeShortName();
+}
@@ -33,7 +33,7 @@ import java.io.IOException;
  * @author Nikolay Krasko
  */
 public class JetFileElementType extends IStubFileElementType<PsiJetFileStub> {
-    public static final int STUB_VERSION = 3;
+    public static final int STUB_VERSION = 6;
 
     public JetFileElementType() {
         super("jet.FILE", JetLanguage.INSTANCE);
@@ -16,10 +16,15 @@
 
 package org.jetbrains.jet.lang.psi.stubs.elements;
 
+import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.StubBasedPsiElement;
 import com.intellij.psi.stubs.DefaultStubBuilder;
+import com.intellij.psi.stubs.IStubElementType;
 import com.intellij.psi.stubs.StubElement;
 import com.intellij.util.io.StringRef;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.lang.psi.JetBlockExpression;
 import org.jetbrains.jet.lang.psi.JetFile;
 import org.jetbrains.jet.lang.psi.stubs.impl.PsiJetFileStubImpl;
 
@@ -27,6 +32,33 @@ import org.jetbrains.jet.lang.psi.stubs.impl.PsiJetFileStubImpl;
  * @author Nikolay Krasko
  */
 public class JetFileStubBuilder  extends DefaultStubBuilder {
+    @Override
+    public StubElement buildStubTree(PsiFile file) {
+        StubElement fileStub = createStubForFile(file);
+        buildDeclarationStubs(file, fileStub);
+        return fileStub;
+    }
+
+    /*
+     * Nothing inside a block is indexed (see JetStubElementType.shouldCreateStub), so blocks are not walked:
+     * lazy function bodies stay unparsed while stubs are built
+     */
+    private static void buildDeclarationStubs(@NotNull PsiElement element, @NotNull StubElement parentStub) {
+        for (PsiElement child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            StubElement stub = parentStub;
+            if (child instanceof StubBasedPsiElement) {
+                IStubElementType type = ((StubBasedPsiElement) child).getElementType();
+                if (type.shouldCreateStub(child.getNode())) {
+                    //noinspection unchecked
+                    stub = type.createStub(child, parentStub);
+                }
+            }
+            if (!(child instanceof JetBlockExpression)) {
+                buildDeclarationStubs(child, stub);
+            }
+        }
+    }
+
     @Override
     protected StubElement createStubForFile(PsiFile file) {
 
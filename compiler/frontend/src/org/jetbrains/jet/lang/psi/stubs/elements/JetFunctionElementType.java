@@ -26,7 +26,8 @@ import com.intellij.psi.stubs.StubOutputStream;
 import com.intellij.util.io.StringRef;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.jet.lang.psi.JetNamedFunction;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.psi.*;
 import org.jetbrains.jet.lang.psi.stubs.PsiJetFileStub;
 import org.jetbrains.jet.lang.psi.stubs.PsiJetFunctionStub;
 import org.jetbrains.jet.lang.psi.stubs.impl.PsiJetFunctionStubImpl;
@@ -37,6 +38,7 @@ import java.io.IOException;
  * @author Nikolay Krasko
  */
 public class JetFunctionElementType extends JetStubElementType<PsiJetFunctionStub, JetNamedFunction> {
+    public static final String ANY_RECEIVER_TYPE_NAME = "Any";
 
     public JetFunctionElementType(@NotNull @NonNls String debugName) {
         super(debugName);
@@ -64,7 +66,45 @@ public class JetFunctionElementType extends JetStubElementType<PsiJetFunctionStu
 
         return new PsiJetFunctionStubImpl(
                 JetStubElementTypes.FUNCTION, parentStub, psi.getName(),
-                isTopLevel, isExtension);
+                isTopLevel, isExtension, getReceiverTypeShortName(psi.getReceiverTypeRef(), psi));
+    }
+
+    /**
+     * @param owner the declaration of the receiver, its type parameters can't be named statically
+     */
+    @Nullable
+    static String getReceiverTypeShortName(@Nullable JetTypeReference receiverTypeRef, @NotNull JetTypeParameterListOwner owner) {
+        if (receiverTypeRef == null) {
+            return null;
+        }
+
+        JetTypeElement typeElement = receiverTypeRef.getTypeElement();
+        if (typeElement instanceof JetNullableType) {
+            typeElement = ((JetNullableType) typeElement).getInnerType();
+        }
+
+        if (typeElement instanceof JetUserType) {
+            JetUserType userType = (JetUserType) typeElement;
+            String referencedName = userType.getReferencedName();
+            if (referencedName != null && !isTypeParameterName(owner, userType, referencedName)) {
+                return referencedName;
+            }
+        }
+
+        // Receiver could be any type
+        return ANY_RECEIVER_TYPE_NAME;
+    }
+
+    private static boolean isTypeParameterName(@NotNull JetTypeParameterListOwner owner, @NotNull JetUserType type, @NotNull String name) {
+        if (type.getQualifier() != null) {
+            return false;
+        }
+        for (JetTypeParameter typeParameter : owner.getTypeParameters()) {
+            if (name.equals(typeParameter.getName())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -72,6 +112,7 @@ public class JetFunctionElementType extends JetStubElementType<PsiJetFunctionStu
         dataStream.writeName(stub.getName());
         dataStream.writeBoolean(stub.isTopLevel());
         dataStream.writeBoolean(stub.isExtension());
+        dataStream.writeName(stub.getReceiverTypeShortName());
     }
 
     @Override
@@ -79,8 +120,9 @@ public class JetFunctionElementType extends JetStubElementType<PsiJetFunctionStu
         final StringRef name = dataStream.readName();
         final boolean isTopLevel = dataStream.readBoolean();
         final boolean isExtension = dataStream.readBoolean();
+        final StringRef receiverTypeShortName = dataStream.readName();
 
-        return new PsiJetFunctionStubImpl(JetStubElementTypes.FUNCTION, parentStub, name, isTopLevel, isExtension);
+        return new PsiJetFunctionStubImpl(JetStubElementTypes.FUNCTION, parentStub, name, isTopLevel, isExtension, receiverTypeShortName);
     }
 
     @Override
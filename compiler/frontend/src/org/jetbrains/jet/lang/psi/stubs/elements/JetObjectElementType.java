@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.jet.lang.psi.stubs.elements;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.LighterAST;
+import com.intellij.lang.LighterASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import com.intellij.util.io.StringRef;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.lang.psi.*;
+import org.jetbrains.jet.lang.psi.stubs.PsiJetFileStub;
+import org.jetbrains.jet.lang.psi.stubs.PsiJetObjectStub;
+import org.jetbrains.jet.lang.psi.stubs.impl.PsiJetObjectStubImpl;
+import org.jetbrains.jet.lang.resolve.FqName;
+
+import java.io.IOException;
+
+/**
+ * @author agent
+ */
+public class JetObjectElementType extends JetStubElementType<PsiJetObjectStub, JetObjectDeclaration> {
+    public JetObjectElementType(@NotNull @NonNls String debugName) {
+        super(debugName);
+    }
+
+    @Override
+    public JetObjectDeclaration createPsiFromAst(@NotNull ASTNode node) {
+        return new JetObjectDeclaration(node);
+    }
+
+    @Override
+    public PsiJetObjectStub createStub(LighterAST tree, LighterASTNode node, StubElement parentStub) {
+        return null;  //To change body of implemented methods use File | Settings | File Templates.
+    }
+
+    @Override
+    public JetObjectDeclaration createPsi(@NotNull PsiJetObjectStub stub) {
+        return null;  //To change body of implemented methods use File | Settings | File Templates.
+    }
+
+    @Override
+    public boolean shouldCreateStub(ASTNode node) {
+        // Object literals and class objects have no name, local objects are not visible outside of their blocks
+        JetObjectDeclaration objectDeclaration = (JetObjectDeclaration) node.getPsi();
+        if (objectDeclaration.getName() == null || !super.shouldCreateStub(node)) {
+            return false;
+        }
+        PsiElement parent = objectDeclaration.getParent();
+        return parent instanceof JetFile || parent instanceof JetClassBody || parent instanceof JetNamespaceBody;
+    }
+
+    @Override
+    public PsiJetObjectStub createStub(@NotNull JetObjectDeclaration psi, StubElement parentStub) {
+        FqName fqName = JetPsiUtil.getFQName(psi);
+        final boolean isTopLevel = parentStub instanceof PsiJetFileStub;
+        return new PsiJetObjectStubImpl(JetStubElementTypes.OBJECT_DECLARATION, parentStub, psi.getName(),
+                                        fqName != null ? fqName.getFqName() : null, isTopLevel);
+    }
+
+    @Override
+    public void serialize(PsiJetObjectStub stub, StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+        dataStream.writeName(stub.getQualifiedName());
+        dataStream.writeBoolean(stub.isTopLevel());
+    }
+
+    @Override
+    public PsiJetObjectStub deserialize(StubInputStream dataStream, StubElement parentStub) throws IOException {
+        final StringRef name = dataStream.readName();
+        final StringRef qualifiedName = dataStream.readName();
+        final boolean isTopLevel = dataStream.readBoolean();
+
+        return new PsiJetObjectStubImpl(JetStubElementTypes.OBJECT_DECLARATION, parentStub, name, qualifiedName, isTopLevel);
+    }
+
+    @Override
+    public void indexStub(PsiJetObjectStub stub, IndexSink sink) {
+        StubIndexServiceFactory.getInstance().indexObject(stub, sink);
+    }
+}
@@ -23,8 +23,10 @@ import com.intellij.psi.impl.java.stubs.StubPsiFactory;
 import com.intellij.psi.stubs.ILightStubElementType;
 import com.intellij.psi.stubs.PsiFileStub;
 import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.util.PsiTreeUtil;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.lang.psi.JetBlockExpression;
 import org.jetbrains.jet.plugin.JetLanguage;
 
 /**
@@ -39,6 +41,12 @@ public abstract class JetStubElementType<StubT extends StubElement, PsiT extends
 
     public abstract PsiT createPsiFromAst(@NotNull ASTNode node);
 
+    @Override
+    public boolean shouldCreateStub(ASTNode node) {
+        // Declarations in blocks are local, JetFileStubBuilder doesn't walk into blocks
+        return PsiTreeUtil.getParentOfType(node.getPsi(), JetBlockExpression.class) == null;
+    }
+
     protected StubPsiFactory getPsiFactory(StubT stub) {
         return getFileStub(stub).getPsiFactory();
     }
@@ -24,4 +24,6 @@ public interface JetStubElementTypes {
 
     JetClassElementType CLASS = new JetClassElementType("CLASS");
     JetFunctionElementType FUNCTION = new JetFunctionElementType("FUN");
+    JetPropertyElementType PROPERTY = new JetPropertyElementType("PROPERTY");
+    JetObjectElementType OBJECT_DECLARATION = new JetObjectElementType("OBJECT_DECLARATION");
 }
@@ -19,6 +19,8 @@ package org.jetbrains.jet.lang.psi.stubs.elements;
 import com.intellij.psi.stubs.IndexSink;
 import org.jetbrains.jet.lang.psi.stubs.PsiJetClassStub;
 import org.jetbrains.jet.lang.psi.stubs.PsiJetFunctionStub;
+import org.jetbrains.jet.lang.psi.stubs.PsiJetObjectStub;
+import org.jetbrains.jet.lang.psi.stubs.PsiJetPropertyStub;
 
 /**
  * @author Nikolay Krasko
@@ -36,8 +38,18 @@ public interface StubIndexService {
         @Override
         public void indexFunction(PsiJetFunctionStub stub, IndexSink sink) {
         }
+
+        @Override
+        public void indexProperty(PsiJetPropertyStub stub, IndexSink sink) {
+        }
+
+        @Override
+        public void indexObject(PsiJetObjectStub stub, IndexSink sink) {
+        }
     };
 
     void indexClass(PsiJetClassStub stub, IndexSink sink);
     void indexFunction(PsiJetFunctionStub stub, IndexSink sink);
+    void indexProperty(PsiJetPropertyStub stub, IndexSink sink);
+    void indexObject(PsiJetObjectStub stub, IndexSink sink);
 }
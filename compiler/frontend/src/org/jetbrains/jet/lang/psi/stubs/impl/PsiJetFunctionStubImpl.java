@@ -33,19 +33,23 @@ public class PsiJetFunctionStubImpl extends StubBase<JetFunction> implements Psi
     private final StringRef nameRef;
     private final boolean isTopLevel;
     private final boolean isExtension;
+    private final StringRef receiverTypeShortNameRef;
     
     public PsiJetFunctionStubImpl(@NotNull IStubElementType elementType, @NotNull StubElement parent,
-                                  @Nullable String name, boolean isTopLevel, boolean isExtension) {
-        this(elementType, parent, StringRef.fromString(name), isTopLevel, isExtension);
+                                  @Nullable String name, boolean isTopLevel, boolean isExtension,
+                                  @Nullable String receiverTypeShortName) {
+        this(elementType, parent, StringRef.fromString(name), isTopLevel, isExtension, StringRef.fromString(receiverTypeShortName));
     }
 
     public PsiJetFunctionStubImpl(@NotNull IStubElementType elementType, @NotNull StubElement parent,
-                                  @Nullable StringRef nameRef, boolean isTopLevel, boolean  isExtension) {
+                                  @Nullable StringRef nameRef, boolean isTopLevel, boolean  isExtension,
+                                  @Nullable StringRef receiverTypeShortNameRef) {
         super(parent, elementType);
 
         this.nameRef = nameRef;
         this.isTopLevel = isTopLevel;
         this.isExtension = isExtension;
+        this.receiverTypeShortNameRef = receiverTypeShortNameRef;
     }
 
     @Override
@@ -63,6 +67,11 @@ public class PsiJetFunctionStubImpl extends StubBase<JetFunction> implements Psi
         return isExtension;
     }
 
+    @Override
+    public String getReceiverTypeShortName() {
+        return StringRef.toString(receiverTypeShortNameRef);
+    }
+
     @NotNull
     @Override
     public String[] getAnnotations() {
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.jet.lang.psi.stubs.impl;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.psi.JetObjectDeclaration;
+import org.jetbrains.jet.lang.psi.stubs.PsiJetObjectStub;
+
+/**
+ * @author agent
+ */
+public class PsiJetObjectStubImpl extends StubBase<JetObjectDeclaration> implements PsiJetObjectStub {
+
+    private final StringRef name;
+    private final StringRef qualifiedName;
+    private final boolean isTopLevel;
+
+    public PsiJetObjectStubImpl(@NotNull IStubElementType type, @NotNull StubElement parent,
+                                @Nullable String name, @Nullable String qualifiedName, boolean isTopLevel) {
+        this(type, parent, StringRef.fromString(name), StringRef.fromString(qualifiedName), isTopLevel);
+    }
+
+    public PsiJetObjectStubImpl(@NotNull IStubElementType type, @NotNull StubElement parent,
+                                @Nullable StringRef name, @Nullable StringRef qualifiedName, boolean isTopLevel) {
+        super(parent, type);
+
+        this.name = name;
+        this.qualifiedName = qualifiedName;
+        this.isTopLevel = isTopLevel;
+    }
+
+    @Override
+    public String getName() {
+        return StringRef.toString(name);
+    }
+
+    @Override
+    public String getQualifiedName() {
+        return StringRef.toString(qualifiedName);
+    }
+
+    @Override
+    public boolean isTopLevel() {
+        return isTopLevel;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.jet.lang.psi.stubs.impl;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.psi.JetProperty;
+import org.jetbrains.jet.lang.psi.stubs.PsiJetPropertyStub;
+
+/**
+ * @author agent
+ */
+public class PsiJetPropertyStubImpl extends StubBase<JetProperty> implements PsiJetPropertyStub {
+
+    private final StringRef nameRef;
+    private final boolean isVar;
+    private final boolean isTopLevel;
+    private final boolean isExtension;
+    private final StringRef receiverTypeShortNameRef;
+
+    public PsiJetPropertyStubImpl(@NotNull IStubElementType elementType, @NotNull StubElement parent,
+                                  @Nullable String name, boolean isVar, boolean isTopLevel, boolean isExtension,
+                                  @Nullable String receiverTypeShortName) {
+        this(elementType, parent, StringRef.fromString(name), isVar, isTopLevel, isExtension, StringRef.fromString(receiverTypeShortName));
+    }
+
+    public PsiJetPropertyStubImpl(@NotNull IStubElementType elementType, @NotNull StubElement parent,
+                                  @Nullable StringRef nameRef, boolean isVar, boolean isTopLevel, boolean isExtension,
+                                  @Nullable StringRef receiverTypeShortNameRef) {
+        super(parent, elementType);
+
+        this.nameRef = nameRef;
+        this.isVar = isVar;
+        this.isTopLevel = isTopLevel;
+        this.isExtension = isExtension;
+        this.receiverTypeShortNameRef = receiverTypeShortNameRef;
+    }
+
+    @Override
+    public String getName() {
+        return StringRef.toString(nameRef);
+    }
+
+    @Override
+    public boolean isVar() {
+        return isVar;
+    }
+
+    @Override
+    public boolean isTopLevel() {
+        return isTopLevel;
+    }
+
+    @Override
+    public boolean isExtension() {
+        return isExtension;
+    }
+
+    @Override
+    public String getReceiverTypeShortName() {
+        return StringRef.toString(receiverTypeShortNameRef);
+    }
+}
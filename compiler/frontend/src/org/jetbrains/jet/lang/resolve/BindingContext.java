@@ -59,6 +59,8 @@ public interface BindingContext {
     WritableSlice<JetExpression, ResolvedCall<FunctionDescriptor>> INDEXED_LVALUE_SET = Slices.createSimpleSlice();
 
     WritableSlice<JetExpression, JetType> AUTOCAST = Slices.createSimpleSlice();
+    /** Receivers of a nullable type that data flow info proves to be not null, e.g. after a '!= null' check */
+    WritableSlice<JetExpression, Boolean> KNOWN_NOT_NULL = Slices.createSimpleSetSlice();
 
     /** A scope where type of expression has been resolved */
     WritableSlice<JetExpression, JetScope> RESOLUTION_SCOPE = Slices.createSimpleSlice();
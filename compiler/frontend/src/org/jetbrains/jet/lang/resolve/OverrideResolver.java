@@ -152,13 +152,18 @@ public class OverrideResolver {
             @NotNull ClassDescriptor current,
             @NotNull DescriptorSink sink) {
         
-        List<CallableMemberDescriptor> fakeOverrides = Lists.newArrayList();
+        if (functionsFromSupertypes.isEmpty()) {
+            return;
+        }
+
+        SignatureBuckets<CallableMemberDescriptor> currentBuckets = SignatureBuckets.<CallableMemberDescriptor>create(functionsFromCurrent);
+        SignatureBuckets<CallableMemberDescriptor> fakeOverrides = new SignatureBuckets<CallableMemberDescriptor>();
 
         for (CallableMemberDescriptor functionFromSupertype : functionsFromSupertypes) {
 
             boolean overrides = false;
             
-            for (CallableMemberDescriptor functionFromCurrent : functionsFromCurrent) {
+            for (CallableMemberDescriptor functionFromCurrent : currentBuckets.getCandidates(functionFromSupertype)) {
                 OverridingUtil.OverrideCompatibilityInfo.ErrorKind overridable = OverridingUtil.isOverridableBy(functionFromSupertype, functionFromCurrent).isOverridable();
                 if (overridable == OverridingUtil.OverrideCompatibilityInfo.ErrorKind.OVERRIDABLE) {
                     functionFromCurrent.addOverriddenDescriptor(functionFromSupertype);
@@ -168,7 +173,7 @@ public class OverrideResolver {
                 }
             }
             
-            for (CallableMemberDescriptor fakeOverride : fakeOverrides) {
+            for (CallableMemberDescriptor fakeOverride : fakeOverrides.getCandidates(functionFromSupertype)) {
                 if (OverridingUtil.isOverridableBy(functionFromSupertype, fakeOverride).isOverridable() == OverridingUtil.OverrideCompatibilityInfo.ErrorKind.OVERRIDABLE) {
                     fakeOverride.addOverriddenDescriptor(functionFromSupertype);
                     overrides = true;
@@ -347,14 +352,18 @@ public class OverrideResolver {
 
         // Group members with "the same" signature
         Multimap<CallableMemberDescriptor, CallableMemberDescriptor> factoredMembers = CommonSuppliers.newLinkedHashSetHashSetMultimap();
+        Set<CallableMemberDescriptor> factored = Sets.newHashSet();
+        SignatureBuckets<CallableMemberDescriptor> buckets = SignatureBuckets.create(filteredMembers);
         for (CallableMemberDescriptor one : filteredMembers) {
-            if (factoredMembers.values().contains(one)) continue;
-            for (CallableMemberDescriptor another : filteredMembers) {
+            if (factored.contains(one)) continue;
+            factoredMembers.put(one, one);
+            factored.add(one);
+            for (CallableMemberDescriptor another : buckets.getCandidates(one)) {
 //                if (one == another) continue;
-                factoredMembers.put(one, one);
                 if (OverridingUtil.isOverridableBy(one, another).isOverridable() == OverridingUtil.OverrideCompatibilityInfo.ErrorKind.OVERRIDABLE
                         || OverridingUtil.isOverridableBy(another, one).isOverridable() == OverridingUtil.OverrideCompatibilityInfo.ErrorKind.OVERRIDABLE) {
                     factoredMembers.put(one, another);
+                    factored.add(another);
                 }
             }
         }
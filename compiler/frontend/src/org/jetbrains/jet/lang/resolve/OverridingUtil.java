@@ -42,27 +42,46 @@ public class OverridingUtil {
     }
 
     public static <D> Set<D> filterOverrides(Set<D> candidateSet, Function<? super D, ? extends CallableDescriptor> transform) {
+        // originals of everything the candidates override, mapped to the candidates that override them
+        Map<CallableDescriptor, Set<CallableDescriptor>> overriders = Maps.newHashMap();
+        for (D otherD : candidateSet) {
+            CallableDescriptor other = transform.fun(otherD);
+            Set<CallableDescriptor> overriddenDescriptors = Sets.newHashSet();
+            getAllOverriddenDescriptors(other.getOriginal(), overriddenDescriptors);
+            for (CallableDescriptor overridden : overriddenDescriptors) {
+                Set<CallableDescriptor> overridersOfOne = overriders.get(overridden.getOriginal());
+                if (overridersOfOne == null) {
+                    overridersOfOne = Sets.newHashSet();
+                    overriders.put(overridden.getOriginal(), overridersOfOne);
+                }
+                overridersOfOne.add(other);
+            }
+        }
+
         Set<D> candidates = Sets.newLinkedHashSet();
+        Map<CallableDescriptor, List<D>> candidatesByOriginal = Maps.newHashMap();
         outerLoop:
         for (D meD : candidateSet) {
             CallableDescriptor me = transform.fun(meD);
-            for (D otherD : candidateSet) {
-                CallableDescriptor other = transform.fun(otherD);
-                if (me == other) continue;
-                if (overrides(other, me)) {
-                    continue outerLoop;
-                }
+            Set<CallableDescriptor> overridersOfMe = overriders.get(me.getOriginal());
+            if (overridersOfMe != null && (overridersOfMe.size() > 1 || !overridersOfMe.contains(me))) {
+                continue;
+            }
+            List<D> withSameOriginal = candidatesByOriginal.get(me.getOriginal());
+            if (withSameOriginal == null) {
+                withSameOriginal = new ArrayList<D>(1);
+                candidatesByOriginal.put(me.getOriginal(), withSameOriginal);
             }
-            for (D otherD : candidates) {
+            for (D otherD : withSameOriginal) {
                 CallableDescriptor other = transform.fun(otherD);
-                if (me.getOriginal() == other.getOriginal()
-                    && isOverridableBy(other, me).isOverridable() == OverrideCompatibilityInfo.ErrorKind.OVERRIDABLE
+                if (isOverridableBy(other, me).isOverridable() == OverrideCompatibilityInfo.ErrorKind.OVERRIDABLE
                     && isOverridableBy(me, other).isOverridable() == OverrideCompatibilityInfo.ErrorKind.OVERRIDABLE) {
                     continue outerLoop;
                 }
             }
 //            System.out.println(me);
             candidates.add(meD);
+            withSameOriginal.add(meD);
         }
 //        Set<D> candidates = Sets.newLinkedHashSet(candidateSet);
 //        for (D descriptor : candidateSet) {
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.descriptors.CallableDescriptor;
+import org.jetbrains.jet.lang.descriptors.ClassDescriptor;
+import org.jetbrains.jet.lang.descriptors.PropertyDescriptor;
+import org.jetbrains.jet.lang.descriptors.ValueParameterDescriptor;
+import org.jetbrains.jet.lang.resolve.scopes.receivers.ReceiverDescriptor;
+import org.jetbrains.jet.lang.types.JetType;
+import org.jetbrains.jet.lang.types.TypeConstructor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the callable members that may override (or conflict with) a given one without comparing it to all the members,
+ * see {@link OverridingUtil#isOverridableBy(CallableDescriptor, CallableDescriptor)}.
+ * <p/>
+ * Members are grouped by kind, name and number of parameters (the receiver included), and then by erased parameter types.
+ * A type parameter may stand for any class here, so members that have a parameter of a type parameter type
+ * are candidates for every member of their group.
+ *
+ * @author agent
+ */
+public class SignatureBuckets<D extends CallableDescriptor> {
+
+    private final Map<Group, GroupBuckets<D>> groups = Maps.newHashMap();
+
+    @NotNull
+    public static <D extends CallableDescriptor> SignatureBuckets<D> create(@NotNull Collection<? extends D> descriptors) {
+        SignatureBuckets<D> buckets = new SignatureBuckets<D>();
+        for (D descriptor : descriptors) {
+            buckets.add(descriptor);
+        }
+        return buckets;
+    }
+
+    public void add(@NotNull D descriptor) {
+        Group group = new Group(descriptor);
+        GroupBuckets<D> groupBuckets = groups.get(group);
+        if (groupBuckets == null) {
+            groupBuckets = new GroupBuckets<D>();
+            groups.put(group, groupBuckets);
+        }
+
+        List<TypeConstructor> erasedParameterTypes = getErasedParameterTypes(descriptor);
+        if (erasedParameterTypes == null) {
+            groupBuckets.withTypeParameters.add(descriptor);
+        }
+        else {
+            List<D> bucket = groupBuckets.byErasedParameterTypes.get(erasedParameterTypes);
+            if (bucket == null) {
+                bucket = Lists.newArrayList();
+                groupBuckets.byErasedParameterTypes.put(erasedParameterTypes, bucket);
+            }
+            bucket.add(descriptor);
+        }
+    }
+
+    /**
+     * @return all the added members that may override the given descriptor or be overridden by it
+     */
+    @NotNull
+    public List<D> getCandidates(@NotNull CallableDescriptor descriptor) {
+        GroupBuckets<D> groupBuckets = groups.get(new Group(descriptor));
+        if (groupBuckets == null) {
+            return Collections.emptyList();
+        }
+
+        List<TypeConstructor> erasedParameterTypes = getErasedParameterTypes(descriptor);
+        if (erasedParameterTypes == null) {
+            List<D> result = Lists.newArrayList();
+            for (List<D> bucket : groupBuckets.byErasedParameterTypes.values()) {
+                result.addAll(bucket);
+            }
+            result.addAll(groupBuckets.withTypeParameters);
+            return result;
+        }
+
+        List<D> bucket = groupBuckets.byErasedParameterTypes.get(erasedParameterTypes);
+        if (bucket == null) {
+            return groupBuckets.withTypeParameters;
+        }
+        if (groupBuckets.withTypeParameters.isEmpty()) {
+            return bucket;
+        }
+        List<D> result = Lists.newArrayList(bucket);
+        result.addAll(groupBuckets.withTypeParameters);
+        return result;
+    }
+
+    /**
+     * @return type constructors of the receiver and value parameter types, or null if some of them is not a class
+     */
+    @Nullable
+    private static List<TypeConstructor> getErasedParameterTypes(@NotNull CallableDescriptor descriptor) {
+        List<TypeConstructor> result = Lists.newArrayList();
+        ReceiverDescriptor receiverParameter = descriptor.getReceiverParameter();
+        if (receiverParameter.exists()) {
+            if (!addErasedType(receiverParameter.getType(), result)) return null;
+        }
+        for (ValueParameterDescriptor valueParameter : descriptor.getValueParameters()) {
+            if (!addErasedType(valueParameter.getType(), result)) return null;
+        }
+        return result;
+    }
+
+    private static boolean addErasedType(@NotNull JetType type, @NotNull List<TypeConstructor> result) {
+        TypeConstructor constructor = type.getConstructor();
+        if (!(constructor.getDeclarationDescriptor() instanceof ClassDescriptor)) {
+            return false;
+        }
+        result.add(constructor);
+        return true;
+    }
+
+    private static class Group {
+        private final boolean property;
+        private final String name;
+        private final int parameterCount;
+
+        private Group(@NotNull CallableDescriptor descriptor) {
+            this.property = descriptor instanceof PropertyDescriptor;
+            this.name = descriptor.getName();
+            this.parameterCount = descriptor.getValueParameters().size() + (descriptor.getReceiverParameter().exists() ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Group group = (Group) o;
+
+            return property == group.property && parameterCount == group.parameterCount && name.equals(group.name);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = property ? 1 : 0;
+            result = 31 * result + name.hashCode();
+            result = 31 * result + parameterCount;
+            return result;
+        }
+    }
+
+    private static class GroupBuckets<D> {
+        private final Map<List<TypeConstructor>, List<D>> byErasedParameterTypes = Maps.newLinkedHashMap();
+        private final List<D> withTypeParameters = Lists.newArrayList();
+    }
+}
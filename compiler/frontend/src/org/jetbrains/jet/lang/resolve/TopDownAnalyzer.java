@@ -22,6 +22,7 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.jet.di.InjectorForTopDownAnalyzerBasic;
+import org.jetbrains.jet.di.InjectorForTopDownAnalyzerForObject;
 import org.jetbrains.jet.lang.ModuleConfiguration;
 import org.jetbrains.jet.lang.cfg.pseudocode.JetControlFlowDataTraceFactory;
 import org.jetbrains.jet.lang.descriptors.*;
@@ -31,6 +32,7 @@ import org.jetbrains.jet.lang.psi.JetObjectDeclaration;
 import org.jetbrains.jet.lang.resolve.scopes.JetScope;
 import org.jetbrains.jet.lang.resolve.scopes.WritableScope;
 import org.jetbrains.jet.lang.resolve.scopes.WritableScopeImpl;
+import org.jetbrains.jet.lang.types.expressions.ExpressionTypingServices;
 import org.jetbrains.jet.lang.types.lang.JetStandardClasses;
 
 import javax.inject.Inject;
@@ -171,6 +173,8 @@ public class TopDownAnalyzer {
         }
         for (WritableScope namespaceScope : context.getNamespaceScopes().values()) {
             namespaceScope.changeLockLevel(WritableScope.LockLevel.READING);
+            // imports are resolved and all the namespaces are filled in by now
+            namespaceScope.indexImports();
         }
     }
 
@@ -202,8 +206,12 @@ public class TopDownAnalyzer {
         doProcess(outerScope, standardLibraryNamespace, toAnalyze);
     }
 
+    /**
+     * Analyzes a local object declaration or an object literal. Only the components bound to a trace and a context
+     * are created for the object, the stateless services of the enclosing analysis are reused.
+     */
     public static void processObject(
-            @NotNull Project project,
+            @NotNull ExpressionTypingServices expressionTypingServices,
             @NotNull final BindingTrace trace,
             @NotNull JetScope outerScope,
             @NotNull final DeclarationDescriptor containingDeclaration,
@@ -214,9 +222,10 @@ public class TopDownAnalyzer {
         TopDownAnalysisParameters topDownAnalysisParameters =
                 new TopDownAnalysisParameters(Predicates.equalTo(object.getContainingFile()), false, true);
 
-        InjectorForTopDownAnalyzerBasic injector = new InjectorForTopDownAnalyzerBasic(
-                project, topDownAnalysisParameters, new ObservableBindingTrace(trace), moduleDescriptor,
-                JetControlFlowDataTraceFactory.EMPTY, ModuleConfiguration.EMPTY);
+        InjectorForTopDownAnalyzerForObject injector = new InjectorForTopDownAnalyzerForObject(
+                topDownAnalysisParameters, new ObservableBindingTrace(trace), moduleDescriptor,
+                JetControlFlowDataTraceFactory.EMPTY, ModuleConfiguration.EMPTY,
+                expressionTypingServices, expressionTypingServices.getDescriptorResolver(), expressionTypingServices.getCallResolver());
 
         injector.getTopDownAnalyzer().doProcess(outerScope, new NamespaceLikeBuilder() {
 
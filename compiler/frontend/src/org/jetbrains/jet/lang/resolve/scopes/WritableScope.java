@@ -73,4 +73,10 @@ public interface WritableScope extends JetScope {
     void importVariableAlias(@NotNull String aliasName, @NotNull VariableDescriptor variableDescriptor);
 
     void clearImports();
+
+    /**
+     * Must be called only when neither the imports nor the imported scopes change anymore:
+     * lookups in the imported scopes are memoized from now on
+     */
+    void indexImports();
 }
@@ -16,6 +16,7 @@
 
 package org.jetbrains.jet.lang.resolve.scopes;
 
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -25,6 +26,7 @@ import org.jetbrains.jet.lang.resolve.scopes.receivers.ReceiverDescriptor;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -37,6 +39,8 @@ public abstract class WritableScopeWithImports extends JetScopeAdapter implement
     @Nullable
     private List<JetScope> imports;
     private WritableScope currentIndividualImportScope;
+    @Nullable
+    private ImportIndex importIndex;
     protected final RedeclarationHandler redeclarationHandler;
 
     public WritableScopeWithImports(@NotNull JetScope scope, @NotNull RedeclarationHandler redeclarationHandler) {
@@ -100,6 +104,16 @@ public abstract class WritableScopeWithImports extends JetScopeAdapter implement
 
         getImports().add(0, imported);
         currentIndividualImportScope = null;
+        importIndex = null;
+    }
+
+    @Override
+    public void indexImports() {
+        checkMayNotWrite();
+
+        if (importIndex == null) {
+            importIndex = new ImportIndex();
+        }
     }
 
     @Override
@@ -123,6 +137,19 @@ public abstract class WritableScopeWithImports extends JetScopeAdapter implement
     public Set<VariableDescriptor> getProperties(@NotNull String name) {
         checkMayRead();
 
+        if (importIndex != null) {
+            Set<VariableDescriptor> properties = importIndex.properties.get(name);
+            if (properties == null) {
+                properties = Collections.unmodifiableSet(getImportedProperties(name));
+                importIndex.properties.put(name, properties);
+            }
+            return properties;
+        }
+        return getImportedProperties(name);
+    }
+
+    @NotNull
+    private Set<VariableDescriptor> getImportedProperties(@NotNull String name) {
         Set<VariableDescriptor> properties = Sets.newLinkedHashSet();
         for (JetScope imported : getImports()) {
             properties.addAll(imported.getProperties(name));
@@ -134,6 +161,19 @@ public abstract class WritableScopeWithImports extends JetScopeAdapter implement
     public VariableDescriptor getLocalVariable(@NotNull String name) {
         checkMayRead();
 
+        if (importIndex != null) {
+            if (importIndex.localVariables.containsKey(name)) {
+                return importIndex.localVariables.get(name);
+            }
+            VariableDescriptor variable = getImportedLocalVariable(name);
+            importIndex.localVariables.put(name, variable);
+            return variable;
+        }
+        return getImportedLocalVariable(name);
+    }
+
+    @Nullable
+    private VariableDescriptor getImportedLocalVariable(@NotNull String name) {
         // Meaningful lookup goes here
         for (JetScope imported : getImports()) {
             VariableDescriptor importedDescriptor = imported.getLocalVariable(name);
@@ -152,6 +192,19 @@ public abstract class WritableScopeWithImports extends JetScopeAdapter implement
         if (getImports().isEmpty()) {
             return Collections.emptySet();
         }
+        if (importIndex != null) {
+            Set<FunctionDescriptor> functions = importIndex.functions.get(name);
+            if (functions == null) {
+                functions = Collections.unmodifiableSet(getImportedFunctions(name));
+                importIndex.functions.put(name, functions);
+            }
+            return functions;
+        }
+        return getImportedFunctions(name);
+    }
+
+    @NotNull
+    private Set<FunctionDescriptor> getImportedFunctions(@NotNull String name) {
         Set<FunctionDescriptor> result = Sets.newLinkedHashSet();
         for (JetScope imported : getImports()) {
             result.addAll(imported.getFunctions(name));
@@ -163,6 +216,19 @@ public abstract class WritableScopeWithImports extends JetScopeAdapter implement
     public ClassifierDescriptor getClassifier(@NotNull String name) {
         checkMayRead();
 
+        if (importIndex != null) {
+            if (importIndex.classifiers.containsKey(name)) {
+                return importIndex.classifiers.get(name);
+            }
+            ClassifierDescriptor classifier = getImportedClassifier(name);
+            importIndex.classifiers.put(name, classifier);
+            return classifier;
+        }
+        return getImportedClassifier(name);
+    }
+
+    @Nullable
+    private ClassifierDescriptor getImportedClassifier(@NotNull String name) {
         for (JetScope imported : getImports()) {
             ClassifierDescriptor importedClassifier = imported.getClassifier(name);
             if (importedClassifier != null) {
@@ -176,6 +242,19 @@ public abstract class WritableScopeWithImports extends JetScopeAdapter implement
     public ClassDescriptor getObjectDescriptor(@NotNull String name) {
         checkMayRead();
 
+        if (importIndex != null) {
+            if (importIndex.objects.containsKey(name)) {
+                return importIndex.objects.get(name);
+            }
+            ClassDescriptor objectDescriptor = getImportedObjectDescriptor(name);
+            importIndex.objects.put(name, objectDescriptor);
+            return objectDescriptor;
+        }
+        return getImportedObjectDescriptor(name);
+    }
+
+    @Nullable
+    private ClassDescriptor getImportedObjectDescriptor(@NotNull String name) {
         for (JetScope imported : getImports()) {
             ClassDescriptor objectDescriptor = imported.getObjectDescriptor(name);
             if (objectDescriptor != null) {
@@ -189,6 +268,19 @@ public abstract class WritableScopeWithImports extends JetScopeAdapter implement
     public NamespaceDescriptor getNamespace(@NotNull String name) {
         checkMayRead();
 
+        if (importIndex != null) {
+            if (importIndex.namespaces.containsKey(name)) {
+                return importIndex.namespaces.get(name);
+            }
+            NamespaceDescriptor namespace = getImportedNamespace(name);
+            importIndex.namespaces.put(name, namespace);
+            return namespace;
+        }
+        return getImportedNamespace(name);
+    }
+
+    @Nullable
+    private NamespaceDescriptor getImportedNamespace(@NotNull String name) {
         for (JetScope imported : getImports()) {
             NamespaceDescriptor importedDescriptor = imported.getNamespace(name);
             if (importedDescriptor != null) {
@@ -240,6 +332,7 @@ public abstract class WritableScopeWithImports extends JetScopeAdapter implement
     @Override
     public void clearImports() {
         currentIndividualImportScope = null;
+        importIndex = null;
         getImports().clear();
     }
 
@@ -248,4 +341,17 @@ public abstract class WritableScopeWithImports extends JetScopeAdapter implement
         return getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(this)) + " " + debugName + " for " + getContainingDeclaration();
     }
 
+    /**
+     * Lookups in the imported scopes by simple name, filled in on demand.
+     * A name that is not found is stored with a null value.
+     */
+    private static class ImportIndex {
+        private final Map<String, Set<FunctionDescriptor>> functions = Maps.newHashMap();
+        private final Map<String, Set<VariableDescriptor>> properties = Maps.newHashMap();
+        private final Map<String, VariableDescriptor> localVariables = Maps.newHashMap();
+        private final Map<String, ClassifierDescriptor> classifiers = Maps.newHashMap();
+        private final Map<String, ClassDescriptor> objects = Maps.newHashMap();
+        private final Map<String, NamespaceDescriptor> namespaces = Maps.newHashMap();
+    }
+
 }
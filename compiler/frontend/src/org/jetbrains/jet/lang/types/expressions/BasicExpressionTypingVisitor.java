@@ -33,6 +33,7 @@ import org.jetbrains.jet.lang.resolve.calls.CallMaker;
 import org.jetbrains.jet.lang.resolve.calls.OverloadResolutionResults;
 import org.jetbrains.jet.lang.resolve.calls.OverloadResolutionResultsUtil;
 import org.jetbrains.jet.lang.resolve.calls.autocasts.DataFlowInfo;
+import org.jetbrains.jet.lang.resolve.calls.autocasts.DataFlowValue;
 import org.jetbrains.jet.lang.resolve.calls.autocasts.DataFlowValueFactory;
 import org.jetbrains.jet.lang.resolve.constants.*;
 import org.jetbrains.jet.lang.resolve.constants.StringValue;
@@ -538,6 +539,9 @@ public class BasicExpressionTypingVisitor extends ExpressionTypingVisitor {
         if (selectorExpression instanceof JetSimpleNameExpression) {
             propagateConstantValues(expression, context, (JetSimpleNameExpression) selectorExpression);
         }
+        if (receiverType.isNullable()) {
+            recordKnownNotNull(receiverExpression, receiverType, context);
+        }
 
         JetType selectorReturnType = getSelectorReturnType(new ExpressionReceiver(receiverExpression, receiverType), expression.getOperationTokenNode(), selectorExpression, context);
 
@@ -558,6 +562,23 @@ public class BasicExpressionTypingVisitor extends ExpressionTypingVisitor {
         return DataFlowUtils.checkType(result, expression, context);
     }
 
+    /**
+     * Lets codegen skip null checks on a receiver (safe calls, sure()) which is nullable by type but not by data flow.
+     * Only local vals and parameters are trusted: a data flow value of a property does not depend on its receiver,
+     * so after "a.next != null" the value of "b.next" would be taken for not null as well.
+     */
+    private static void recordKnownNotNull(JetExpression receiverExpression, JetType receiverType, ExpressionTypingContext context) {
+        if (!(receiverExpression instanceof JetSimpleNameExpression)) return;
+        DeclarationDescriptor descriptor = context.trace.getBindingContext().get(BindingContext.REFERENCE_TARGET, (JetSimpleNameExpression) receiverExpression);
+        if (!(descriptor instanceof LocalVariableDescriptor || descriptor instanceof ValueParameterDescriptor)) return;
+        if (((VariableDescriptor) descriptor).isVar()) return;
+
+        DataFlowValue dataFlowValue = DataFlowValueFactory.INSTANCE.createDataFlowValue(receiverExpression, receiverType, context.trace.getBindingContext());
+        if (!context.dataFlowInfo.getNullability(dataFlowValue).canBeNull()) {
+            context.trace.record(BindingContext.KNOWN_NOT_NULL, receiverExpression);
+        }
+    }
+
     private void propagateConstantValues(JetQualifiedExpression expression, ExpressionTypingContext context, JetSimpleNameExpression selectorExpression) {
         JetExpression receiverExpression = expression.getReceiverExpression();
         CompileTimeConstant<?> receiverValue = context.trace.getBindingContext().get(BindingContext.COMPILE_TIME_VALUE, receiverExpression);
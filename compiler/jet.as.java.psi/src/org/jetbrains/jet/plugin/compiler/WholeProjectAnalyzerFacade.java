@@ -24,10 +24,16 @@ import com.intellij.openapi.module.ModuleUtil;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ContentIterator;
 import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.util.Function;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.jet.asJava.JetFileUtil;
@@ -37,9 +43,7 @@ import org.jetbrains.jet.lang.resolve.java.AnalyzeExhaust;
 import org.jetbrains.jet.lang.resolve.java.AnalyzerFacadeForJVM;
 import org.jetbrains.jet.plugin.JetFileType;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
 /**
  * @author abreslav
@@ -49,6 +53,8 @@ public final class WholeProjectAnalyzerFacade {
     /** Forbid creating */
     private WholeProjectAnalyzerFacade() {}
 
+    private static final Key<CachedValue<Collection<JetFile>>> MODULE_FILES = Key.create("MODULE_FILES");
+
     /**
      * Will collect all root-namespaces in all kotlin files in the project.
      */
@@ -56,31 +62,14 @@ public final class WholeProjectAnalyzerFacade {
 
         @Override
         public Collection<JetFile> fun(final JetFile rootFile) {
-            final Project project = rootFile.getProject();
             final Set<JetFile> files = Sets.newLinkedHashSet();
 
             Module rootModule = ModuleUtil.findModuleForPsiElement(rootFile);
             if (rootModule != null) {
-                Set<Module> allModules = new HashSet<Module>();
-                ModuleUtil.getDependencies(rootModule, allModules);
-
-                for (Module module : allModules) {
-                    ModuleRootManager.getInstance(module).getFileIndex().iterateContent(new ContentIterator() {
-                        @Override
-                        public boolean processFile(VirtualFile file) {
-                            if (file.isDirectory()) return true;
-
-                            final FileType fileType = FileTypeManager.getInstance().getFileTypeByFile(file);
-                            if (fileType != JetFileType.INSTANCE) return true;
-                            PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
-                            if (psiFile instanceof JetFile) {
-                                if (rootFile.getOriginalFile() != psiFile) {
-                                    files.add((JetFile) psiFile);
-                                }
-                            }
-                            return true;
-                        }
-                    });
+                for (JetFile file : getFilesWithDependencies(rootModule)) {
+                    if (rootFile.getOriginalFile() != file && file.isValid()) {
+                        files.add(file);
+                    }
                 }
             }
 
@@ -89,6 +78,56 @@ public final class WholeProjectAnalyzerFacade {
         }
     };
 
+    /**
+     * Kotlin files of the module and of all the modules it depends on. The list is kept until a file is added, removed
+     * or changed outside of code blocks, or the project roots change, so it is not rebuilt for every analysis.
+     */
+    @NotNull
+    private static Collection<JetFile> getFilesWithDependencies(@NotNull final Module rootModule) {
+        CachedValue<Collection<JetFile>> cachedFiles = rootModule.getUserData(MODULE_FILES);
+        if (cachedFiles == null) {
+            final Project project = rootModule.getProject();
+            cachedFiles = CachedValuesManager.getManager(project).createCachedValue(new CachedValueProvider<Collection<JetFile>>() {
+                @Override
+                public Result<Collection<JetFile>> compute() {
+                    return new Result<Collection<JetFile>>(
+                            collectFilesWithDependencies(rootModule),
+                            PsiModificationTracker.OUT_OF_CODE_BLOCK_MODIFICATION_COUNT, ProjectRootManager.getInstance(project));
+                }
+            }, false);
+            rootModule.putUserData(MODULE_FILES, cachedFiles);
+        }
+        return cachedFiles.getValue();
+    }
+
+    @NotNull
+    private static Collection<JetFile> collectFilesWithDependencies(@NotNull Module rootModule) {
+        final PsiManager psiManager = PsiManager.getInstance(rootModule.getProject());
+        final List<JetFile> files = new ArrayList<JetFile>();
+
+        Set<Module> allModules = new HashSet<Module>();
+        ModuleUtil.getDependencies(rootModule, allModules);
+
+        for (Module module : allModules) {
+            ModuleRootManager.getInstance(module).getFileIndex().iterateContent(new ContentIterator() {
+                @Override
+                public boolean processFile(VirtualFile file) {
+                    if (file.isDirectory()) return true;
+
+                    final FileType fileType = FileTypeManager.getInstance().getFileTypeByFile(file);
+                    if (fileType != JetFileType.INSTANCE) return true;
+                    PsiFile psiFile = psiManager.findFile(file);
+                    if (psiFile instanceof JetFile) {
+                        files.add((JetFile) psiFile);
+                    }
+                    return true;
+                }
+            });
+        }
+
+        return files;
+    }
+
     @NotNull
     public static AnalyzeExhaust analyzeProjectWithCacheOnAFile(@NotNull JetFile file) {
         return AnalyzerFacadeForJVM.analyzeFileWithCache(file, WHOLE_PROJECT_DECLARATION_PROVIDER);
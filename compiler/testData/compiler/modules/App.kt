@@ -0,0 +1,7 @@
+package app
+
+import lib.answer
+
+fun main(args: Array<String>) {
+    print(answer())
+}
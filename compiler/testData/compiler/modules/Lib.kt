@@ -0,0 +1,3 @@
+package lib
+
+fun answer() : Int = 42
@@ -0,0 +1,3 @@
+package errors
+
+fun fourth() = 4
@@ -0,0 +1,3 @@
+package errors
+
+fun first() : Int = (1 + 
@@ -0,0 +1,7 @@
+package errors
+
+fun second() {
+    val x = foo(1, 2
+}
+
+fun foo(a : Int, b : Int) = a + b
@@ -0,0 +1,4 @@
+package errors
+
+class Third( {
+}
@@ -53,4 +53,17 @@ public class ClosuresGenTest extends CodegenTestCase {
     public void testEnclosingThis() throws Exception {
         blackBoxFile("classes/enclosingThis.jet");
     }
+
+    public void testVarWrittenBeforeCapture() throws Exception {
+        blackBoxFile("classes/varWrittenBeforeCapture.jet");
+        assertFalse(generateToText().contains("SharedVar"));
+    }
+
+    public void testVarWrittenAfterCapture() throws Exception {
+        blackBoxFile("classes/varWrittenAfterCapture.jet");
+    }
+
+    public void testVarModifiedInLocalObject() throws Exception {
+        blackBoxFile("classes/varModifiedInLocalObject.jet");
+    }
 }
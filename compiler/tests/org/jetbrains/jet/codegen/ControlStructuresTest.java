@@ -273,6 +273,18 @@ public class ControlStructuresTest extends CodegenTestCase {
 //        System.out.println(generateToText());
     }
 
+    public void testSynchronizedInline() throws Exception {
+        createEnvironmentWithFullJdk();
+        blackBoxFile("controlStructures/syncInline.jet");
+        assertFalse(generateToText().contains("stupidSync"));
+    }
+
+    public void testSynchronizedInlineExits() throws Exception {
+        createEnvironmentWithFullJdk();
+        blackBoxFile("controlStructures/syncInlineExits.jet");
+        assertFalse(generateToText().contains("stupidSync"));
+    }
+
     public void testIfInWhile() throws Exception {
         createEnvironmentWithFullJdk();
         blackBoxFile("controlStructures/ifInWhile.jet");
@@ -119,7 +119,7 @@ public class ForTestCompileStdlib {
         return r;
     }
     
-    private static void compileJavaPartOfStdlib(File destdir) throws IOException {
+    static void compileJavaPartOfStdlib(File destdir) throws IOException {
         JavaCompiler javaCompiler = ToolProvider.getSystemJavaCompiler();
 
         StandardJavaFileManager fileManager = javaCompiler.getStandardFileManager(null, Locale.ENGLISH, Charset.forName("utf-8"));
@@ -53,6 +53,12 @@ public class FunctionGenTest extends CodegenTestCase {
 //        System.out.println(generateToText());
     }
 
+    public void testDefaultArgs6() throws Exception {
+        blackBoxFile("functions/defaultargs6.jet");
+        // constant defaults are pushed at the call site instead of calling constants$default
+        assertFalse(generateToText().contains(".constants$default"));
+    }
+
     public void testNoThisNoClosure() throws Exception {
         blackBoxFile("functions/nothisnoclosure.jet");
 //        System.out.println(generateToText());
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.codegen;
+
+import com.intellij.openapi.util.io.FileUtil;
+import junit.framework.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.JetTestUtils;
+import org.jetbrains.jet.compiler.CompileEnvironment;
+import org.jetbrains.jet.compiler.CompileSession;
+import org.jetbrains.jet.compiler.JetCoreEnvironment;
+import org.jetbrains.jet.compiler.MessageRenderer;
+import org.jetbrains.jet.lang.diagnostics.Diagnostic;
+import org.jetbrains.jet.lang.resolve.BindingContext;
+import org.jetbrains.jet.lang.resolve.java.AnalyzeExhaust;
+import org.jetbrains.jet.util.slicedmap.ReadOnlySlice;
+import org.jetbrains.jet.util.slicedmap.WritableSlice;
+import org.jetbrains.jet.utils.Progress;
+
+import java.io.File;
+import java.util.Collection;
+
+/**
+ * Compiles the Kotlin part of the standard library with and without {@link BindingContext#KNOWN_NOT_NULL}
+ * and reports how much bytecode the null checks on receivers proven not null take.
+ *
+ * @author agent
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr")
+public class KnownNotNullStdlibTest extends TestCase {
+    public void testStdlibSize() throws Exception {
+        File runtimeClasses = JetTestUtils.tmpDir("knownNotNullRuntime");
+        CompileEnvironment environment = new CompileEnvironment();
+        try {
+            ForTestCompileStdlib.compileJavaPartOfStdlib(runtimeClasses);
+            environment.addToClasspath(runtimeClasses);
+            JetCoreEnvironment coreEnvironment = environment.getMyEnvironment();
+
+            CompileSession session = new CompileSession(coreEnvironment, MessageRenderer.PLAIN, System.err, false);
+            session.addSources("./libraries/stdlib/src");
+            assertTrue(session.analyze());
+
+            AnalyzeExhaust analyzeExhaust = session.getMyBindingContext();
+            AnalyzeExhaust withoutKnownNotNull = new AnalyzeExhaust(new WithoutKnownNotNull(analyzeExhaust.getBindingContext()),
+                                                                    analyzeExhaust.getStandardLibrary());
+
+            long optimized = generatedBytes(coreEnvironment, session, analyzeExhaust);
+            long unoptimized = generatedBytes(coreEnvironment, session, withoutKnownNotNull);
+
+            System.out.println("stdlib: " + optimized + " bytes of classes, " + unoptimized + " bytes without KNOWN_NOT_NULL");
+            assertTrue(optimized <= unoptimized);
+        }
+        finally {
+            environment.dispose();
+            FileUtil.delete(runtimeClasses);
+        }
+    }
+
+    private static long generatedBytes(@NotNull JetCoreEnvironment coreEnvironment, @NotNull CompileSession session, @NotNull AnalyzeExhaust analyzeExhaust) {
+        GenerationState state = new GenerationState(coreEnvironment.getProject(), ClassBuilderFactories.binaries(false), Progress.DEAF);
+        state.compileCorrectFiles(analyzeExhaust, session.getSourceFileNamespaces(), CompilationErrorHandler.THROW_EXCEPTION, true);
+        ClassFileFactory factory = state.getFactory();
+        long result = 0;
+        for (String file : factory.files()) {
+            result += factory.asBytes(file).length;
+        }
+        return result;
+    }
+
+    private static class WithoutKnownNotNull implements BindingContext {
+        private final BindingContext delegate;
+
+        private WithoutKnownNotNull(@NotNull BindingContext delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Collection<Diagnostic> getDiagnostics() {
+            return delegate.getDiagnostics();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <K, V> V get(ReadOnlySlice<K, V> slice, K key) {
+            if (slice == KNOWN_NOT_NULL) {
+                return (V) Boolean.FALSE;
+            }
+            return delegate.get(slice, key);
+        }
+
+        @NotNull
+        @Override
+        public <K, V> Collection<K> getKeys(WritableSlice<K, V> slice) {
+            return delegate.getKeys(slice);
+        }
+    }
+}
@@ -449,6 +449,13 @@ public class NamespaceGenTest extends CodegenTestCase {
         assertFalse(result.contains(11));
     }
 
+    public void testIntRangeToArray() throws Exception {
+        loadText("fun foo() = (-(1..4)).toArray()");
+        final Method main = generateFunction();
+        int[] result = (int[]) main.invoke(null);
+        assertTrue(Arrays.equals(new int[] {4, 3, 2, 1}, result));
+    }
+
     public void testSubstituteJavaMethodTypeParameters() throws Exception {
         loadText("import java.util.*; fun foo(l: ArrayList<Int>) { l.add(10) }");
         final Method main = generateFunction();
@@ -16,6 +16,8 @@
 
 package org.jetbrains.jet.codegen;
 
+import com.intellij.openapi.util.text.StringUtil;
+
 public class SafeRefTest extends CodegenTestCase {
     public void test247 () throws Exception {
         blackBoxFile("regressions/kt247.jet");
@@ -32,4 +34,33 @@ public class SafeRefTest extends CodegenTestCase {
     public void test1572 () throws Exception {
         blackBoxFile("regressions/kt1572.jet");
     }
+
+    public void testKnownNotNull() throws Exception {
+        blackBoxFile("knownNotNull.jet");
+        assertFalse(generateToText().contains("throwNpe"));
+    }
+
+    public void testKnownNotNullAliasing() throws Exception {
+        // the receivers are properties of other objects than the checked ones, so their null tests must stay
+        blackBoxFile("knownNotNullAliasing.jet");
+    }
+
+    public void testKnownNotNullBytecode() throws Exception {
+        // same code, but only in the first function data flow proves the receiver of ?. not null
+        loadText("fun f(s : String?, t : String?) : String? = if (s != null) s?.substring(0, 1) else null");
+        String proven = generateToText();
+        loadText("fun f(s : String?, t : String?) : String? = if (t != null) s?.substring(0, 1) else null");
+        String unproven = generateToText();
+
+        assertEquals(countNullTests(unproven) - 1, countNullTests(proven));
+        assertTrue(countLines(proven) < countLines(unproven));
+    }
+
+    private static int countNullTests(String text) {
+        return StringUtil.getOccurrenceCount(text, "IFNULL") + StringUtil.getOccurrenceCount(text, "IFNONNULL");
+    }
+
+    private static int countLines(String text) {
+        return StringUtil.getOccurrenceCount(text, "\n");
+    }
 }
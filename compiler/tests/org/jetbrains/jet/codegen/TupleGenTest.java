@@ -16,9 +16,47 @@
 
 package org.jetbrains.jet.codegen;
 
+import jet.DoubleTuple2;
+import jet.IntTuple2;
+import jet.LongTuple2;
+import jet.Tuple2;
+
+import java.lang.reflect.Method;
+
 public class TupleGenTest extends CodegenTestCase {
     public void testBasic() {
         blackBoxFile("/tuples/basic.jet");
 //        System.out.println(generateToText());
     }
+
+    public void testPrimitivePairs() {
+        blackBoxFile("/tuples/primitivePairs.jet");
+        final String text = generateToText();
+        assertTrue(text.contains("jet/IntTuple2"));
+        assertTrue(text.contains("get_1Int"));
+    }
+
+    public void testPrimitivePairComponents() throws Exception {
+        loadText("fun ints() = #(1, 2)");
+        Method ints = generateFunction("ints");
+        Tuple2 generated = (Tuple2) ints.invoke(null);
+        assertInstanceOf(generated, IntTuple2.class);
+        // nothing is boxed when the pair is created
+        assertNull(generated._1);
+        assertNull(generated._2);
+        assertEquals(1, generated.get_1());
+        assertEquals(2, generated.get_2());
+        assertEquals(new Tuple2<Integer, Integer>(1, 2), generated);
+        assertEquals(new Tuple2<Integer, Integer>(1, 2).hashCode(), generated.hashCode());
+
+        assertEquals(3L, new LongTuple2(3L, 4L).get_1());
+        assertEquals(4L, new LongTuple2(3L, 4L).get_2());
+        assertEquals(0.5, new DoubleTuple2(0.5, 1.5).get_1());
+        assertEquals(1.5, new DoubleTuple2(0.5, 1.5).get_2());
+    }
+
+    public void testWhenOnTupleLiteral() {
+        blackBoxFile("/tuples/whenOnTupleLiteral.jet");
+        assertFalse(generateToText().contains("jet/Tuple2"));
+    }
 }
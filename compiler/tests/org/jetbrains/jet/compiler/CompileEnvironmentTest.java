@@ -23,9 +23,11 @@ import org.jetbrains.jet.codegen.ForTestCompileStdlib;
 import org.jetbrains.jet.parsing.JetParsingTest;
 import org.junit.Assert;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.jar.JarEntry;
@@ -96,6 +98,87 @@ public class CompileEnvironmentTest extends TestCase {
         }
     }
 
+    public void testModuleOnClasspathOfNextModule() throws IOException {
+        File tempDir = FileUtil.createTempDirectory("compilerTest", "compilerTest");
+        try {
+            File testDataDir = new File(JetParsingTest.getTestDataDir() + "/compiler/modules");
+            FileUtil.copy(new File(testDataDir, "Lib.kt"), new File(tempDir, "Lib.kt"));
+            FileUtil.copy(new File(testDataDir, "App.kt"), new File(tempDir, "App.kt"));
+
+            // Module outputs are written next to the script, the classpath roots are resolved against the working directory
+            File libJar = new File(tempDir, "lib.jar");
+            File script = new File(tempDir, "Modules.kts");
+            FileUtil.writeToFile(script, "import kotlin.modules.*\n\n" +
+                                         "fun project() {\n" +
+                                         "    module(\"lib\") {\n" +
+                                         "        sources += \"Lib.kt\"\n" +
+                                         "    }\n" +
+                                         "    module(\"app\") {\n" +
+                                         "        sources += \"App.kt\"\n" +
+                                         "        classpath += \"" + FileUtil.toSystemIndependentName(libJar.getAbsolutePath()) + "\"\n" +
+                                         "    }\n" +
+                                         "}\n");
+
+            File stdlib = ForTestCompileStdlib.stdlibJarForTests();
+            KotlinCompiler.ExitCode exitCode = new KotlinCompiler().exec("-module", script.getAbsolutePath(),
+                                                                         "-stdlib", stdlib.getAbsolutePath());
+            Assert.assertEquals(KotlinCompiler.ExitCode.OK, exitCode);
+            assertTrue(listEntries(libJar).contains("lib/namespace.class"));
+            assertTrue(listEntries(new File(tempDir, "app.jar")).contains("app/namespace.class"));
+        }
+        finally {
+            FileUtil.delete(tempDir);
+        }
+    }
+
+    public void testSyntaxErrorsInSeveralFiles() throws IOException {
+        File tempDir = FileUtil.createTempDirectory("compilerTest", "compilerTest");
+        try {
+            File stdlib = ForTestCompileStdlib.stdlibJarForTests();
+            String sources = JetParsingTest.getTestDataDir() + "/compiler/syntaxErrors";
+
+            // The files are parsed in parallel, the report must not depend on which of them is parsed first
+            String report = null;
+            for (int i = 0; i < 3; i++) {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                KotlinCompiler.ExitCode exitCode = new KotlinCompiler().exec(new PrintStream(output),
+                                                                             "-src", sources,
+                                                                             "-output", new File(tempDir, "out" + i).getAbsolutePath(),
+                                                                             "-stdlib", stdlib.getAbsolutePath());
+                assertEquals(KotlinCompiler.ExitCode.COMPILATION_ERROR, exitCode);
+                String text = output.toString();
+                if (report == null) {
+                    report = text;
+                }
+                assertEquals(report, text);
+            }
+
+            for (String file : new String[] {"First.kt", "Second.kt", "Third.kt"}) {
+                assertTrue("No syntax error reported for " + file + ":\n" + report, report.contains(file));
+            }
+            assertFalse(report, report.contains("Fine.kt"));
+        }
+        finally {
+            FileUtil.delete(tempDir);
+        }
+    }
+
+    private static List<String> listEntries(File jar) throws IOException {
+        FileInputStream fileInputStream = new FileInputStream(jar);
+        try {
+            JarInputStream is = new JarInputStream(fileInputStream);
+            try {
+                return listEntries(is);
+            }
+            finally {
+                is.close();
+            }
+        }
+        finally {
+            fileInputStream.close();
+        }
+    }
+
     private static List<String> listEntries(JarInputStream is) throws IOException {
         List<String> entries = new ArrayList<String>();
         while (true) {
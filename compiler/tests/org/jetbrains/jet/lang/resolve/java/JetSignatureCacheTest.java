@@ -0,0 +1,177 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.lang.resolve.java;
+
+import jet.typeinfo.TypeInfoVariance;
+import org.jetbrains.jet.rt.signature.JetSignatureReader;
+import org.jetbrains.jet.rt.signature.JetSignatureVariance;
+import org.jetbrains.jet.rt.signature.JetSignatureVisitor;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class JetSignatureCacheTest {
+
+    private static final String METHOD = "<erased in T::Ljava/lang/Comparable<TT;>;out R:?Ljava/lang/Object;>(?[ITT;Ljet/Tuple2<+TR;*>;)MLjava/util/List<-TT;>;";
+    private static final String CLASS = "<T:Ljava/lang/Object;>Ljava/lang/Object;Ljava/lang/Iterable<TT;>;";
+    private static final String TYPE = "?Ljava/util/Map$Entry<Ljava/lang/String;[?I>;";
+
+    @Test
+    public void accept() {
+        JetSignatureCache cache = new JetSignatureCache();
+        for (String signature : new String[] { METHOD, CLASS }) {
+            LoggingVisitor expected = new LoggingVisitor();
+            new JetSignatureReader(signature).accept(expected);
+            for (int i = 0; i < 2; i++) {
+                LoggingVisitor actual = new LoggingVisitor();
+                cache.accept(signature, actual);
+                Assert.assertEquals(expected.toString(), actual.toString());
+            }
+        }
+    }
+
+    @Test
+    public void acceptFormalTypeParametersOnly() {
+        String signature = "<erased in T::Ljava/lang/Comparable<TT;>;out R:?Ljava/lang/Object;>";
+        LoggingVisitor expected = new LoggingVisitor();
+        new JetSignatureReader(signature).acceptFormalTypeParametersOnly(expected);
+        JetSignatureCache cache = new JetSignatureCache();
+        for (int i = 0; i < 2; i++) {
+            LoggingVisitor actual = new LoggingVisitor();
+            cache.acceptFormalTypeParametersOnly(signature, actual);
+            Assert.assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    public void acceptType() {
+        LoggingVisitor expected = new LoggingVisitor();
+        new JetSignatureReader(TYPE).acceptType(expected);
+        JetSignatureCache cache = new JetSignatureCache();
+        for (int i = 0; i < 2; i++) {
+            LoggingVisitor actual = new LoggingVisitor();
+            cache.acceptType(TYPE, actual);
+            Assert.assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void emptyTypeParameterName() {
+        new JetSignatureCache().acceptFormalTypeParametersOnly("<in :Ljava/lang/Object;>", new LoggingVisitor());
+    }
+
+    private static class LoggingVisitor implements JetSignatureVisitor {
+        private final StringBuilder log = new StringBuilder();
+
+        private JetSignatureVisitor log(String call) {
+            log.append(call).append('\n');
+            return this;
+        }
+
+        @Override
+        public JetSignatureVisitor visitFormalTypeParameter(String name, TypeInfoVariance variance, boolean reified) {
+            return log("formalTypeParameter " + name + " " + variance + " " + reified);
+        }
+
+        @Override
+        public void visitFormalTypeParameterEnd() {
+            log("formalTypeParameterEnd");
+        }
+
+        @Override
+        public JetSignatureVisitor visitClassBound() {
+            return log("classBound");
+        }
+
+        @Override
+        public JetSignatureVisitor visitInterfaceBound() {
+            return log("interfaceBound");
+        }
+
+        @Override
+        public JetSignatureVisitor visitSuperclass() {
+            return log("superclass");
+        }
+
+        @Override
+        public JetSignatureVisitor visitInterface() {
+            return log("interface");
+        }
+
+        @Override
+        public JetSignatureVisitor visitParameterType() {
+            return log("parameterType");
+        }
+
+        @Override
+        public JetSignatureVisitor visitReturnType() {
+            return log("returnType");
+        }
+
+        @Override
+        public JetSignatureVisitor visitExceptionType() {
+            return log("exceptionType");
+        }
+
+        @Override
+        public void visitBaseType(char descriptor, boolean nullable) {
+            log("baseType " + descriptor + " " + nullable);
+        }
+
+        @Override
+        public void visitTypeVariable(String name, boolean nullable) {
+            log("typeVariable " + name + " " + nullable);
+        }
+
+        @Override
+        public JetSignatureVisitor visitArrayType(boolean nullable) {
+            return log("arrayType " + nullable);
+        }
+
+        @Override
+        public void visitClassType(String name, boolean nullable, boolean forceReal) {
+            log("classType " + name + " " + nullable + " " + forceReal);
+        }
+
+        @Override
+        public void visitInnerClassType(String name, boolean nullable) {
+            log("innerClassType " + name + " " + nullable);
+        }
+
+        @Override
+        public void visitTypeArgument() {
+            log("typeArgument *");
+        }
+
+        @Override
+        public JetSignatureVisitor visitTypeArgument(JetSignatureVariance wildcard) {
+            return log("typeArgument " + wildcard);
+        }
+
+        @Override
+        public void visitEnd() {
+            log("end");
+        }
+
+        @Override
+        public String toString() {
+            return log.toString();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.parsing;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiErrorElement;
+import com.intellij.psi.impl.source.tree.LazyParseableElement;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.jet.JetLiteFixture;
+import org.jetbrains.jet.JetNodeTypes;
+import org.jetbrains.jet.lang.parsing.JetLazyBlockElementType;
+import org.jetbrains.jet.lang.psi.*;
+import org.jetbrains.jet.lang.psi.stubs.PsiJetFunctionStub;
+import org.jetbrains.jet.lang.psi.stubs.elements.JetFileStubBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author agent
+ */
+public class JetLazyBlockTest extends JetLiteFixture {
+    public void testIsParsable() {
+        JetLazyBlockElementType type = (JetLazyBlockElementType) JetNodeTypes.LAZY_BLOCK;
+
+        assertTrue(type.isParsable("{}", getProject()));
+        assertTrue(type.isParsable("{ foo { bar() } }", getProject()));
+        assertTrue(type.isParsable("{ val s = \"}\" }", getProject()));
+
+        assertFalse(type.isParsable("{ foo { bar() }", getProject()));
+        assertFalse(type.isParsable("{ foo } }", getProject()));
+        assertFalse(type.isParsable("{ foo } bar", getProject()));
+        assertFalse(type.isParsable("foo { }", getProject()));
+    }
+
+    public void testBodiesAreCollapsed() {
+        JetFile file = createPsiFile("collapsed", "fun foo() { val x = 1 }\nclass A { fun bar() { foo() } }");
+
+        List<ASTNode> blocks = collectLazyBlocks(file.getNode());
+        assertEquals(2, blocks.size());
+        for (ASTNode block : blocks) {
+            assertFalse(((LazyParseableElement) block).isParsed());
+        }
+    }
+
+    public void testBodyIsParsedOnAccess() {
+        JetFile file = createPsiFile("access", "fun foo() {\n    val x = 1\n    bar(x)\n}");
+
+        JetNamedFunction foo = (JetNamedFunction) file.getDeclarations().get(0);
+        JetBlockExpression body = (JetBlockExpression) foo.getBodyExpression();
+        assertNotNull(body);
+        assertEquals(JetNodeTypes.LAZY_BLOCK, body.getNode().getElementType());
+
+        List<JetElement> statements = body.getStatements();
+        assertEquals(2, statements.size());
+        assertInstanceOf(statements.get(0), JetProperty.class);
+        assertInstanceOf(statements.get(1), JetCallExpression.class);
+        assertTrue(((LazyParseableElement) body.getNode()).isParsed());
+        assertNull(PsiTreeUtil.findChildOfType(file, PsiErrorElement.class));
+    }
+
+    public void testUnbalancedBodyIsParsedEagerly() {
+        JetFile file = createPsiFile("unbalanced", "fun foo() {\n    val x = 1\n\nfun bar() {}");
+
+        JetNamedFunction foo = (JetNamedFunction) file.getDeclarations().get(0);
+        JetExpression body = foo.getBodyExpression();
+        assertNotNull(body);
+        assertEquals(JetNodeTypes.BLOCK, body.getNode().getElementType());
+        assertNotNull(PsiTreeUtil.findChildOfType(file, PsiErrorElement.class));
+    }
+
+    public void testStubBuildingLeavesBodiesUnparsed() {
+        JetFile file = createPsiFile("stubs", "fun foo() { fun local() {} }\nclass A { fun bar() { object O {} } }");
+
+        StubElement fileStub = new JetFileStubBuilder().buildStubTree(file);
+
+        List<String> functionNames = new ArrayList<String>();
+        collectFunctionNames(fileStub, functionNames);
+        assertEquals(Arrays.asList("foo", "bar"), functionNames);
+
+        List<ASTNode> blocks = collectLazyBlocks(file.getNode());
+        assertEquals(2, blocks.size());
+        for (ASTNode block : blocks) {
+            assertFalse(((LazyParseableElement) block).isParsed());
+        }
+    }
+
+    private static List<ASTNode> collectLazyBlocks(ASTNode root) {
+        List<ASTNode> result = new ArrayList<ASTNode>();
+        collectLazyBlocks(root, result);
+        return result;
+    }
+
+    private static void collectLazyBlocks(ASTNode node, List<ASTNode> result) {
+        if (node.getElementType() == JetNodeTypes.LAZY_BLOCK) {
+            // don't look inside, that would parse the block
+            result.add(node);
+            return;
+        }
+        for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            collectLazyBlocks(child, result);
+        }
+    }
+
+    private static void collectFunctionNames(StubElement<?> stub, List<String> result) {
+        if (stub instanceof PsiJetFunctionStub) {
+            result.add(((PsiJetFunctionStub) stub).getName());
+        }
+        for (StubElement child : stub.getChildrenStubs()) {
+            collectFunctionNames(child, result);
+        }
+    }
+}
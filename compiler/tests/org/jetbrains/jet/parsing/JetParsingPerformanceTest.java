@@ -0,0 +1,91 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.parsing;
+
+import com.intellij.psi.PsiErrorElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.JetLiteFixture;
+import org.jetbrains.jet.lang.psi.JetFile;
+
+/**
+ * Parses big generated files full of the constructs that make the parser look ahead:
+ * function literals, generic calls and properties with receiver types.
+ *
+ * The baseline is the same code with every function literal closed on its own line. The lookahead at the start of
+ * a literal scans to its closing brace, so it used to rescan all the literals nested in it, and the nested file
+ * took many times as long to parse as the flat one with the same tokens.
+ *
+ * @author agent
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr")
+public class JetParsingPerformanceTest extends JetLiteFixture {
+    private static final int FUNCTIONS = 100;
+    private static final int NESTING = 40;
+    private static final int ITERATIONS = 5;
+
+    public void testNestedFunctionLiterals() {
+        String nested = generateCode(true);
+        String flat = generateCode(false);
+        assertEquals(flat.length(), nested.length());
+
+        // warm up
+        parse("nested", nested);
+        parse("flat", flat);
+
+        long nestedTime = 0;
+        long flatTime = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            nestedTime += parse("nested" + i, nested);
+            flatTime += parse("flat" + i, flat);
+        }
+        System.out.println("nestedFunctionLiterals: " + nested.length() / 1024 + " KB parsed in " + nestedTime / ITERATIONS / 1000000
+                           + " ms, the same literals unnested in " + flatTime / ITERATIONS / 1000000 + " ms");
+        assertTrue("Nested function literals take " + nestedTime + " ns to parse, unnested ones take " + flatTime + " ns",
+                   nestedTime < 4 * flatTime);
+    }
+
+    private long parse(@NotNull String name, @NotNull String text) {
+        long start = System.nanoTime();
+        JetFile file = createPsiFile(name, text);
+        ensureParsed(file);
+        long time = System.nanoTime() - start;
+        assertNull(PsiTreeUtil.findChildOfType(file, PsiErrorElement.class));
+        return time;
+    }
+
+    @NotNull
+    private static String generateCode(boolean nested) {
+        StringBuilder code = new StringBuilder("package test\n\n");
+        for (int f = 0; f < FUNCTIONS; f++) {
+            code.append("val <T> java.util.List<T>.size").append(f).append(" : Int\n    get() = size()\n\n");
+            code.append("fun f").append(f).append("(list : java.util.List<Int>) : Int {\n");
+            code.append("    var sum = 0\n");
+            for (int i = 0; i < NESTING; i++) {
+                code.append("    list.forEach { a.b.c(foo<Int, Map<String, Int>>(").append(i).append("))");
+                code.append(nested ? "\n" : "}\n");
+            }
+            for (int i = 0; i < NESTING; i++) {
+                code.append(nested ? "    }\n" : "    \n");
+            }
+            code.append("    val g = { (x : Int, y : Int) -> if (x < y) x + sum else y * (x + 1) }\n");
+            code.append("    return g(sum, ").append(f).append(")\n");
+            code.append("}\n\n");
+        }
+        return code.toString();
+    }
+}
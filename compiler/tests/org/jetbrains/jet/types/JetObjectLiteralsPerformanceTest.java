@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.types;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.JetLiteFixture;
+import org.jetbrains.jet.JetTestUtils;
+import org.jetbrains.jet.lang.cfg.pseudocode.JetControlFlowDataTraceFactory;
+import org.jetbrains.jet.lang.diagnostics.Diagnostic;
+import org.jetbrains.jet.lang.diagnostics.Severity;
+import org.jetbrains.jet.lang.psi.JetFile;
+import org.jetbrains.jet.lang.resolve.BindingContext;
+
+/**
+ * Resolves functions that create lots of object literals, the way code registering listeners does.
+ *
+ * @author agent
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr")
+public class JetObjectLiteralsPerformanceTest extends JetLiteFixture {
+    private static final int FUNCTIONS = 100;
+    private static final int LISTENERS = 20;
+
+    public void testListeners() {
+        String text = generateCode();
+        long start = System.nanoTime();
+        JetFile file = createPsiFile("listeners", text);
+        BindingContext bindingContext = JetTestUtils.analyzeFile(file, JetControlFlowDataTraceFactory.EMPTY).getBindingContext();
+        long time = System.nanoTime() - start;
+
+        for (Diagnostic diagnostic : bindingContext.getDiagnostics()) {
+            assertFalse(diagnostic.getFactory().getName(), diagnostic.getSeverity() == Severity.ERROR);
+        }
+        System.out.println("listeners: " + FUNCTIONS * LISTENERS + " objects resolved in " + time / 1000000 + " ms");
+    }
+
+    @NotNull
+    private static String generateCode() {
+        StringBuilder code = new StringBuilder("package test\n\n");
+        code.append("trait Listener {\n    fun fired(event : Int) : Unit\n}\n\n");
+        code.append("fun addListener(listener : Listener) {}\n\n");
+        for (int f = 0; f < FUNCTIONS; f++) {
+            code.append("fun register").append(f).append("() {\n");
+            for (int l = 0; l < LISTENERS; l++) {
+                code.append("    addListener(object : Listener {\n");
+                code.append("        override fun fired(event : Int) {\n");
+                code.append("            val local = object {\n                val count = event + ").append(l).append("\n            }\n");
+                code.append("            local.count\n");
+                code.append("        }\n");
+                code.append("    })\n");
+            }
+            code.append("}\n\n");
+        }
+        return code.toString();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.types;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.JetLiteFixture;
+import org.jetbrains.jet.JetTestUtils;
+import org.jetbrains.jet.lang.cfg.pseudocode.JetControlFlowDataTraceFactory;
+import org.jetbrains.jet.lang.descriptors.CallableMemberDescriptor;
+import org.jetbrains.jet.lang.descriptors.ClassDescriptor;
+import org.jetbrains.jet.lang.descriptors.DeclarationDescriptor;
+import org.jetbrains.jet.lang.diagnostics.Diagnostic;
+import org.jetbrains.jet.lang.diagnostics.Severity;
+import org.jetbrains.jet.lang.psi.JetDeclaration;
+import org.jetbrains.jet.lang.psi.JetFile;
+import org.jetbrains.jet.lang.resolve.BindingContext;
+import org.jetbrains.jet.lang.resolve.SignatureBuckets;
+
+import java.util.List;
+
+/**
+ * Resolves a class that implements several wide traits, with many overloads of the same names,
+ * the way classes implementing listener or JDBC interfaces do.
+ *
+ * @author agent
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr")
+public class JetOverridingPerformanceTest extends JetLiteFixture {
+    private static final int TRAITS = 6;
+    private static final int NAMES = 20;
+    private static final int PARAMETER_CLASSES = 15;
+
+    public void testWideHierarchy() {
+        String text = generateCode();
+        long start = System.nanoTime();
+        JetFile file = createPsiFile("wideHierarchy", text);
+        BindingContext bindingContext = JetTestUtils.analyzeFile(file, JetControlFlowDataTraceFactory.EMPTY).getBindingContext();
+        long time = System.nanoTime() - start;
+
+        for (Diagnostic diagnostic : bindingContext.getDiagnostics()) {
+            assertFalse(diagnostic.getFactory().getName(), diagnostic.getSeverity() == Severity.ERROR);
+        }
+        System.out.println("wideHierarchy: " + TRAITS * NAMES * PARAMETER_CLASSES * 2 + " inherited members resolved in " + time / 1000000 + " ms");
+    }
+
+    // The number of isOverridableBy() checks does not depend on the machine, unlike the time above
+    public void testWideHierarchyComparisons() {
+        JetFile file = createPsiFile("wideHierarchy", generateCode());
+        BindingContext bindingContext = JetTestUtils.analyzeFile(file, JetControlFlowDataTraceFactory.EMPTY).getBindingContext();
+        List<JetDeclaration> declarations = file.getDeclarations();
+        ClassDescriptor impl = bindingContext.get(BindingContext.CLASS, declarations.get(declarations.size() - 1));
+        assertNotNull(impl);
+
+        SignatureBuckets<CallableMemberDescriptor> buckets = new SignatureBuckets<CallableMemberDescriptor>();
+        int members = 0;
+        for (DeclarationDescriptor descriptor : impl.getDefaultType().getMemberScope().getAllDescriptors()) {
+            if (descriptor instanceof CallableMemberDescriptor) {
+                buckets.add((CallableMemberDescriptor) descriptor);
+                members++;
+            }
+        }
+        long comparisons = 0;
+        for (DeclarationDescriptor descriptor : impl.getDefaultType().getMemberScope().getAllDescriptors()) {
+            if (descriptor instanceof CallableMemberDescriptor) {
+                comparisons += buckets.getCandidates((CallableMemberDescriptor) descriptor).size();
+            }
+        }
+
+        assertTrue(members >= TRAITS * NAMES * PARAMETER_CLASSES * 2);
+        // every generated signature is unique, so each member only meets itself
+        assertEquals(members, comparisons);
+        System.out.println("wideHierarchy: " + comparisons + " comparisons with signature buckets, " + (long) members * members + " without");
+    }
+
+    @NotNull
+    private static String generateCode() {
+        StringBuilder code = new StringBuilder("package test\n\n");
+        for (int c = 0; c < PARAMETER_CLASSES; c++) {
+            code.append("class P").append(c).append("\n");
+        }
+        code.append("\n");
+
+        for (int t = 0; t < TRAITS; t++) {
+            code.append("trait T").append(t).append(" {\n");
+            for (int n = 0; n < NAMES; n++) {
+                for (int c = 0; c < PARAMETER_CLASSES; c++) {
+                    code.append("    fun m").append(t).append("_").append(n).append("(p : P").append(c).append(") : Unit\n");
+                    code.append("    fun m").append(t).append("_").append(n).append("(i : Int, p : P").append(c).append("?) : Int = i\n");
+                }
+            }
+            code.append("}\n\n");
+        }
+
+        code.append("class Impl : ");
+        for (int t = 0; t < TRAITS; t++) {
+            if (t > 0) code.append(", ");
+            code.append("T").append(t);
+        }
+        code.append(" {\n");
+        for (int t = 0; t < TRAITS; t++) {
+            for (int n = 0; n < NAMES; n++) {
+                for (int c = 0; c < PARAMETER_CLASSES; c++) {
+                    code.append("    override fun m").append(t).append("_").append(n).append("(p : P").append(c).append(") {}\n");
+                }
+            }
+        }
+        code.append("}\n");
+        return code.toString();
+    }
+}
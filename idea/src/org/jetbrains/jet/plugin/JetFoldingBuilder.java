@@ -47,7 +47,7 @@ public class JetFoldingBuilder extends FoldingBuilderEx implements DumbAware {
     private static void appendDescriptors(ASTNode node, Document document, List<FoldingDescriptor> descriptors) {
         TextRange textRange = node.getTextRange();
         IElementType type = node.getElementType();
-        if ((type == JetNodeTypes.BLOCK || type == JetNodeTypes.CLASS_BODY) &&
+        if ((type == JetNodeTypes.BLOCK || type == JetNodeTypes.LAZY_BLOCK || type == JetNodeTypes.CLASS_BODY) &&
             !isOneLine(textRange, document)) {
             descriptors.add(new FoldingDescriptor(node, textRange));
         } else if (node.getElementType() == JetTokens.IDE_TEMPLATE_START) {
@@ -20,14 +20,13 @@ import com.intellij.navigation.ChooseByNameContributor;
 import com.intellij.navigation.NavigationItem;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.psi.stubs.StubIndex;
 import com.intellij.util.ArrayUtil;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.jet.plugin.stubindex.JetIndexKeys;
+import org.jetbrains.jet.plugin.stubindex.JetAllShortFunctionNameIndex;
+import org.jetbrains.jet.plugin.stubindex.JetAllShortPropertyNameIndex;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
 /**
  * @author Nikolay Krasko
@@ -36,7 +35,9 @@ public class GotoSymbolContributor implements ChooseByNameContributor {
     @NotNull
     @Override
     public String[] getNames(Project project, boolean includeNonProjectItems) {
-        final Collection<String> items = StubIndex.getInstance().getAllKeys(JetIndexKeys.FUNCTIONS_SHORT_NAME_KEY, project);
+        final Set<String> items = new HashSet<String>();
+        items.addAll(JetAllShortFunctionNameIndex.getInstance().getAllKeys(project));
+        items.addAll(JetAllShortPropertyNameIndex.getInstance().getAllKeys(project));
         return ArrayUtil.toStringArray(items);
     }
 
@@ -45,10 +46,11 @@ public class GotoSymbolContributor implements ChooseByNameContributor {
     public NavigationItem[] getItemsByName(String name, String pattern, Project project, boolean includeNonProjectItems) {
         final GlobalSearchScope scope = includeNonProjectItems ? GlobalSearchScope.allScope(project) : GlobalSearchScope.projectScope(project);
 
-        final Collection<? extends NavigationItem> functions = StubIndex.getInstance().get(
-                JetIndexKeys.FUNCTIONS_SHORT_NAME_KEY, name, project, scope);
+        final Collection<? extends NavigationItem> functions = JetAllShortFunctionNameIndex.getInstance().get(name, project, scope);
+        final Collection<? extends NavigationItem> properties = JetAllShortPropertyNameIndex.getInstance().get(name, project, scope);
 
         final List<NavigationItem> items = new ArrayList<NavigationItem>(functions);
+        items.addAll(properties);
         return ArrayUtil.toObjectArray(items, NavigationItem.class);
     }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.plugin.caches;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.impl.PsiModificationTrackerImpl;
+import com.intellij.psi.impl.PsiTreeChangeEventImpl;
+import com.intellij.psi.impl.PsiTreeChangePreprocessor;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.JetNodeTypes;
+import org.jetbrains.jet.lang.psi.JetBlockExpression;
+import org.jetbrains.jet.lang.psi.JetFile;
+
+/**
+ * Increments the out of code block modification count for all the changes in Kotlin files except the ones
+ * inside block bodies of functions, accessors, constructors and anonymous initializers: such changes never affect declarations,
+ * so they don't invalidate caches that depend on {@link PsiModificationTracker#OUT_OF_CODE_BLOCK_MODIFICATION_COUNT}.
+ *
+ * @author agent
+ */
+public class JetCodeBlockModificationListener implements PsiTreeChangePreprocessor {
+    private final PsiModificationTrackerImpl modificationTracker;
+
+    public JetCodeBlockModificationListener(PsiModificationTracker modificationTracker) {
+        this.modificationTracker = (PsiModificationTrackerImpl) modificationTracker;
+    }
+
+    @Override
+    public void treeChanged(PsiTreeChangeEventImpl event) {
+        if (!(event.getFile() instanceof JetFile)) return;
+
+        switch (event.getCode()) {
+            case CHILD_ADDED:
+            case CHILD_REMOVED:
+            case CHILD_REPLACED:
+                processChange(event.getParent(), event.getOldChild(), event.getNewChild());
+                break;
+
+            case CHILDREN_CHANGED:
+                processChange(event.getParent(), null, null);
+                break;
+
+            case CHILD_MOVED:
+                processChange(event.getOldParent(), null, null);
+                processChange(event.getNewParent(), null, null);
+                break;
+
+            case PROPERTY_CHANGED:
+                modificationTracker.incOutOfCodeBlockModificationCounter();
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    private void processChange(@Nullable PsiElement parent, @Nullable PsiElement oldChild, @Nullable PsiElement newChild) {
+        if (isInsideCodeBlock(parent)) return;
+        // A block reparsed as a whole
+        if (isCodeBlock(oldChild) && isCodeBlock(newChild)) return;
+
+        modificationTracker.incOutOfCodeBlockModificationCounter();
+    }
+
+    private static boolean isInsideCodeBlock(@Nullable PsiElement element) {
+        for (PsiElement current = element; current != null && !(current instanceof PsiFile); current = current.getParent()) {
+            if (isCodeBlock(current)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isCodeBlock(@Nullable PsiElement element) {
+        return element instanceof JetBlockExpression && element.getNode().getElementType() == JetNodeTypes.LAZY_BLOCK;
+    }
+}
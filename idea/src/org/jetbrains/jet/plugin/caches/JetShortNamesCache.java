@@ -17,8 +17,9 @@
 package org.jetbrains.jet.plugin.caches;
 
 import com.google.common.base.Function;
-import com.google.common.base.Predicate;
 import com.google.common.collect.Collections2;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Condition;
 import com.intellij.psi.PsiClass;
@@ -36,17 +37,21 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jet.asJava.JavaElementFinder;
 import org.jetbrains.jet.lang.descriptors.*;
 import org.jetbrains.jet.lang.psi.*;
+import org.jetbrains.jet.lang.psi.stubs.elements.JetFunctionElementType;
 import org.jetbrains.jet.lang.resolve.*;
 import org.jetbrains.jet.lang.resolve.scopes.JetScope;
 import org.jetbrains.jet.lang.types.JetType;
+import org.jetbrains.jet.lang.types.TypeUtils;
 import org.jetbrains.jet.lang.types.expressions.ExpressionTypingUtils;
 import org.jetbrains.jet.lang.types.lang.JetStandardClasses;
 import org.jetbrains.jet.lang.types.lang.JetStandardLibrary;
 import org.jetbrains.jet.plugin.compiler.WholeProjectAnalyzerFacade;
 import org.jetbrains.jet.plugin.stubindex.JetExtensionFunctionNameIndex;
-import org.jetbrains.jet.plugin.stubindex.JetFullClassNameIndex;
+import org.jetbrains.jet.plugin.stubindex.JetExtensionFunctionReceiverTypeIndex;
+import org.jetbrains.jet.plugin.stubindex.JetExtensionPropertyReceiverTypeIndex;
 import org.jetbrains.jet.plugin.stubindex.JetShortClassNameIndex;
 import org.jetbrains.jet.plugin.stubindex.JetShortFunctionNameIndex;
+import org.jetbrains.jet.plugin.stubindex.JetShortPropertyNameIndex;
 import org.jetbrains.jet.util.QualifiedNamesUtil;
 
 import java.util.*;
@@ -61,6 +66,8 @@ public class JetShortNamesCache extends PsiShortNamesCache {
 
     private final Project project;
     private final JavaElementFinder javaElementFinder;
+    private final Map<BindingContext, Multimap<String, FqName>> fqNamesByShortNameCache =
+            new WeakHashMap<BindingContext, Multimap<String, FqName>>();
 
     public JetShortNamesCache(Project project) {
         this.project = project;
@@ -83,17 +90,18 @@ public class JetShortNamesCache extends PsiShortNamesCache {
     @NotNull
     @Override
     public PsiClass[] getClassesByName(@NotNull @NonNls String name, @NotNull GlobalSearchScope scope) {
-        // Quick check for classes from getAllClassNames()
-        Collection<String> classNames = JetShortClassNameIndex.getInstance().getAllKeys(project);
-        if (!classNames.contains(name)) {
-            return new PsiClass[0];
-        }
-
         List<PsiClass> result = new ArrayList<PsiClass>();
+        Set<FqName> visitedFqNames = new java.util.HashSet<FqName>();
 
-        for (String fqName : JetFullClassNameIndex.getInstance().getAllKeys(project)) {
-            if (QualifiedNamesUtil.fqnToShortName(new FqName(fqName)).equals(name)) {
-                PsiClass psiClass = javaElementFinder.findClass(fqName, scope);
+        // Only classes declared with the given short name are taken from index, so there's no need to look through all names
+        for (JetClassOrObject classOrObject : JetShortClassNameIndex.getInstance().get(name, project, scope)) {
+            if (!(classOrObject instanceof JetNamedDeclaration)) {
+                continue;
+            }
+
+            FqName fqName = JetPsiUtil.getFQName((JetNamedDeclaration) classOrObject);
+            if (fqName != null && visitedFqNames.add(fqName)) {
+                PsiClass psiClass = javaElementFinder.findClass(fqName.getFqName(), scope);
                 if (psiClass != null) {
                     result.add(psiClass);
                 }
@@ -129,14 +137,25 @@ public class JetShortNamesCache extends PsiShortNamesCache {
     }
 
     @NotNull
-    public Collection<FqName> getFQNamesByName(@NotNull final String name, @NotNull GlobalSearchScope scope) {
-        BindingContext context = getResolutionContext(scope);
-        return Collections2.filter(context.getKeys(BindingContext.FQNAME_TO_CLASS_DESCRIPTOR), new Predicate<FqName>() {
-            @Override
-            public boolean apply(@Nullable FqName fqName) {
-                return fqName != null && QualifiedNamesUtil.isShortNameForFQN(name, fqName);
+    public Collection<FqName> getFQNamesByName(@NotNull String name, @NotNull GlobalSearchScope scope) {
+        return getFQNamesByShortName(getResolutionContext(scope)).get(name);
+    }
+
+    /**
+     * Groups class and object qualified names from the context by short name. Built once for every analysis result,
+     * so a lookup doesn't filter all known qualified names.
+     */
+    @NotNull
+    private synchronized Multimap<String, FqName> getFQNamesByShortName(@NotNull BindingContext context) {
+        Multimap<String, FqName> fqNames = fqNamesByShortNameCache.get(context);
+        if (fqNames == null) {
+            fqNames = HashMultimap.create();
+            for (FqName fqName : context.getKeys(BindingContext.FQNAME_TO_CLASS_DESCRIPTOR)) {
+                fqNames.put(QualifiedNamesUtil.fqnToShortName(fqName), fqName);
             }
-        });
+            fqNamesByShortNameCache.put(context, fqNames);
+        }
+        return fqNames;
     }
 
     /**
@@ -153,7 +172,6 @@ public class JetShortNamesCache extends PsiShortNamesCache {
         return functionNames;
     }
 
-    // TODO: Make it work for properties
     @NotNull
     public Collection<FunctionDescriptor> getTopLevelFunctionDescriptorsByName(
             @NotNull String name,
@@ -195,6 +213,30 @@ public class JetShortNamesCache extends PsiShortNamesCache {
         return result;
     }
 
+    /**
+     * Get jet non-extension top-level property names from project sources. Method is allowed to give invalid names - all result
+     * should be checked with getTopLevelPropertyDescriptorsByName().
+     */
+    @NotNull
+    public Collection<String> getAllTopLevelPropertyNames() {
+        return JetShortPropertyNameIndex.getInstance().getAllKeys(project);
+    }
+
+    @NotNull
+    public Collection<PropertyDescriptor> getTopLevelPropertyDescriptorsByName(@NotNull String name, @NotNull GlobalSearchScope scope) {
+        HashSet<PropertyDescriptor> result = new HashSet<PropertyDescriptor>();
+
+        BindingContext context = getResolutionContext(scope);
+        for (JetProperty property : JetShortPropertyNameIndex.getInstance().get(name, project, scope)) {
+            VariableDescriptor descriptor = context.get(BindingContext.VARIABLE, property);
+            if (descriptor instanceof PropertyDescriptor) {
+                result.add((PropertyDescriptor) descriptor);
+            }
+        }
+
+        return result;
+    }
+
     @NotNull
     public BindingContext getResolutionContext(@NotNull GlobalSearchScope scope) {
         return WholeProjectAnalyzerFacade.analyzeProjectWithCache(project, scope).getBindingContext();
@@ -224,7 +266,9 @@ public class JetShortNamesCache extends PsiShortNamesCache {
         return functions;
     }
 
-    // TODO: Make it work for properties
+    /**
+     * Extension functions and properties that can be called on the receiver of the given expression.
+     */
     public Collection<DeclarationDescriptor> getJetCallableExtensions(
             @NotNull Condition<String> acceptedNameCondition,
             @NotNull JetSimpleNameExpression expression,
@@ -242,24 +286,23 @@ public class JetShortNamesCache extends PsiShortNamesCache {
             JetScope scope = context.get(BindingContext.RESOLUTION_SCOPE, receiverExpression);
 
             if (expressionType != null && scope != null) {
-                Collection<String> extensionFunctionsNames = getAllJetExtensionFunctionsNames(searchScope);
-
                 Set<FqName> functionFQNs = new java.util.HashSet<FqName>();
 
-                // Collect all possible extension function qualified names
-                for (String name : extensionFunctionsNames) {
-                    if (acceptedNameCondition.value(name)) {
-                        Collection<PsiElement> extensionFunctions = getJetExtensionFunctionsByName(name, searchScope);
+                // Kotlin sources: only extensions with a receiver named after the expression type or one of its supertypes
+                for (String receiverTypeName : getPossibleReceiverTypeNames(expressionType)) {
+                    addAcceptedFQNames(JetExtensionFunctionReceiverTypeIndex.getInstance().get(receiverTypeName, project, searchScope),
+                                       acceptedNameCondition, functionFQNs);
+                    addAcceptedFQNames(JetExtensionPropertyReceiverTypeIndex.getInstance().get(receiverTypeName, project, searchScope),
+                                       acceptedNameCondition, functionFQNs);
+                }
 
-                        for (PsiElement extensionFunction : extensionFunctions) {
-                            if (extensionFunction instanceof JetNamedFunction) {
-                                functionFQNs.add(JetPsiUtil.getFQName((JetNamedFunction) extensionFunction));
-                            }
-                            else if (extensionFunction instanceof PsiMethod) {
-                                FqName functionFQN = JetFromJavaDescriptorHelper.getJetTopLevelDeclarationFQN((PsiMethod) extensionFunction);
-                                if (functionFQN != null) {
-                                    functionFQNs.add(functionFQN);
-                                }
+                // Compiled Kotlin libraries are seen through java prototypes, which have no receiver index
+                for (String name : JetFromJavaDescriptorHelper.getTopExtensionFunctionNames(project, searchScope)) {
+                    if (acceptedNameCondition.value(name)) {
+                        for (PsiMethod method : JetFromJavaDescriptorHelper.getTopExtensionFunctionPrototypesByName(name, project, searchScope)) {
+                            FqName functionFQN = JetFromJavaDescriptorHelper.getJetTopLevelDeclarationFQN(method);
+                            if (functionFQN != null) {
+                                functionFQNs.add(functionFQN);
                             }
                         }
                     }
@@ -279,6 +322,43 @@ public class JetShortNamesCache extends PsiShortNamesCache {
         return resultDescriptors;
     }
 
+    private static void addAcceptedFQNames(
+            @NotNull Collection<? extends JetNamedDeclaration> declarations,
+            @NotNull Condition<String> acceptedNameCondition,
+            @NotNull Set<FqName> result
+    ) {
+        for (JetNamedDeclaration declaration : declarations) {
+            String name = declaration.getName();
+            if (name != null && acceptedNameCondition.value(name)) {
+                FqName fqName = JetPsiUtil.getFQName(declaration);
+                if (fqName != null) {
+                    result.add(fqName);
+                }
+            }
+        }
+    }
+
+    /**
+     * Short names under which an extension applicable to a value of the given type can be indexed.
+     */
+    @NotNull
+    private static Set<String> getPossibleReceiverTypeNames(@NotNull JetType type) {
+        Set<String> result = new java.util.HashSet<String>();
+        result.add(JetFunctionElementType.ANY_RECEIVER_TYPE_NAME);
+        addTypeConstructorName(type, result);
+        for (JetType supertype : TypeUtils.getAllSupertypes(type)) {
+            addTypeConstructorName(supertype, result);
+        }
+        return result;
+    }
+
+    private static void addTypeConstructorName(@NotNull JetType type, @NotNull Set<String> names) {
+        ClassifierDescriptor classifier = type.getConstructor().getDeclarationDescriptor();
+        if (classifier != null) {
+            names.add(classifier.getName());
+        }
+    }
+
     public Collection<JetNamedFunction> getJetFunctionsByName(@NonNls @NotNull String name, @NotNull GlobalSearchScope scope) {
         return JetShortFunctionNameIndex.getInstance().get(name, project, scope);
     }
@@ -130,6 +130,7 @@ public class JetCompletionContributor extends CompletionContributor {
         if (shouldRunTopLevelCompletion(parameters, session)) {
             addClasses(parameters, result);
             addJetTopLevelFunctions(jetReference.getExpression(), result, position, session);
+            addJetTopLevelProperties(result, position, session);
         }
 
         if (shouldRunExtensionsCompletion(parameters, prefix, session)) {
@@ -211,6 +212,24 @@ public class JetCompletionContributor extends CompletionContributor {
         }
     }
 
+    private static void addJetTopLevelProperties(@NotNull CompletionResultSet result, @NotNull PsiElement position,
+                                                 @NotNull CompletionSession session) {
+        String actualPrefix = result.getPrefixMatcher().getPrefix();
+
+        JetShortNamesCache namesCache = JetCacheManager.getInstance(position.getProject()).getNamesCache();
+        GlobalSearchScope scope = GlobalSearchScope.allScope(position.getProject());
+
+        BindingContext resolutionContext = namesCache.getResolutionContext(scope);
+
+        for (String name : namesCache.getAllTopLevelPropertyNames()) {
+            if (name.contains(actualPrefix)) {
+                for (PropertyDescriptor property : namesCache.getTopLevelPropertyDescriptorsByName(name, scope)) {
+                    addCompletionToResult(result, DescriptorLookupConverter.createLookupElement(resolutionContext, property), session);
+                }
+            }
+        }
+    }
+
     /**
      * Jet classes will be added as java completions for unification
      */
@@ -44,6 +44,7 @@ public class JetBlock extends AbstractBlock {
 
     private static final TokenSet CODE_BLOCKS = TokenSet.create(
             JetNodeTypes.BLOCK,
+            JetNodeTypes.LAZY_BLOCK,
             JetNodeTypes.CLASS_BODY,
             JetNodeTypes.FUNCTION_LITERAL_EXPRESSION);
 
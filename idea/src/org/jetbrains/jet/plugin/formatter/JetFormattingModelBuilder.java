@@ -62,8 +62,10 @@ public class JetFormattingModelBuilder implements FormattingModelBuilder {
                 .between(FUN, PROPERTY).blankLines(1)
 
                 .afterInside(LBRACE, BLOCK).lineBreakInCode()
+                .afterInside(LBRACE, LAZY_BLOCK).lineBreakInCode()
                 .beforeInside(RBRACE, CLASS_BODY).lineBreakInCode()
                 .beforeInside(RBRACE, BLOCK).lineBreakInCode()
+                .beforeInside(RBRACE, LAZY_BLOCK).lineBreakInCode()
 
                 // =============== Spacing ================
                 .before(COMMA).spaceIf(jetCommonSettings.SPACE_BEFORE_COMMA)
@@ -79,6 +81,7 @@ public class JetFormattingModelBuilder implements FormattingModelBuilder {
                 .around(RANGE).spaceIf(jetSettings.SPACE_AROUND_RANGE)
 
                 .beforeInside(BLOCK, FUN).spaceIf(jetCommonSettings.SPACE_BEFORE_METHOD_LBRACE)
+                .beforeInside(LAZY_BLOCK, FUN).spaceIf(jetCommonSettings.SPACE_BEFORE_METHOD_LBRACE)
 
                 // TODO: Ask for better API
                 .beforeInside(COLON, PROPERTY).spaceIf(jetSettings.SPACE_BEFORE_TYPE_COLON)
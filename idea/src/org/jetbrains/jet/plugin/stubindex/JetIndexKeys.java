@@ -19,6 +19,7 @@ package org.jetbrains.jet.plugin.stubindex;
 import com.intellij.psi.stubs.StubIndexKey;
 import org.jetbrains.jet.lang.psi.JetClassOrObject;
 import org.jetbrains.jet.lang.psi.JetNamedFunction;
+import org.jetbrains.jet.lang.psi.JetProperty;
 
 /**
  * @author Nikolay Krasko
@@ -32,7 +33,13 @@ public interface JetIndexKeys {
 
     StubIndexKey<String, JetNamedFunction> EXTENSION_FUNCTION_SHORT_NAME_KEY = StubIndexKey.createIndexKey("jet.top.level.extension.function.short.name");
     StubIndexKey<String, JetNamedFunction> EXTENSION_FUNCTION_FQNAME_KEY = StubIndexKey.createIndexKey("jet.top.level.extension.function.fqname");
+    StubIndexKey<String, JetNamedFunction> EXTENSION_FUNCTION_RECEIVER_TYPE_KEY = StubIndexKey.createIndexKey("jet.top.level.extension.function.receiver.type");
 
     StubIndexKey<String, JetNamedFunction> FUNCTIONS_SHORT_NAME_KEY = StubIndexKey.createIndexKey("jet.functions.short.name");
+
+    StubIndexKey<String, JetProperty> TOP_LEVEL_PROPERTY_SHORT_NAME_KEY = StubIndexKey.createIndexKey("jet.top.level.property.short.name");
+    StubIndexKey<String, JetProperty> EXTENSION_PROPERTY_RECEIVER_TYPE_KEY = StubIndexKey.createIndexKey("jet.top.level.extension.property.receiver.type");
+
+    StubIndexKey<String, JetProperty> PROPERTIES_SHORT_NAME_KEY = StubIndexKey.createIndexKey("jet.properties.short.name");
 }
 
@@ -19,6 +19,8 @@ package org.jetbrains.jet.plugin.stubindex;
 import com.intellij.psi.stubs.IndexSink;
 import org.jetbrains.jet.lang.psi.stubs.PsiJetClassStub;
 import org.jetbrains.jet.lang.psi.stubs.PsiJetFunctionStub;
+import org.jetbrains.jet.lang.psi.stubs.PsiJetObjectStub;
+import org.jetbrains.jet.lang.psi.stubs.PsiJetPropertyStub;
 import org.jetbrains.jet.lang.psi.stubs.elements.StubIndexService;
 
 /**
@@ -50,6 +52,11 @@ public class StubIndexServiceImpl implements StubIndexService {
                     // sink.occurrence(JetIndexKeys.TOP_LEVEL_FUNCTION_FQNAME_KEY, name);
                 } else {
                     sink.occurrence(JetIndexKeys.EXTENSION_FUNCTION_SHORT_NAME_KEY, name);
+
+                    String receiverTypeName = stub.getReceiverTypeShortName();
+                    if (receiverTypeName != null) {
+                        sink.occurrence(JetIndexKeys.EXTENSION_FUNCTION_RECEIVER_TYPE_KEY, receiverTypeName);
+                    }
                     // sink.occurrence(JetIndexKeys.EXTENSION_FUNCTION_FQNAME_KEY, name);
                 }
             }
@@ -57,4 +64,38 @@ public class StubIndexServiceImpl implements StubIndexService {
             sink.occurrence(JetIndexKeys.FUNCTIONS_SHORT_NAME_KEY, name);
         }
     }
+
+    @Override
+    public void indexProperty(PsiJetPropertyStub stub, IndexSink sink) {
+        String name = stub.getName();
+        if (name != null) {
+            if (stub.isTopLevel()) {
+                if (!stub.isExtension()) {
+                    sink.occurrence(JetIndexKeys.TOP_LEVEL_PROPERTY_SHORT_NAME_KEY, name);
+                }
+                else {
+                    String receiverTypeName = stub.getReceiverTypeShortName();
+                    if (receiverTypeName != null) {
+                        sink.occurrence(JetIndexKeys.EXTENSION_PROPERTY_RECEIVER_TYPE_KEY, receiverTypeName);
+                    }
+                }
+            }
+
+            sink.occurrence(JetIndexKeys.PROPERTIES_SHORT_NAME_KEY, name);
+        }
+    }
+
+    @Override
+    public void indexObject(PsiJetObjectStub stub, IndexSink sink) {
+        // Objects are found together with classes
+        String name = stub.getName();
+        if (name != null) {
+            sink.occurrence(JetIndexKeys.SHORT_NAME_KEY, name);
+        }
+
+        String fqn = stub.getQualifiedName();
+        if (fqn != null) {
+            sink.occurrence(JetIndexKeys.FQN_KEY, fqn);
+        }
+    }
 }
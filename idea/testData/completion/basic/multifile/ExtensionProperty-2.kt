@@ -3,6 +3,12 @@ package second
 class SomeTestClass() {
 }
 
-val SomeTestClass.someProperty = 12
-var SomeTestClass.someOtherProperty = ""
-val SomeTestClass.someSelfProperty = SomeTestClass()
\ No newline at end of file
+val SomeTestClass.someProperty : Int
+    get() = 12
+
+var SomeTestClass.someOtherProperty : String
+    get() = ""
+    set(value) {}
+
+val SomeTestClass.someSelfProperty : SomeTestClass
+    get() = SomeTestClass()
\ No newline at end of file
@@ -0,0 +1,8 @@
+fun foo() {
+    bar()
+}
+
+class A {
+    fun bar() {
+    }
+}
\ No newline at end of file
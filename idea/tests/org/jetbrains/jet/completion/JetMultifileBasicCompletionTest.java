@@ -39,7 +39,7 @@ public class JetMultifileBasicCompletionTest extends JetCompletionMultiTestBase
         doFileTest();
     }
 
-    public void todotestExtensionProperty() throws Exception {
+    public void testExtensionProperty() throws Exception {
         doFileTest();
     }
 
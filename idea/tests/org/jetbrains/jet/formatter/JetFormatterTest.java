@@ -84,6 +84,12 @@ public class JetFormatterTest extends AbstractJetFormatterTest {
         getSettings().clearCodeStyleSettings();
     }
 
+    public void testSpaceBeforeFunctionBody() throws Exception {
+        getSettings().SPACE_BEFORE_METHOD_LBRACE = true;
+        doTest();
+        getSettings().clearCodeStyleSettings();
+    }
+
     public void testSpaceAroundTypeColon() throws Exception {
         getJetSettings().SPACE_AFTER_TYPE_COLON = false;
         getJetSettings().SPACE_BEFORE_TYPE_COLON = true;
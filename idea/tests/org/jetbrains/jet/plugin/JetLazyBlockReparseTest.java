@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.plugin;
+
+import com.intellij.openapi.application.Result;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiErrorElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import org.jetbrains.jet.JetNodeTypes;
+import org.jetbrains.jet.lang.psi.*;
+
+/**
+ * @author agent
+ */
+public class JetLazyBlockReparseTest extends LightCodeInsightFixtureTestCase {
+    public void testEditInsideBodyKeepsDeclarations() {
+        myFixture.configureByText("a.kt", "fun foo() {\n    val x = 1<caret>\n}\n\nfun bar() {\n}");
+        JetFile file = (JetFile) myFixture.getFile();
+        JetNamedFunction foo = (JetNamedFunction) file.getDeclarations().get(0);
+        JetNamedFunction bar = (JetNamedFunction) file.getDeclarations().get(1);
+
+        myFixture.type("0");
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+        assertTrue(foo.isValid());
+        assertTrue(bar.isValid());
+        assertSame(foo, file.getDeclarations().get(0));
+        assertSame(bar, file.getDeclarations().get(1));
+
+        JetBlockExpression body = (JetBlockExpression) foo.getBodyExpression();
+        assertNotNull(body);
+        assertEquals(JetNodeTypes.LAZY_BLOCK, body.getNode().getElementType());
+        JetExpression initializer = ((JetProperty) body.getStatements().get(0)).getInitializer();
+        assertNotNull(initializer);
+        assertEquals("10", initializer.getText());
+    }
+
+    public void testUnbalancedEditFallsBackToEagerParsing() {
+        myFixture.configureByText("a.kt", "fun foo() {\n    val x = 1<caret>\n}");
+        JetFile file = (JetFile) myFixture.getFile();
+
+        // typing would insert the closing brace as well
+        final Editor editor = myFixture.getEditor();
+        new WriteCommandAction(getProject()) {
+            @Override
+            protected void run(Result result) {
+                editor.getDocument().insertString(editor.getCaretModel().getOffset(), " {");
+            }
+        }.execute();
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+        assertEquals("fun foo() {\n    val x = 1 {\n}", file.getText());
+        JetNamedFunction foo = (JetNamedFunction) file.getDeclarations().get(0);
+        JetExpression body = foo.getBodyExpression();
+        assertNotNull(body);
+        assertEquals(JetNodeTypes.BLOCK, body.getNode().getElementType());
+        assertNotNull(PsiTreeUtil.findChildOfType(file, PsiErrorElement.class));
+    }
+}
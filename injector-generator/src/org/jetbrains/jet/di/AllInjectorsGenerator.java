@@ -45,6 +45,7 @@ public class AllInjectorsGenerator {
         generateInjectorForTopDownAnalyzerBasic();
         generateInjectorForTopDownAnalyzerForJvm();
         generateInjectorForTopDownAnalyzerForJs();
+        generateInjectorForTopDownAnalyzerForObject();
         generateMacroInjector();
         generateTestInjector();
         generateInjectorForJavaSemanticServices();
@@ -90,6 +91,26 @@ public class AllInjectorsGenerator {
         generator.addParameter(JetControlFlowDataTraceFactory.class, false);
     }
 
+    private static void generateInjectorForTopDownAnalyzerForObject() throws IOException {
+        DependencyInjectorGenerator generator = new DependencyInjectorGenerator(false);
+
+        // Fields
+        generator.addPublicField(TopDownAnalyzer.class);
+
+        // Parameters
+        generator.addParameter(TopDownAnalysisParameters.class);
+        generator.addParameter(ObservableBindingTrace.class);
+        generator.addParameter(ModuleDescriptor.class);
+        generator.addParameter(JetControlFlowDataTraceFactory.class, false);
+        generator.addParameter(ModuleConfiguration.class);
+        // Services of the enclosing analysis: they keep no state of their own
+        generator.addParameter(ExpressionTypingServices.class);
+        generator.addParameter(DescriptorResolver.class);
+        generator.addParameter(CallResolver.class);
+
+        generator.generate("compiler/frontend/src", "org.jetbrains.jet.di", "InjectorForTopDownAnalyzerForObject");
+    }
+
     private static void generateMacroInjector() throws IOException {
         DependencyInjectorGenerator generator = new DependencyInjectorGenerator(false);
 
@@ -1,147 +1,222 @@
-//package org.jetbrains.jet.j2k;
-//
-//import com.intellij.psi.PsiFile;
-//import com.intellij.psi.PsiJavaFile;
-//import org.apache.commons.cli.*;
-//import org.jetbrains.annotations.NotNull;
-//import org.jetbrains.annotations.Nullable;
-//
-//import java.io.File;
-//import java.io.FileNotFoundException;
-//import java.io.IOException;
-//import java.util.ArrayList;
-//import java.util.Arrays;
-//import java.util.List;
-//import java.util.logging.Logger;
-//import java.util.regex.Pattern;
-//
-//import static org.apache.commons.io.FileUtils.readFileToString;
-//import static org.apache.commons.io.FileUtils.writeStringToFile;
-//
-///**
-// * @author ignatov
-// */
-//@SuppressWarnings({"CallToPrintStackTrace", "UseOfSystemOutOrSystemErr"})
-//public class JavaToKotlinCli {
-//  private static final Logger myLogger = Logger.getAnonymousLogger();
-//
-//  private JavaToKotlinCli() {
-//  }
-//
-//  public static void main(String[] args) {
-//    CommandLineParser parser = new BasicParser();
-//    Options options = new Options()
-//      .addOption("h", "help", false, "Print usage information")
-//      .addOption("f", "from", true, "Directory with Java sources")
-//      .addOption("t", "to", true, "Directory with Kotlin sources")
-//      .addOption("p", "public-only", false, "Only public and protected members")
-//      .addOption("fqn", "fqn", false, "Full qualified names")
-//      .addOption("d", "declarations-only", false, "Declarations only")
-//      ;
-//
-//    try {
-//      CommandLine commandLine = parser.parse(options, args);
-//
-//      if (commandLine.hasOption("help"))
-//        showHelpAndExit();
-//
-//      if (commandLine.hasOption("from") && commandLine.hasOption("to")) {
-//        String from = commandLine.getOptionValue("from");
-//        String to = commandLine.getOptionValue("to");
-//
-//        for (Option o : commandLine.getOptions()) {
-//          Converter.addFlag(o.getLongOpt());
-//        }
-//
-//        if (!from.isEmpty() && !to.isEmpty())
-//          convertSourceTree(from, to);
-//        else
-//          showHelpAndExit();
-//      } else
-//        showHelpAndExit();
-//    } catch (ParseException e) {
-//      e.printStackTrace();
-//    }
-//  }
-//
-//  @SuppressWarnings("ResultOfMethodCallIgnored")
-//  private static void convertSourceTree(String javaPath, String kotlinPath) {
-//    try {
-//      File javaDir = new File(javaPath);
-//      File kotlinDir = new File(kotlinPath);
-//
-//      if (kotlinDir.exists())
-//        kotlinDir.delete();
-//
-//      if (!kotlinDir.exists() && !kotlinDir.mkdir())
-//        myLogger.warning("Creation failed: " + kotlinDir.getAbsolutePath());
-//
-//      for (File f : getJavaFiles(javaDir.getAbsolutePath())) {
-//        String relative = javaDir.toURI().relativize(f.toURI()).getPath().replace(".java", ".kt");
-//        File file = new File(kotlinPath, relative);
-//
-//        if (file.exists())
-//          file.delete();
-//
-//        if (f.isDirectory())
-//          if (!file.exists() && !file.mkdir())
-//            myLogger.warning("Creation failed: " + file.getAbsolutePath());
-//
-//        if (f.isFile()) {
-//          writeStringToFile(file, fileToKotlin(f));
-//        }
-//      }
-//    } catch (FileNotFoundException e) {
-//      e.printStackTrace();
-//    } catch (IOException e) {
-//      e.printStackTrace();
-//    }
-//  }
-//
-//  @NotNull
-//  private static String fileToKotlin(File f) throws IOException {
-//    final String javaCode = readJavaFileToString(f);
-//    return generateKotlinCode(JavaToKotlinTranslator.createFile(JavaToKotlinTranslator.setUpJavaCoreEnvironment(), javaCode));
-//  }
-//
-//  @NotNull
-//  private static String generateKotlinCode(@Nullable PsiFile file) {
-//    if (file != null && file instanceof PsiJavaFile) {
-//      JavaToKotlinTranslator.setClassIdentifiers(file);
-//      return JavaToKotlinTranslator.prettify(Converter.fileToFile((PsiJavaFile) file).toKotlin());
-//    }
-//    return "";
-//  }
-//
-//  @NotNull
-//  private static String readJavaFileToString(@NotNull File javaFile) throws IOException {
-//    return Pattern.compile("\\s*/\\*.*\\*/", Pattern.DOTALL).matcher(readFileToString(javaFile)).replaceAll("");
-//  }
-//
-//  private static void showHelpAndExit() {
-//    System.err.println("Usage: java -jar java2kotlin.jar -f <from> -t <to>");
-//    System.exit(1);
-//  }
-//
-//  static public List<File> getJavaFiles(String startDirName) throws FileNotFoundException {
-//    return getJavaFiles(new File(startDirName));
-//  }
-//
-//  private static List<File> getJavaFiles(File start) throws FileNotFoundException {
-//    List<File> result = new ArrayList<File>();
-//
-//    if (start.isFile())
-//      return Arrays.asList(start);
-//
-//    for (File file : Arrays.asList(start.listFiles())) {
-//      if ((file.isFile() && file.getName().endsWith(".java")) || file.isDirectory())
-//        result.add(file);
-//
-//      if (file.isDirectory()) {
-//        List<File> deeperList = getJavaFiles(file);
-//        result.addAll(deeperList);
-//      }
-//    }
-//    return result;
-//  }
-//}
\ No newline at end of file
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.j2k;
+
+import com.intellij.core.JavaCoreEnvironment;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Converts a whole tree of Java sources to Kotlin.
+ * <p/>
+ * One {@link JavaCoreEnvironment} is shared by all files; every worker thread gets its own {@link Converter},
+ * since a converter keeps per-file state (class identifiers, current method return type).
+ * Each .kt file is written as soon as it is converted.
+ *
+ * @author ignatov
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr")
+public class JavaToKotlinCli {
+    private JavaToKotlinCli() {
+    }
+
+    public static void main(@NotNull String[] args) {
+        String from = null;
+        String to = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Set<J2KConverterFlags> flags = EnumSet.noneOf(J2KConverterFlags.class);
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ((arg.equals("-f") || arg.equals("-from")) && i + 1 < args.length) {
+                from = args[++i];
+            }
+            else if ((arg.equals("-t") || arg.equals("-to")) && i + 1 < args.length) {
+                to = args[++i];
+            }
+            else if (arg.equals("-threads") && i + 1 < args.length) {
+                threads = parseThreadCount(args[++i]);
+            }
+            else if (arg.equals("-fqn")) {
+                flags.add(J2KConverterFlags.FULLY_QUALIFIED_TYPE_NAMES);
+            }
+            else if (arg.equals("-d") || arg.equals("-declarations-only")) {
+                flags.add(J2KConverterFlags.SKIP_BODIES);
+            }
+            else if (arg.equals("-p") || arg.equals("-public-only")) {
+                flags.add(J2KConverterFlags.SKIP_NON_PUBLIC_MEMBERS);
+            }
+            else {
+                showHelpAndExit();
+            }
+        }
+
+        if (from == null || to == null || from.isEmpty() || to.isEmpty() || threads < 1) {
+            showHelpAndExit();
+        }
+
+        boolean success = convertSourceTree(new File(from), new File(to), flags, threads, System.out);
+        System.exit(success ? 0 : 1);
+    }
+
+    private static int parseThreadCount(@NotNull String value) {
+        try {
+            return Integer.parseInt(value);
+        }
+        catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void showHelpAndExit() {
+        System.err.println("Usage: java -jar java2kotlin.jar -from <java dir> -to <kotlin dir> [-threads <n>] " +
+                           "[-fqn] [-declarations-only] [-public-only]");
+        System.exit(1);
+    }
+
+    /**
+     * @return true if every file was converted
+     */
+    public static boolean convertSourceTree(
+            @NotNull File javaDir,
+            @NotNull File kotlinDir,
+            @NotNull final Set<J2KConverterFlags> flags,
+            int threads,
+            @NotNull final PrintStream out
+    ) {
+        List<File> javaFiles = new ArrayList<File>();
+        collectJavaFiles(javaDir, javaFiles);
+
+        final JavaCoreEnvironment environment = JavaToKotlinTranslator.setUpJavaCoreEnvironment();
+        final ThreadLocal<Converter> converters = new ThreadLocal<Converter>() {
+            @Override
+            protected Converter initialValue() {
+                Converter converter = new Converter();
+                for (J2KConverterFlags flag : flags) {
+                    converter.addFlag(flag);
+                }
+                return converter;
+            }
+        };
+
+        final AtomicInteger failures = new AtomicInteger();
+        long start = System.currentTimeMillis();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (final File javaFile : javaFiles) {
+            final File kotlinFile = getKotlinFile(javaDir, kotlinDir, javaFile);
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    long fileStart = System.currentTimeMillis();
+                    try {
+                        String kotlinCode = fileToKotlin(environment, converters.get(), javaFile);
+                        FileUtil.writeToFile(kotlinFile, kotlinCode);
+                        report(out, javaFile + ": " + (System.currentTimeMillis() - fileStart) + " ms");
+                    }
+                    catch (Throwable e) {
+                        failures.incrementAndGet();
+                        report(out, javaFile + ": FAILED (" + e + ")");
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        try {
+            // every task reports its own failure, there is nothing to collect but the termination
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        report(out, "Converted " + (javaFiles.size() - failures.get()) + " of " + javaFiles.size() + " files in " +
+                    (System.currentTimeMillis() - start) + " ms using " + threads + " thread(s)");
+        return failures.get() == 0;
+    }
+
+    private static void report(@NotNull PrintStream out, @NotNull String message) {
+        synchronized (out) {
+            out.println(message);
+        }
+    }
+
+    @NotNull
+    private static String fileToKotlin(
+            @NotNull final JavaCoreEnvironment environment,
+            @NotNull final Converter converter,
+            @NotNull File javaFile
+    ) throws IOException {
+        final String javaCode = FileUtil.loadFile(javaFile);
+        return ApplicationManager.getApplication().runReadAction(new Computable<String>() {
+            @Override
+            public String compute() {
+                return generateKotlinCode(converter, JavaToKotlinTranslator.createFile(environment, javaCode));
+            }
+        });
+    }
+
+    @NotNull
+    private static String generateKotlinCode(@NotNull Converter converter, @Nullable PsiFile file) {
+        if (file instanceof PsiJavaFile) {
+            JavaToKotlinTranslator.setClassIdentifiers(converter, file);
+            return KotlinPrinter.prettify(converter.fileToFile((PsiJavaFile) file));
+        }
+        return "";
+    }
+
+    @NotNull
+    private static File getKotlinFile(@NotNull File javaDir, @NotNull File kotlinDir, @NotNull File javaFile) {
+        if (javaDir.isFile()) {
+            return new File(kotlinDir, javaFile.getName().replaceAll("\\.java$", ".kt"));
+        }
+        String relative = FileUtil.getRelativePath(javaDir, javaFile);
+        assert relative != null : javaFile + " is not under " + javaDir;
+        return new File(kotlinDir, relative.replaceAll("\\.java$", ".kt"));
+    }
+
+    private static void collectJavaFiles(@NotNull File start, @NotNull List<File> result) {
+        if (start.isFile()) {
+            if (start.getName().endsWith(".java")) {
+                result.add(start);
+            }
+            return;
+        }
+        File[] children = start.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            collectJavaFiles(child, result);
+        }
+    }
+}
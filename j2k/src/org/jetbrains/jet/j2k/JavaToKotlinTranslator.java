@@ -26,6 +26,7 @@ import com.intellij.psi.PsiJavaFile;
 import com.intellij.util.Function;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 import org.jetbrains.jet.j2k.visitors.ClassVisitor;
 
 import java.io.File;
@@ -43,12 +44,14 @@ public class JavaToKotlinTranslator {
 
     private static final Converter CONVERTER = new Converter();
 
+    // Setting up an environment (locating rt.jar, building the class path) is much more expensive than converting a snippet
+    private static class SharedEnvironmentHolder {
+        static final JavaCoreEnvironment ENVIRONMENT = setUpJavaCoreEnvironment();
+    }
+
     @Nullable
     private static PsiFile createFile(@NotNull String text) {
-        JavaCoreEnvironment javaCoreEnvironment = setUpJavaCoreEnvironment();
-        return PsiFileFactory.getInstance(javaCoreEnvironment.getProject()).createFileFromText(
-                "test.java", JavaLanguage.INSTANCE, text
-        );
+        return createFile(SharedEnvironmentHolder.ENVIRONMENT, text);
     }
 
     @Nullable
@@ -76,18 +79,7 @@ public class JavaToKotlinTranslator {
 
     @NotNull
     static String prettify(@Nullable String code) {
-        if (code == null) {
-            return "";
-        }
-        return code
-                .trim()
-                .replaceAll("\r\n", "\n")
-                .replaceAll(" \n", "\n")
-                .replaceAll("\n ", "\n")
-                .replaceAll("\n+", "\n")
-                .replaceAll(" +", " ")
-                .trim()
-                ;
+        return KotlinPrinter.prettify(code);
     }
 
     @Nullable
@@ -188,7 +180,7 @@ public class JavaToKotlinTranslator {
         PsiFile file = createFile(javaCode);
         if (file != null && file instanceof PsiJavaFile) {
             setClassIdentifiers(CONVERTER, file);
-            return prettify(CONVERTER.fileToFile((PsiJavaFile) file).toKotlin());
+            return KotlinPrinter.prettify(CONVERTER.fileToFile((PsiJavaFile) file));
         }
         return "";
     }
@@ -198,7 +190,7 @@ public class JavaToKotlinTranslator {
         PsiFile file = createFile(javaCode);
         if (file != null && file instanceof PsiJavaFile) {
             setClassIdentifiers(CONVERTER, file);
-            return prettify(CONVERTER.fileToFileWithCompatibilityImport((PsiJavaFile) file).toKotlin());
+            return KotlinPrinter.prettify(CONVERTER.fileToFileWithCompatibilityImport((PsiJavaFile) file));
         }
         return "";
     }
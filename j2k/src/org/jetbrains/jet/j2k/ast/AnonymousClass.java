@@ -18,6 +18,7 @@ package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.jet.j2k.Converter;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 import java.util.Collections;
 import java.util.List;
@@ -38,9 +39,8 @@ public class AnonymousClass extends Class {
         );
     }
 
-    @NotNull
     @Override
-    public String toKotlin() {
-        return bodyToKotlin();
+    public void print(@NotNull KotlinPrinter printer) {
+        printBody(printer);
     }
 }
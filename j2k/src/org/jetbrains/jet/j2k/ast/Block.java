@@ -17,7 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.jet.j2k.util.AstUtil;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -58,11 +58,13 @@ public class Block extends Statement {
     @NotNull
     @Override
     public String toKotlin() {
+        return KotlinPrinter.toKotlin(this);
+    }
+
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
         if (!isEmpty()) {
-            return "{" + N +
-                   AstUtil.joinNodes(myStatements, N) + N +
-                   "}";
+            printer.append("{" + N).appendNodes(myStatements, N).append(N + "}");
         }
-        return EMPTY;
     }
 }
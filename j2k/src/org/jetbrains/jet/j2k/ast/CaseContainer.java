@@ -17,7 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.jet.j2k.util.AstUtil;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -42,6 +42,11 @@ public class CaseContainer extends Statement {
     @NotNull
     @Override
     public String toKotlin() {
-        return AstUtil.joinNodes(myCaseStatement, COMMA_WITH_SPACE) + SPACE + "->" + SPACE + myBlock.toKotlin();
+        return KotlinPrinter.toKotlin(this);
+    }
+
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.appendNodes(myCaseStatement, COMMA_WITH_SPACE).append(SPACE + "->" + SPACE).append(myBlock);
     }
 }
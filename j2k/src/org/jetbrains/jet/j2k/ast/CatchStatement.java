@@ -17,6 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 /**
  * @author ignatov
@@ -33,6 +34,11 @@ public class CatchStatement extends Statement {
     @NotNull
     @Override
     public String toKotlin() {
-        return "catch" + SPACE + "(" + myVariable.toKotlin() + ")" + SPACE + myBlock.toKotlin();
+        return KotlinPrinter.toKotlin(this);
+    }
+
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.append("catch" + SPACE + "(" + myVariable.toKotlin() + ")" + SPACE).append(myBlock);
     }
 }
@@ -21,6 +21,7 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jet.j2k.Converter;
 import org.jetbrains.jet.j2k.J2KConverterFlags;
 import org.jetbrains.jet.j2k.util.AstUtil;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -88,12 +89,11 @@ public class Class extends Member {
         return "(" + ")";
     }
 
-    String primaryConstructorBodyToKotlin() {
+    void printPrimaryConstructorBody(@NotNull KotlinPrinter printer) {
         Constructor maybeConstructor = getPrimaryConstructor();
         if (maybeConstructor != null && !maybeConstructor.getBlock().isEmpty()) {
-            return maybeConstructor.primaryBodyToKotlin();
+            maybeConstructor.printPrimaryBody(printer);
         }
-        return EMPTY;
     }
 
     private boolean hasWhere() {
@@ -217,13 +217,12 @@ public class Class extends Member {
         return isAbstract();
     }
 
-    @NotNull
-    String bodyToKotlin() {
-        return SPACE + "{" + N +
-               AstUtil.joinNodes(getNonStatic(membersExceptConstructors()), N) + N +
-               primaryConstructorBodyToKotlin() + N +
-               classObjectToKotlin() + N +
-               "}";
+    void printBody(@NotNull KotlinPrinter printer) {
+        printer.append(SPACE + "{" + N).appendNodes(getNonStatic(membersExceptConstructors()), N).append(N);
+        printPrimaryConstructorBody(printer);
+        printer.append(N);
+        printClassObject(printer);
+        printer.append(N + "}");
     }
 
     @NotNull
@@ -246,24 +245,25 @@ public class Class extends Member {
         return result;
     }
 
-    @NotNull
-    private String classObjectToKotlin() {
+    private void printClassObject(@NotNull KotlinPrinter printer) {
         final List<Member> staticMembers = new LinkedList<Member>(secondaryConstructorsAsStaticInitFunction());
         staticMembers.addAll(getStatic(membersExceptConstructors()));
         if (staticMembers.size() > 0) {
-            return "class" + SPACE + "object" + SPACE + "{" + N +
-                   AstUtil.joinNodes(staticMembers, N) + N +
-                   "}";
+            printer.append("class" + SPACE + "object" + SPACE + "{" + N).appendNodes(staticMembers, N).append(N + "}");
         }
-        return EMPTY;
     }
 
     @NotNull
     @Override
     public String toKotlin() {
-        return modifiersToKotlin() + TYPE + SPACE + myName.toKotlin() + typeParametersToKotlin() + primaryConstructorSignatureToKotlin() +
-               implementTypesToKotlin() +
-               typeParameterWhereToKotlin() +
-               bodyToKotlin();
+        return KotlinPrinter.toKotlin(this);
+    }
+
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.append(modifiersToKotlin() + TYPE + SPACE + myName.toKotlin() + typeParametersToKotlin() + primaryConstructorSignatureToKotlin() +
+                       implementTypesToKotlin() +
+                       typeParameterWhereToKotlin());
+        printBody(printer);
     }
 }
@@ -17,6 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 import java.util.List;
 import java.util.Set;
@@ -37,9 +38,8 @@ public class Constructor extends Function {
         return "(" + myParams.toKotlin() + ")";
     }
 
-    @NotNull
-    public String primaryBodyToKotlin() {
-        return myBlock.toKotlin();
+    public void printPrimaryBody(@NotNull KotlinPrinter printer) {
+        printer.append(myBlock);
     }
 
     public boolean isPrimary() {
@@ -17,6 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 /**
  * @author ignatov
@@ -26,11 +27,8 @@ public class DoWhileStatement extends WhileStatement {
         super(condition, statement);
     }
 
-    @NotNull
     @Override
-    public String toKotlin() {
-        return "do" + N +
-               myStatement.toKotlin() + N +
-               "while" + SPACE + "(" + myCondition.toKotlin() + ")";
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.append("do" + N).append(myStatement).append(N + "while" + SPACE + "(" + myCondition.toKotlin() + ")");
     }
 }
@@ -18,7 +18,7 @@ package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.jet.j2k.Converter;
-import org.jetbrains.jet.j2k.util.AstUtil;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 import java.util.List;
 import java.util.Set;
@@ -42,15 +42,16 @@ public class Enum extends Class {
         return false;
     }
 
-    @NotNull
     @Override
-    public String toKotlin() {
-        return modifiersToKotlin() + "enum class" + SPACE + myName.toKotlin() + primaryConstructorSignatureToKotlin() +
-               typeParametersToKotlin() + implementTypesToKotlin() + SPACE + "{" + N +
-               AstUtil.joinNodes(membersExceptConstructors(), N) + N +
-               primaryConstructorBodyToKotlin() + N +
-               "public fun name()  : String { return \"\" }" + N + // TODO : remove hack
-               "public fun order() : Int { return 0 }" + N +
-               "}";
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.append(modifiersToKotlin() + "enum class" + SPACE + myName.toKotlin() + primaryConstructorSignatureToKotlin() +
+                       typeParametersToKotlin() + implementTypesToKotlin() + SPACE + "{" + N)
+                .appendNodes(membersExceptConstructors(), N)
+                .append(N);
+        printPrimaryConstructorBody(printer);
+        printer.append(N +
+                       "public fun name()  : String { return \"\" }" + N + // TODO : remove hack
+                       "public fun order() : Int { return 0 }" + N +
+                       "}");
     }
 }
@@ -17,7 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.jet.j2k.util.AstUtil;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 import java.util.List;
 
@@ -40,11 +40,14 @@ public class File extends Node {
     @NotNull
     @Override
     public String toKotlin() {
-        final String common = AstUtil.joinNodes(myImports, N) + N2 + AstUtil.joinNodes(myClasses, N) + N + myMainFunction;
-        if (myPackageName.isEmpty()) {
-            return common;
+        return KotlinPrinter.toKotlin(this);
+    }
+
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
+        if (!myPackageName.isEmpty()) {
+            printer.append("package" + SPACE + myPackageName + N);
         }
-        return "package" + SPACE + myPackageName + N +
-               common;
+        printer.appendNodes(myImports, N).append(N2).appendNodes(myClasses, N).append(N).append(myMainFunction);
     }
 }
@@ -17,6 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 /**
  * @author ignatov
@@ -35,7 +36,12 @@ public class ForeachStatement extends Statement {
     @NotNull
     @Override
     public String toKotlin() {
-        return "for" + SPACE + "(" + myVariable.toKotlin() + SPACE + IN + SPACE + myExpression.toKotlin() + ")" + N +
-               myStatement.toKotlin();
+        return KotlinPrinter.toKotlin(this);
+    }
+
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.append("for" + SPACE + "(" + myVariable.toKotlin() + SPACE + IN + SPACE + myExpression.toKotlin() + ")" + N)
+                .append(myStatement);
     }
 }
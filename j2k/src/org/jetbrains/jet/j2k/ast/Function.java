@@ -18,6 +18,7 @@ package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.jet.j2k.util.AstUtil;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -119,9 +120,14 @@ public class Function extends Member {
     @NotNull
     @Override
     public String toKotlin() {
-        return modifiersToKotlin() + "fun" + SPACE + myName.toKotlin() + typeParametersToKotlin() + "(" + myParams.toKotlin() + ")" + SPACE + COLON +
-               SPACE + myType.toKotlin() + SPACE +
-               typeParameterWhereToKotlin() +
-               myBlock.toKotlin();
+        return KotlinPrinter.toKotlin(this);
+    }
+
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.append(modifiersToKotlin() + "fun" + SPACE + myName.toKotlin() + typeParametersToKotlin() + "(" + myParams.toKotlin() + ")" + SPACE + COLON +
+                       SPACE + myType.toKotlin() + SPACE +
+                       typeParameterWhereToKotlin())
+                .append(myBlock);
     }
 }
@@ -17,6 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 /**
  * @author ignatov
@@ -25,6 +26,8 @@ public interface INode {
     @NotNull
     String toKotlin();
 
+    void print(@NotNull KotlinPrinter printer);
+
     @NotNull
     Kind getKind();
 
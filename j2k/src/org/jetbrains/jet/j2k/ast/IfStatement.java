@@ -17,6 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 /**
  * @author ignatov
@@ -35,14 +36,15 @@ public class IfStatement extends Expression {
     @NotNull
     @Override
     public String toKotlin() {
-        String result = "if" + SPACE + "(" + myCondition.toKotlin() + ")" + N + myThenStatement.toKotlin() + N;
+        return KotlinPrinter.toKotlin(this);
+    }
+
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.append("if" + SPACE + "(" + myCondition.toKotlin() + ")" + N).append(myThenStatement).append(N);
 
         if (myElseStatement != Statement.EMPTY_STATEMENT) {
-            return result +
-                   "else" + N +
-                   myElseStatement.toKotlin();
+            printer.append("else" + N).append(myElseStatement);
         }
-
-        return result;
     }
 }
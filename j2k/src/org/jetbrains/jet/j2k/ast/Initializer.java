@@ -17,6 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 import java.util.Set;
 
@@ -34,6 +35,11 @@ public class Initializer extends Member {
     @NotNull
     @Override
     public String toKotlin() {
-        return myBlock.toKotlin();
+        return KotlinPrinter.toKotlin(this);
+    }
+
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.append(myBlock);
     }
 }
@@ -17,6 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 /**
  * @author ignatov
@@ -33,6 +34,11 @@ public class LabelStatement extends Statement {
     @NotNull
     @Override
     public String toKotlin() {
-        return AT + myName.toKotlin() + SPACE + myStatement.toKotlin();
+        return KotlinPrinter.toKotlin(this);
+    }
+
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.append(AT + myName.toKotlin() + SPACE).append(myStatement);
     }
 }
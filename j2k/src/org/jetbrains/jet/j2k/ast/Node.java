@@ -17,6 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -32,6 +33,11 @@ public abstract class Node implements INode {
         return Kind.UNDEFINED;
     }
 
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.append(toKotlin());
+    }
+
     @NotNull
     final static Set<String> ONLY_KOTLIN_KEYWORDS = new HashSet<String>(Arrays.asList(
             "package", "as", "type", "val", "var", "fun", "is", "in", "object", "when", "trait", "This"
@@ -17,7 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.jet.j2k.util.AstUtil;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 import java.util.List;
 
@@ -36,8 +36,13 @@ public class SwitchContainer extends Statement {
     @NotNull
     @Override
     public String toKotlin() {
-        return "when" + SPACE + "(" + myExpression.toKotlin() + ")" + SPACE + "{" + N +
-               AstUtil.joinNodes(myCaseContainers, N) + N +
-               "}";
+        return KotlinPrinter.toKotlin(this);
+    }
+
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.append("when" + SPACE + "(" + myExpression.toKotlin() + ")" + SPACE + "{" + N)
+                .appendNodes(myCaseContainers, N)
+                .append(N + "}");
     }
 }
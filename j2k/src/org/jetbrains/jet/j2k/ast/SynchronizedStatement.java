@@ -17,6 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 /**
  * @author ignatov
@@ -33,6 +34,11 @@ public class SynchronizedStatement extends Statement {
     @NotNull
     @Override
     public String toKotlin() {
-        return "synchronized" + SPACE + "(" + myExpression.toKotlin() + ")" + SPACE + myBlock.toKotlin();
+        return KotlinPrinter.toKotlin(this);
+    }
+
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.append("synchronized" + SPACE + "(" + myExpression.toKotlin() + ")" + SPACE).append(myBlock);
     }
 }
@@ -17,7 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.jet.j2k.util.AstUtil;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 import java.util.List;
 
@@ -38,9 +38,14 @@ public class TryStatement extends Statement {
     @NotNull
     @Override
     public String toKotlin() {
-        return "try" + N +
-               myBlock.toKotlin() + N +
-               AstUtil.joinNodes(myCatches, N) + N +
-               (myFinallyBlock.isEmpty() ? EMPTY : "finally" + N + myFinallyBlock.toKotlin());
+        return KotlinPrinter.toKotlin(this);
+    }
+
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.append("try" + N).append(myBlock).append(N).appendNodes(myCatches, N).append(N);
+        if (!myFinallyBlock.isEmpty()) {
+            printer.append("finally" + N).append(myFinallyBlock);
+        }
     }
 }
@@ -17,6 +17,7 @@
 package org.jetbrains.jet.j2k.ast;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
 
 /**
  * @author ignatov
@@ -33,7 +34,11 @@ public class WhileStatement extends Statement {
     @NotNull
     @Override
     public String toKotlin() {
-        return "while" + SPACE + "(" + myCondition.toKotlin() + ")" + N +
-               myStatement.toKotlin();
+        return KotlinPrinter.toKotlin(this);
+    }
+
+    @Override
+    public void print(@NotNull KotlinPrinter printer) {
+        printer.append("while" + SPACE + "(" + myCondition.toKotlin() + ")" + N).append(myStatement);
     }
 }
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.j2k.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.j2k.ast.INode;
+
+import java.util.List;
+
+/**
+ * Shared output buffer for j2k AST nodes: container nodes print their children straight into it instead of
+ * concatenating the children's strings.
+ * <p/>
+ * A normalizing printer also does the whitespace clean-up on the fly, in the same single pass. Its output is
+ * exactly what the old chain of regular expressions produced:
+ * <pre>
+ * trim, "\r\n" -> "\n", " \n" -> "\n", "\n " -> "\n", "\n+" -> "\n", " +" -> " ", trim
+ * </pre>
+ * Every rewrite is a small state machine below, and a character goes through all of them before it is stored.
+ *
+ * @author agent
+ */
+public class KotlinPrinter {
+    private final StringBuilder myBuilder = new StringBuilder();
+    private final boolean myNormalize;
+
+    // "\r\n" -> "\n"
+    private boolean myPendingCarriageReturn = false;
+    // " \n" -> "\n"
+    private boolean myPendingSpace = false;
+    // "\n " -> "\n"
+    private boolean myAfterNewLine = false;
+    // "\n+" -> "\n"
+    private boolean myLastIsNewLine = false;
+    // " +" -> " "
+    private boolean myLastIsSpace = false;
+
+    private KotlinPrinter(boolean normalize) {
+        myNormalize = normalize;
+    }
+
+    /**
+     * @return the same text as {@link INode#toKotlin()} would build by concatenation
+     */
+    @NotNull
+    public static String toKotlin(@NotNull INode node) {
+        KotlinPrinter printer = new KotlinPrinter(false);
+        node.print(printer);
+        return printer.toString();
+    }
+
+    /**
+     * @return the node's code with redundant whitespace removed
+     */
+    @NotNull
+    public static String prettify(@NotNull INode node) {
+        KotlinPrinter printer = new KotlinPrinter(true);
+        node.print(printer);
+        return printer.toString();
+    }
+
+    @NotNull
+    public static String prettify(@Nullable String code) {
+        if (code == null) {
+            return "";
+        }
+        return new KotlinPrinter(true).append(code).toString();
+    }
+
+    @NotNull
+    public KotlinPrinter append(@NotNull INode node) {
+        node.print(this);
+        return this;
+    }
+
+    @NotNull
+    public KotlinPrinter appendNodes(@NotNull List<? extends INode> nodes, @NotNull String delimiter) {
+        boolean first = true;
+        for (INode node : nodes) {
+            if (!first) {
+                append(delimiter);
+            }
+            first = false;
+            node.print(this);
+        }
+        return this;
+    }
+
+    @NotNull
+    public KotlinPrinter append(@NotNull String text) {
+        if (!myNormalize) {
+            myBuilder.append(text);
+            return this;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            replaceCarriageReturns(text.charAt(i));
+        }
+        return this;
+    }
+
+    private void replaceCarriageReturns(char c) {
+        if (myPendingCarriageReturn) {
+            if (c == '\n') {
+                myPendingCarriageReturn = false;
+                removeSpacesBeforeNewLines('\n');
+                return;
+            }
+            removeSpacesBeforeNewLines('\r');
+            if (c == '\r') {
+                return;
+            }
+            myPendingCarriageReturn = false;
+        }
+        if (c == '\r') {
+            myPendingCarriageReturn = true;
+            return;
+        }
+        removeSpacesBeforeNewLines(c);
+    }
+
+    private void removeSpacesBeforeNewLines(char c) {
+        if (myPendingSpace) {
+            if (c == '\n') {
+                myPendingSpace = false;
+                removeSpacesAfterNewLines('\n');
+                return;
+            }
+            removeSpacesAfterNewLines(' ');
+            if (c == ' ') {
+                return;
+            }
+            myPendingSpace = false;
+        }
+        if (c == ' ') {
+            myPendingSpace = true;
+            return;
+        }
+        removeSpacesAfterNewLines(c);
+    }
+
+    private void removeSpacesAfterNewLines(char c) {
+        if (myAfterNewLine && c == ' ') {
+            myAfterNewLine = false;
+            return;
+        }
+        myAfterNewLine = c == '\n';
+        collapseNewLines(c);
+    }
+
+    private void collapseNewLines(char c) {
+        boolean isNewLine = c == '\n';
+        if (isNewLine && myLastIsNewLine) {
+            return;
+        }
+        myLastIsNewLine = isNewLine;
+        collapseSpaces(c);
+    }
+
+    private void collapseSpaces(char c) {
+        boolean isSpace = c == ' ';
+        if (isSpace && myLastIsSpace) {
+            return;
+        }
+        myLastIsSpace = isSpace;
+        store(c);
+    }
+
+    private void store(char c) {
+        // leading part of String.trim()
+        if (myBuilder.length() == 0 && c <= ' ') {
+            return;
+        }
+        myBuilder.append(c);
+    }
+
+    private void flush() {
+        if (myPendingCarriageReturn) {
+            myPendingCarriageReturn = false;
+            removeSpacesBeforeNewLines('\r');
+        }
+        if (myPendingSpace) {
+            myPendingSpace = false;
+            removeSpacesAfterNewLines(' ');
+        }
+    }
+
+    /**
+     * Must be called only once all the code has been appended.
+     */
+    @Override
+    public String toString() {
+        if (!myNormalize) {
+            return myBuilder.toString();
+        }
+        flush();
+        // trailing part of String.trim()
+        int length = myBuilder.length();
+        while (length > 0 && myBuilder.charAt(length - 1) <= ' ') {
+            length--;
+        }
+        myBuilder.setLength(length);
+        return myBuilder.toString();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.jet.j2k;
+
+import com.intellij.core.JavaCoreEnvironment;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import junit.framework.TestCase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.j2k.ast.File;
+import org.jetbrains.jet.j2k.util.KotlinPrinter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Checks that printing through the normalizing {@link KotlinPrinter} gives exactly the text the old
+ * "concatenate everything, then run the regular expressions" clean-up produced, and reports what the clean-up costs.
+ *
+ * @author agent
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr")
+public class KotlinPrinterTest extends TestCase {
+    private static final int CLASSES = 20;
+    private static final int METHODS_PER_CLASS = 100;
+    private static final int RUNS = 10;
+
+    public void testBigFile() throws Exception {
+        JavaCoreEnvironment environment = JavaToKotlinTranslator.setUpJavaCoreEnvironment();
+        PsiFile psiFile = JavaToKotlinTranslator.createFile(environment, generateJavaCode());
+        assertTrue(psiFile instanceof PsiJavaFile);
+
+        Converter converter = new Converter();
+        JavaToKotlinTranslator.setClassIdentifiers(converter, psiFile);
+
+        // Printing mutates secondary constructors, so every printer needs a fresh AST
+        File file = converter.fileToFile((PsiJavaFile) psiFile);
+        String expected = regexPrettify(KotlinPrinter.toKotlin(file));
+        file = converter.fileToFile((PsiJavaFile) psiFile);
+        assertEquals(expected, KotlinPrinter.prettify(file));
+    }
+
+    /**
+     * Compares printing plus the regular expressions with the normalizing printer, both from the same converted AST.
+     * The conversion from PSI is shared by both paths and is reported separately.
+     */
+    public void testConversionCost() throws Exception {
+        JavaCoreEnvironment environment = JavaToKotlinTranslator.setUpJavaCoreEnvironment();
+        PsiFile psiFile = JavaToKotlinTranslator.createFile(environment, generateJavaCode());
+        Converter converter = new Converter();
+        JavaToKotlinTranslator.setClassIdentifiers(converter, psiFile);
+
+        // warm up
+        for (int i = 0; i < RUNS; i++) {
+            regexPrettify(KotlinPrinter.toKotlin(converter.fileToFile((PsiJavaFile) psiFile)));
+            KotlinPrinter.prettify(converter.fileToFile((PsiJavaFile) psiFile));
+        }
+
+        long convertTime = 0, convertBytes = 0, regexTime = 0, regexBytes = 0, printerTime = 0, printerBytes = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long time = System.nanoTime();
+            long bytes = allocatedBytes();
+            File file = converter.fileToFile((PsiJavaFile) psiFile);
+            convertTime += System.nanoTime() - time;
+            convertBytes += allocatedBytes() - bytes;
+
+            time = System.nanoTime();
+            bytes = allocatedBytes();
+            regexPrettify(KotlinPrinter.toKotlin(file));
+            regexTime += System.nanoTime() - time;
+            regexBytes += allocatedBytes() - bytes;
+
+            file = converter.fileToFile((PsiJavaFile) psiFile);
+            time = System.nanoTime();
+            bytes = allocatedBytes();
+            KotlinPrinter.prettify(file);
+            printerTime += System.nanoTime() - time;
+            printerBytes += allocatedBytes() - bytes;
+        }
+
+        report("conversion from PSI", convertTime, convertBytes);
+        report("printing and regular expressions", regexTime, regexBytes);
+        report("normalizing printer", printerTime, printerBytes);
+        if (allocationBean() != null) {
+            // no intermediate copies of the whole text
+            assertTrue(printerBytes < regexBytes);
+        }
+    }
+
+    private static void report(@NotNull String name, long time, long bytes) {
+        System.out.println(name + ": " + time / RUNS / 1000000 + " ms, "
+                           + (allocationBean() == null ? "allocation not measured" : bytes / RUNS / 1024 + " Kb allocated") + " per run");
+    }
+
+    /**
+     * @return bytes allocated by the current thread so far, or 0 if the JVM cannot tell
+     */
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean = allocationBean();
+        return bean == null ? 0 : bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean;
+            }
+        }
+        return null;
+    }
+
+    public void testWhitespace() {
+        String[] samples = {
+                "", " ", "\n", "\r\n", "\r", " \r\n ", "a", "  a  ", "a \n b", "a\r\n\r\nb", "a \r b",
+                "a\n\n\n b  c \n", "\n \n \n", "a\r\r\n b", " \n\r\n a \r\n\r\n", "fun f() {\n  return  1 \n}\n\n"
+        };
+        for (String sample : samples) {
+            assertEquals(sample, regexPrettify(sample), KotlinPrinter.prettify(sample));
+        }
+    }
+
+    @NotNull
+    private static String regexPrettify(@NotNull String code) {
+        return code
+                .trim()
+                .replaceAll("\r\n", "\n")
+                .replaceAll(" \n", "\n")
+                .replaceAll("\n ", "\n")
+                .replaceAll("\n+", "\n")
+                .replaceAll(" +", " ")
+                .trim();
+    }
+
+    @NotNull
+    private static String generateJavaCode() {
+        StringBuilder code = new StringBuilder("package test;\n\nimport java.util.*;\n\n");
+        for (int c = 0; c < CLASSES; c++) {
+            code.append("public class C").append(c).append(" {\n");
+            code.append("    private List<String> items = new ArrayList<String>();\n");
+            for (int m = 0; m < METHODS_PER_CLASS; m++) {
+                code.append("    public int m").append(m).append("(int a, String s) {\n")
+                        .append("        int sum = 0;\n")
+                        .append("        for (String item : items) {\n")
+                        .append("            if (item.length() > a) {\n")
+                        .append("                sum += item.length();\n")
+                        .append("            } else {\n")
+                        .append("                while (sum < a) { sum++; }\n")
+                        .append("            }\n")
+                        .append("        }\n")
+                        .append("        try {\n")
+                        .append("            synchronized (this) { items.add(s); }\n")
+                        .append("        } catch (RuntimeException e) {\n")
+                        .append("            return -1;\n")
+                        .append("        }\n")
+                        .append("        return sum;\n")
+                        .append("    }\n");
+            }
+            code.append("}\n\n");
+        }
+        return code.toString();
+    }
+}
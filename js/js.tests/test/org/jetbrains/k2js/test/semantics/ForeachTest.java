@@ -32,4 +32,12 @@ public final class ForeachTest extends AbstractExpressionTest {
     public void testForOnEmptyArray() throws Exception {
         checkFooBoxIsTrue("forOnEmptyArray.kt");
     }
-}
\ No newline at end of file
+
+    public void testForOverPrimitiveArray() throws Exception {
+        checkFooBoxIsTrue("forOverPrimitiveArray.kt");
+    }
+
+    public void testForOverArrayIndices() throws Exception {
+        checkFooBoxIsTrue("forOverArrayIndices.kt");
+    }
+}
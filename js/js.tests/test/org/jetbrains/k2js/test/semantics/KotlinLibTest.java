@@ -82,6 +82,23 @@ public final class KotlinLibTest extends SingleFileTranslationTest {
     }
 
 
+    public void testCollections() throws Exception {
+        runJavascriptTest("collections.js");
+    }
+
+    // Not a check: prints how long the code the translator used to emit takes next to the current code.
+    // benchmark() throws if the two give different results.
+    public void testCollectionsBenchmark() throws Exception {
+        runRhinoTest(withAdditionalFiles(cases("collectionsBenchmark.js")), new RhinoResultChecker() {
+            @Override
+            public void runChecks(Context context, Scriptable scope) throws Exception {
+                Object report = context.evaluateString(scope, "benchmark()", "benchmark call", 0, null);
+                System.out.println(Context.toString(report));
+            }
+        });
+    }
+
+
     private void runJavascriptTest(@NotNull String filename) throws Exception {
         runRhinoTest(withAdditionalFiles(cases(filename)),
                      new RhinoFunctionResultChecker("test", true));
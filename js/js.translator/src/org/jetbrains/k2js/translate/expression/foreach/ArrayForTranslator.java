@@ -52,10 +52,7 @@ public final class ArrayForTranslator extends ForTranslator {
                                        @NotNull TranslationContext context) {
         JetExpression loopRange = getLoopRange(expression);
         JetType rangeType = BindingUtils.getTypeForExpression(context.bindingContext(), loopRange);
-        //TODO: better check
-        //TODO: IMPORTANT!
-        return getClassDescriptorForType(rangeType).getName().equals("Array")
-               || getClassDescriptorForType(rangeType).getName().equals("IntArray");
+        return context.intrinsics().isArrayClass(getClassDescriptorForType(rangeType));
     }
 
     @NotNull
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.k2js.translate.expression.foreach;
+
+import com.google.common.collect.Lists;
+import com.google.dart.compiler.backend.js.ast.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jet.lang.descriptors.CallableDescriptor;
+import org.jetbrains.jet.lang.descriptors.PropertyDescriptor;
+import org.jetbrains.jet.lang.psi.JetDotQualifiedExpression;
+import org.jetbrains.jet.lang.psi.JetExpression;
+import org.jetbrains.jet.lang.psi.JetForExpression;
+import org.jetbrains.jet.lang.resolve.BindingContext;
+import org.jetbrains.jet.lang.resolve.calls.ResolvedCall;
+import org.jetbrains.k2js.translate.context.TemporaryVariable;
+import org.jetbrains.k2js.translate.context.TranslationContext;
+import org.jetbrains.k2js.translate.general.Translation;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.jetbrains.k2js.translate.utils.JsAstUtils.*;
+import static org.jetbrains.k2js.translate.utils.PsiUtils.getLoopRange;
+import static org.jetbrains.k2js.translate.utils.PsiUtils.getSelector;
+import static org.jetbrains.k2js.translate.utils.TemporariesUtils.temporariesInitialization;
+
+/**
+ * Translates for (i in array.indices) into a plain counting loop instead of creating a NumberRange.
+ */
+public final class ArrayIndicesForTranslator extends ForTranslator {
+
+    @NotNull
+    public static JsStatement doTranslate(@NotNull JetForExpression expression,
+                                          @NotNull TranslationContext context) {
+        return (new ArrayIndicesForTranslator(expression, context).translate());
+    }
+
+    public static boolean isApplicable(@NotNull JetForExpression expression,
+                                       @NotNull TranslationContext context) {
+        JetExpression loopRange = getLoopRange(expression);
+        if (!(loopRange instanceof JetDotQualifiedExpression)) {
+            return false;
+        }
+        CallableDescriptor getter = getPropertyGetter(getSelector((JetDotQualifiedExpression) loopRange), context);
+        return getter != null && context.intrinsics().isArrayIndicesGetter(getter);
+    }
+
+    @Nullable
+    private static CallableDescriptor getPropertyGetter(@NotNull JetExpression selector,
+                                                        @NotNull TranslationContext context) {
+        ResolvedCall<? extends CallableDescriptor> resolvedCall =
+                context.bindingContext().get(BindingContext.RESOLVED_CALL, selector);
+        if (resolvedCall == null) {
+            return null;
+        }
+        CallableDescriptor descriptor = resolvedCall.getResultingDescriptor();
+        if (!(descriptor instanceof PropertyDescriptor)) {
+            return null;
+        }
+        return ((PropertyDescriptor) descriptor).getGetter();
+    }
+
+    @NotNull
+    private final TemporaryVariable array;
+
+    @NotNull
+    private final TemporaryVariable end;
+
+    private ArrayIndicesForTranslator(@NotNull JetForExpression forExpression, @NotNull TranslationContext context) {
+        super(forExpression, context);
+        JetExpression loopRange = getLoopRange(expression);
+        assert loopRange instanceof JetDotQualifiedExpression;
+        JetExpression receiver = ((JetDotQualifiedExpression) loopRange).getReceiverExpression();
+        array = context.declareTemporary(Translation.translateAsExpression(receiver, context));
+        JsExpression length = context().intrinsics().getLengthPropertyIntrinsic().apply(array.reference(),
+                                                                                        Collections.<JsExpression>emptyList(),
+                                                                                        context());
+        end = context().declareTemporary(length);
+    }
+
+    @NotNull
+    private JsBlock translate() {
+        List<JsStatement> blockStatements = Lists.newArrayList();
+        blockStatements.add(temporariesInitialization(array, end).makeStmt());
+        blockStatements.add(generateForExpression(initExpression(),
+                                                  getCondition(),
+                                                  getIncrExpression(),
+                                                  translateOriginalBodyExpression()));
+        return newBlock(blockStatements);
+    }
+
+    @NotNull
+    private JsVars initExpression() {
+        return newVar(parameterName, program().getNumberLiteral(0));
+    }
+
+    @NotNull
+    private JsExpression getCondition() {
+        return inequality(parameterName.makeRef(), end.reference());
+    }
+
+    @NotNull
+    private JsExpression getIncrExpression() {
+        return new JsPrefixOperation(JsUnaryOperator.INC, parameterName.makeRef());
+    }
+}
@@ -36,6 +36,9 @@ public abstract class ForTranslator extends AbstractTranslator {
     @NotNull
     public static JsStatement translate(@NotNull JetForExpression expression,
                                         @NotNull TranslationContext context) {
+        if (ArrayIndicesForTranslator.isApplicable(expression, context)) {
+            return ArrayIndicesForTranslator.doTranslate(expression, context);
+        }
         if (RangeLiteralForTranslator.isApplicable(expression, context)) {
             return RangeLiteralForTranslator.doTranslate(expression, context);
         }
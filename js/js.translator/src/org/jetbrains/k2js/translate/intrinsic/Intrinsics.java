@@ -37,8 +37,10 @@ import org.jetbrains.k2js.translate.operation.OperatorTable;
 import org.jetbrains.k2js.translate.utils.DescriptorUtils;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.jetbrains.jet.lang.types.expressions.OperatorConventions.*;
 import static org.jetbrains.k2js.translate.utils.DescriptorUtils.getFunctionByName;
@@ -65,6 +67,12 @@ public final class Intrinsics {
     private final Map<FunctionDescriptor, CompareToIntrinsic> compareToIntrinsics =
             new HashMap<FunctionDescriptor, CompareToIntrinsic>();
 
+    @NotNull
+    private final Set<ClassDescriptor> arrayClasses = new HashSet<ClassDescriptor>();
+
+    @NotNull
+    private final Set<FunctionDescriptor> arrayIndicesGetters = new HashSet<FunctionDescriptor>();
+
     @NotNull
     private final Intrinsic lengthPropertyIntrinsic = new BuiltInPropertyIntrinsic("length");
 
@@ -107,6 +115,14 @@ public final class Intrinsics {
         return lengthPropertyIntrinsic;
     }
 
+    public boolean isArrayClass(@NotNull ClassDescriptor descriptor) {
+        return arrayClasses.contains(descriptor.getOriginal());
+    }
+
+    public boolean isArrayIndicesGetter(@NotNull CallableDescriptor descriptor) {
+        return arrayIndicesGetters.contains(descriptor.getOriginal());
+    }
+
     private void declareTuplesIntrinsics() {
         for (int tupleSize = 0; tupleSize < JetStandardClasses.TUPLE_COUNT; ++tupleSize) {
             declareTupleIntrinsics(tupleSize);
@@ -132,6 +148,7 @@ public final class Intrinsics {
     //TODO: some dangerous operation unchecked here
     private void declareIntrinsicsForArrayType(@NotNull JetType arrayType) {
         JetScope arrayMemberScope = arrayType.getMemberScope();
+        arrayClasses.add(DescriptorUtils.getClassDescriptorForType(arrayType));
         FunctionDescriptor setFunction = getFunctionByName(arrayMemberScope, "set");
         functionIntrinsics.put(setFunction, ArraySetIntrinsic.INSTANCE);
         FunctionDescriptor getFunction = getFunctionByName(arrayMemberScope, "get");
@@ -140,6 +157,7 @@ public final class Intrinsics {
         functionIntrinsics.put(sizeProperty.getGetter(), lengthPropertyIntrinsic);
         //TODO: excessive object creation
         PropertyDescriptor indicesProperty = getPropertyByName(arrayMemberScope, "indices");
+        arrayIndicesGetters.add(indicesProperty.getGetter());
         functionIntrinsics.put(indicesProperty.getGetter(), new CallStandardMethodIntrinsic("Kotlin.arrayIndices", true, 0));
         FunctionDescriptor iteratorFunction = getFunctionByName(arrayMemberScope, "iterator");
         functionIntrinsics.put(iteratorFunction, new CallStandardMethodIntrinsic("Kotlin.arrayIterator", true, 0));
@@ -0,0 +1,17 @@
+package foo
+
+val a1 = Array<Int>(4, {(i : Int) -> i * 10})
+
+fun box() : Boolean {
+    var indexSum = 0
+    var valueSum = 0
+    for (i in a1.indices) {
+        indexSum += i
+        valueSum += a1[i]
+    }
+    var count = 0
+    for (i in Array<Int>(0).indices) {
+        count++
+    }
+    return (indexSum == 6) && (valueSum == 60) && (count == 0)
+}
@@ -0,0 +1,19 @@
+package foo
+
+fun box() : Boolean {
+    val a = IntArray(5)
+    a[1] = 1
+    a[4] = 4
+    var sum = 0
+    for (i in a) {
+        sum += i
+    }
+    val d = DoubleArray(2)
+    d[0] = 0.5
+    d[1] = 1.5
+    var dsum = 0.0
+    for (x in d) {
+        dsum += x
+    }
+    return (sum == 5) && (dsum == 2.0)
+}
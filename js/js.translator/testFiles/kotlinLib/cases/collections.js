@@ -0,0 +1,111 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+// The translator compiles for loops over arrays and indices to indexed loops, and HashMap keeps string and number keys
+// in native objects. Both must behave exactly like the iterator and jshashtable based code they replace.
+
+var SIZE = 1000;
+
+var array = Kotlin.arrayFromFun(SIZE, function (i) {
+    return i;
+});
+
+function arrayIteratorSum() {
+    var sum = 0;
+    var it = Kotlin.arrayIterator(array);
+    while (it.hasNext()) {
+        sum += it.next();
+    }
+    return sum;
+}
+
+function arrayIndexedSum() {
+    var sum = 0;
+    for (var i = 0, n = array.length; i != n; ++i) {
+        sum += array[i];
+    }
+    return sum;
+}
+
+function indicesIteratorSum() {
+    var sum = 0;
+    var it = Kotlin.arrayIndices(array).iterator();
+    while (it.hasNext()) {
+        sum += it.next();
+    }
+    return sum;
+}
+
+function fillMap(map) {
+    for (var i = 0; i < SIZE; ++i) {
+        map.put(i, i);
+        map.put("key" + i, i);
+    }
+    var sum = 0;
+    for (var j = 0; j < SIZE; ++j) {
+        sum += map.get(j) + map.get("key" + j);
+    }
+    return sum;
+}
+
+function testMixedKeys() {
+    var map = new Kotlin.HashMap();
+    var objectKey = {};
+    if (map.put(1, "number") !== null) return false;
+    if (map.put("1", "string") !== null) return false;
+    if (map.put(objectKey, "object") !== null) return false;
+    if (map.size() !== 3) return false;
+    if (map.get(1) !== "number" || map.get("1") !== "string" || map.get(objectKey) !== "object") return false;
+    if (map.put(1, "number again") !== "number") return false;
+    if (map.size() !== 3) return false;
+    if (map.keySet().size() !== 3 || map.values().size() !== 3) return false;
+    if (!map.containsValue("string") || !map.containsValue("object")) return false;
+
+    if (map.remove("1") !== "string") return false;
+    if (map.containsKey("1") || !map.containsKey(1)) return false;
+    if (map.remove("1") !== null) return false;
+    if (map.size() !== 2) return false;
+
+    map.clear();
+    return map.isEmpty() && map.get(1) === null && map.get(objectKey) === null;
+}
+
+function testArrayList() {
+    var list = new Kotlin.ArrayList();
+    for (var i = 0; i < 5; ++i) {
+        list.add(i);
+    }
+    var other = new Kotlin.ArrayList();
+    other.addAll(list);
+    if (other.size() !== 5 || other.get(4) !== 4) return false;
+    if (other.remove(0) !== 0 || other.size() !== 4 || other.get(0) !== 1) return false;
+    if (!other.contains(3) || other.contains(0)) return false;
+    var sum = 0;
+    var it = other.iterator();
+    while (it.hasNext()) {
+        sum += it.next();
+    }
+    return sum === 10;
+}
+
+function test() {
+    var expected = SIZE * (SIZE - 1) / 2;
+    if (arrayIteratorSum() !== expected || arrayIndexedSum() !== expected) return false;
+    if (indicesIteratorSum() !== expected) return false;
+    if (fillMap(new Kotlin.HashMap()) !== fillMap(new Kotlin.HashTable())) return false;
+    if (fillMap(new Kotlin.HashMap()) !== 2 * expected) return false;
+    return testMixedKeys() && testArrayList();
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+// Compares the code shapes the translator and the runtime used to have (iterator objects, jshashtable, the old ArrayList)
+// with the current fast paths.
+// Every benchmark computes the same checksum both ways so the comparison can't be optimized away.
+
+var SIZE = 20000;
+
+function time(f) {
+    var start = new Date().getTime();
+    var result = f();
+    return {millis:new Date().getTime() - start, result:result};
+}
+
+function compare(name, slow, fast) {
+    var before = time(slow);
+    var after = time(fast);
+    if (before.result !== after.result) {
+        throw name + ": results differ, " + before.result + " vs " + after.result;
+    }
+    return name + ": " + before.millis + " ms -> " + after.millis + " ms\n";
+}
+
+var array = Kotlin.arrayFromFun(SIZE, function (i) {
+    return i;
+});
+
+function arrayIteratorLoop() {
+    var sum = 0;
+    var it = Kotlin.arrayIterator(array);
+    while (it.hasNext()) {
+        sum += it.next();
+    }
+    return sum;
+}
+
+function arrayIndexedLoop() {
+    var sum = 0;
+    for (var i = 0, n = array.length; i != n; ++i) {
+        sum += array[i];
+    }
+    return sum;
+}
+
+function rangeIteratorLoop() {
+    var sum = 0;
+    var it = Kotlin.arrayIndices(array).iterator();
+    while (it.hasNext()) {
+        sum += it.next();
+    }
+    return sum;
+}
+
+function rangeIndexedLoop() {
+    var sum = 0;
+    for (var i = 0, n = array.length; i != n; ++i) {
+        sum += i;
+    }
+    return sum;
+}
+
+function fillMap(map) {
+    for (var i = 0; i < SIZE; ++i) {
+        map.put(i, i);
+        map.put("key" + i, i);
+    }
+    var sum = 0;
+    for (var j = 0; j < SIZE; ++j) {
+        sum += map.get(j) + map.get("key" + j);
+    }
+    return sum;
+}
+
+// The ArrayList the runtime used to have: a separate size counter, and an iterator that goes through get()
+function OldArrayList() {
+    this.array = [];
+    this.$size = 0;
+}
+
+OldArrayList.prototype.get = function (index) {
+    if ((index < 0) || (index >= this.$size)) {
+        throw Kotlin.Exceptions.IndexOutOfBounds;
+    }
+    return (this.array)[index];
+};
+
+OldArrayList.prototype.size = function () {
+    return this.$size;
+};
+
+OldArrayList.prototype.add = function (element) {
+    this.array[this.$size++] = element;
+};
+
+OldArrayList.prototype.addAll = function (collection) {
+    var it = collection.iterator();
+    while (it.hasNext()) {
+        this.add(it.next());
+    }
+};
+
+OldArrayList.prototype.iterator = function () {
+    var list = this;
+    var index = 0;
+    return {
+        next:function () {
+            return list.get(index++);
+        },
+        hasNext:function () {
+            return list.size() > index;
+        }
+    };
+};
+
+function fillList(list, copy) {
+    for (var i = 0; i < SIZE; ++i) {
+        list.add(i);
+    }
+    copy.addAll(list);
+    var sum = 0;
+    var it = copy.iterator();
+    while (it.hasNext()) {
+        sum += it.next();
+    }
+    return sum;
+}
+
+function benchmark() {
+    var report = "";
+    report += compare("for over array", arrayIteratorLoop, arrayIndexedLoop);
+    report += compare("for over indices", rangeIteratorLoop, rangeIndexedLoop);
+    report += compare("HashMap with number and string keys", function () {
+        return fillMap(new Kotlin.HashTable());
+    }, function () {
+        return fillMap(new Kotlin.HashMap());
+    });
+    report += compare("ArrayList add, addAll and iteration", function () {
+        return fillList(new OldArrayList(), new OldArrayList());
+    }, function () {
+        return fillList(new Kotlin.ArrayList(), new Kotlin.ArrayList());
+    });
+    return report;
+}
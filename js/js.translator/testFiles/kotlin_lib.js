@@ -292,51 +292,64 @@ var Kotlin;
     Kotlin.ArrayList = Class.create({
         initialize:function () {
             this.array = [];
-            this.$size = 0;
         },
         get:function (index) {
-            if ((index < 0) || (index >= this.$size)) {
+            if ((index < 0) || (index >= this.array.length)) {
                 throw Kotlin.Exceptions.IndexOutOfBounds;
             }
-            return (this.array)[index];
+            return this.array[index];
         },
         set:function (index, value) {
-            if ((index < 0) || (index >= this.$size)) {
+            if ((index < 0) || (index >= this.array.length)) {
                 throw Kotlin.Exceptions.IndexOutOfBounds;
             }
-            (this.array)[index] = value;
+            var old = this.array[index];
+            this.array[index] = value;
+            return old;
         },
         size:function () {
-            return this.$size;
+            return this.array.length;
         },
         iterator:function () {
             return new Kotlin.ArrayIterator(this);
         },
         isEmpty:function () {
-            return (this.$size === 0);
+            return (this.array.length === 0);
         },
         add:function (element) {
-            this.array[this.$size++] = element;
+            this.array.push(element);
+            return true;
         },
         addAll:function (collection) {
+            var array = this.array;
+            if (collection instanceof Kotlin.ArrayList) {
+                var source = collection.array;
+                for (var i = 0, n = source.length; i < n; ++i) {
+                    array.push(source[i]);
+                }
+                return n !== 0;
+            }
             var it = collection.iterator();
+            var changed = false;
             while (it.hasNext()) {
-                this.add(it.next());
+                array.push(it.next());
+                changed = true;
             }
+            return changed;
         },
         remove:function (index) {
-            for (var i = index; i < this.$size - 1; ++i) {
-                this.array[i] = this.array[i + 1];
+            if ((index < 0) || (index >= this.array.length)) {
+                throw Kotlin.Exceptions.IndexOutOfBounds;
             }
-            this.$size--;
+            return this.array.splice(index, 1)[0];
         },
         clear:function () {
-            this.array = [];
-            this.$size = 0;
+            this.array.length = 0;
         },
         contains:function (obj) {
-            for (var i = 0; i < this.$size; ++i) {
-                if (Kotlin.equals(this.array[i], obj)) {
+            var array = this.array;
+            for (var i = 0, n = array.length; i < n; ++i) {
+                if (Kotlin.equals(array[i], obj)) {
                     return true;
                 }
             }
@@ -407,15 +420,15 @@ var Kotlin;
     });
 
     Kotlin.ArrayIterator = Class.create(Kotlin.Iterator, {
-        initialize:function (array) {
-            this.array = array;
+        initialize:function (list) {
+            this.array = list.array;
             this.index = 0;
         },
         next:function () {
-            return this.array.get(this.index++);
+            return this.array[this.index++];
         },
         hasNext:function () {
-            return (this.array.size() > this.index);
+            return (this.array.length > this.index);
         },
         get_hasNext:function () {
             return this.hasNext();
@@ -985,13 +998,182 @@ var Kotlin;
         Kotlin.HashTable = Hashtable;
     })();
 
-    Kotlin.HashMap = Kotlin.Class.create(
-            {
-                initialize:function () {
-                    Kotlin.HashTable.call(this);
+    (function () {
+        // String and number keys are stored directly in native objects, which avoids hashing them through
+        // hashObject() and searching buckets. String keys get a prefix so that they never clash with
+        // Object.prototype members (e.g. "__proto__"). All other keys go to a lazily created HashTable.
+        function isStringKey(key) {
+            return typeof key === "string";
+        }
+
+        function isNumberKey(key) {
+            return typeof key === "number";
+        }
+
+        function stringKey(key) {
+            return "$" + key;
+        }
+
+        function HashMap() {
+            var strings = {};
+            var numbers = {};
+            var primitiveSize = 0;
+            var table = null;
+
+            function objectTable() {
+                if (table === null) {
+                    table = new Kotlin.HashTable();
                 }
+                return table;
             }
-    );
+
+            function nativeMapFor(key) {
+                if (isStringKey(key)) {
+                    return strings;
+                }
+                if (isNumberKey(key)) {
+                    return numbers;
+                }
+                return null;
+            }
+
+            function nativeKey(key) {
+                return isStringKey(key) ? stringKey(key) : key;
+            }
+
+            function eachNative(callback) {
+                var key;
+                for (key in strings) {
+                    if (strings.hasOwnProperty(key)) {
+                        callback(key.substring(1), strings[key]);
+                    }
+                }
+                for (key in numbers) {
+                    if (numbers.hasOwnProperty(key)) {
+                        callback(+key, numbers[key]);
+                    }
+                }
+            }
+
+            this.put = function (key, value) {
+                var map = nativeMapFor(key);
+                if (map === null) {
+                    return objectTable().put(key, value);
+                }
+                var k = nativeKey(key);
+                if (k in map) {
+                    var oldValue = map[k];
+                    map[k] = value;
+                    return oldValue;
+                }
+                map[k] = value;
+                primitiveSize++;
+                return null;
+            };
+
+            this.get = function (key) {
+                var map = nativeMapFor(key);
+                if (map === null) {
+                    return table === null ? null : table.get(key);
+                }
+                var k = nativeKey(key);
+                return (k in map) ? map[k] : null;
+            };
+
+            this.containsKey = function (key) {
+                var map = nativeMapFor(key);
+                if (map === null) {
+                    return table !== null && table.containsKey(key);
+                }
+                return nativeKey(key) in map;
+            };
+
+            this.containsValue = function (value) {
+                var found = false;
+                eachNative(function (k, v) {
+                    if (!found && Kotlin.equals(v, value)) {
+                        found = true;
+                    }
+                });
+                return found || (table !== null && table.containsValue(value));
+            };
+
+            this.remove = function (key) {
+                var map = nativeMapFor(key);
+                if (map === null) {
+                    return table === null ? null : table.remove(key);
+                }
+                var k = nativeKey(key);
+                if (!(k in map)) {
+                    return null;
+                }
+                var oldValue = map[k];
+                delete map[k];
+                primitiveSize--;
+                return oldValue;
+            };
+
+            this.putAll = function (m) {
+                var it = m.keySet().iterator();
+                while (it.hasNext()) {
+                    var key = it.next();
+                    this.put(key, m.get(key));
+                }
+            };
+
+            this.clear = function () {
+                strings = {};
+                numbers = {};
+                primitiveSize = 0;
+                table = null;
+            };
+
+            this.size = function () {
+                return primitiveSize + (table === null ? 0 : table.size());
+            };
+
+            this.isEmpty = function () {
+                return this.size() === 0;
+            };
+
+            this.keySet = function () {
+                var res = new Kotlin.HashSet();
+                eachNative(function (k) {
+                    res.add(k);
+                });
+                if (table !== null) {
+                    var keys = table._keys();
+                    var i = keys.length;
+                    while (i--) {
+                        res.add(keys[i]);
+                    }
+                }
+                return res;
+            };
+
+            this.values = function () {
+                var res = new Kotlin.ArrayList();
+                eachNative(function (k, v) {
+                    res.add(v);
+                });
+                if (table !== null) {
+                    var values = table._values();
+                    for (var i = 0, n = values.length; i < n; ++i) {
+                        res.add(values[i]);
+                    }
+                }
+                return res;
+            };
+        }
+
+        Kotlin.HashMap = Kotlin.Class.create(
+                {
+                    initialize:function () {
+                        HashMap.call(this);
+                    }
+                }
+        );
+    })();
 
 
     (function () {
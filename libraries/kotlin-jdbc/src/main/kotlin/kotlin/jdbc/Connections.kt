@@ -47,6 +47,33 @@ fun <T> Connection.query(sql: String, block: (ResultSet) -> T): T {
 }
 
 
+/**
+ * Perform a query on the connection and processes the result set with a function,
+ * asking the driver to fetch the given number of rows at a time
+ */
+fun <T> Connection.query(sql: String, fetchSize: Int, block: (ResultSet) -> T): T {
+    return statement{
+        it.setFetchSize(fetchSize)
+        val rs = it.executeQuery(sql)
+        if (rs != null) {
+            block(rs)
+        } else {
+            throw IllegalStateException("No ResultSet returned executeQuery($sql) on $this")
+        }
+    }
+}
+
+/**
+ * Prepares the SQL and executes it once for every item in batches of the given size,
+ * see [[PreparedStatement.executeBatch()]]
+ */
+fun <T> Connection.executeBatch(sql: String, items: java.lang.Iterable<T>, batchSize: Int = 1000, bind: (PreparedStatement, T) -> Unit): Int {
+    val preparedStatement = prepareStatement(sql)
+    if (preparedStatement == null) {
+        throw IllegalStateException("No PreparedStatement returned from $this")
+    }
+    return preparedStatement.executeBatch(items, batchSize, bind)
+}
 
 /**
  * Perform a query on the connection using the [[StringTemplate]] to generate the SQL text
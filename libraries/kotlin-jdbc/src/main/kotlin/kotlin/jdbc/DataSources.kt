@@ -41,6 +41,20 @@ fun <T> DataSource.query(sql: String, block: (ResultSet) -> T): T {
     return use{ it.query(sql, block) }
 }
 
+/**
+ * Perform a query on the connection fetching the given number of rows at a time and processes the result set with a function
+ */
+fun <T> DataSource.query(sql: String, fetchSize: Int, block: (ResultSet) -> T): T {
+    return use{ it.query(sql, fetchSize, block) }
+}
+
+/**
+ * Executes the SQL once for every item in batches of the given size, see [[PreparedStatement.executeBatch()]]
+ */
+fun <T> DataSource.executeBatch(sql: String, items: java.lang.Iterable<T>, batchSize: Int = 1000, bind: (PreparedStatement, T) -> Unit): Int {
+    return use{ it.executeBatch(sql, items, batchSize, bind) }
+}
+
 /**
  * Performs the update using the given SQL using a [[StringTemplate]]
  */
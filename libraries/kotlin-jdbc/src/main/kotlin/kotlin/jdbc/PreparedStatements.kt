@@ -5,6 +5,7 @@ package kotlin.jdbc
  */
 import java.sql.PreparedStatement
 import java.sql.ResultSet
+import java.sql.Statement
 
 fun PreparedStatement.update(): Int {
     try {
@@ -25,4 +26,56 @@ fun <T> PreparedStatement.query(block: (ResultSet) -> T): T {
     } finally {
         close()
     }
-}
\ No newline at end of file
+}
+
+/**
+ * Executes the query asking the driver to fetch the given number of rows at a time
+ */
+fun <T> PreparedStatement.query(fetchSize: Int, block: (ResultSet) -> T): T {
+    setFetchSize(fetchSize)
+    return query(block)
+}
+
+/**
+ * Binds every item with the given function and executes the statement in batches of batchSize items,
+ * so the driver gets one round trip per batch instead of one per item.
+ * Returns the total number of updated rows; statements the driver reports without a count are counted as one row.
+ */
+fun <T> PreparedStatement.executeBatch(items: java.lang.Iterable<T>, batchSize: Int = 1000, bind: (PreparedStatement, T) -> Unit): Int {
+    if (batchSize < 1) {
+        throw IllegalArgumentException("batchSize must be positive: $batchSize")
+    }
+    try {
+        var total = 0
+        var pending = 0
+        for (item in items) {
+            bind(this, item)
+            addBatch()
+            pending++
+            if (pending == batchSize) {
+                total += updateCount(executeBatch())
+                pending = 0
+            }
+        }
+        if (pending > 0) {
+            total += updateCount(executeBatch())
+        }
+        return total
+    } finally {
+        close()
+    }
+}
+
+private fun updateCount(counts: IntArray?): Int {
+    var total = 0
+    if (counts != null) {
+        for (count in counts) {
+            if (count == Statement.SUCCESS_NO_INFO) {
+                total++
+            } else if (count > 0) {
+                total += count
+            }
+        }
+    }
+    return total
+}
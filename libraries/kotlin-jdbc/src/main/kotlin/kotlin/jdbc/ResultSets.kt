@@ -3,18 +3,38 @@ package kotlin.jdbc
 import java.sql.*
 import java.util.ArrayList
 import java.util.Collection
+import java.util.HashMap
 import java.util.List
+import java.util.Locale
+import java.util.Map
+import java.util.NoSuchElementException
 
 /**
-* Creates an iterator through a [[ResultSet]]
+* Creates an iterator through a [[ResultSet]].
+* Rows are fetched from the driver one at a time as the iteration goes, so the result set is never loaded into memory.
 */
 fun ResultSet.iterator() : Iterator<ResultSet> {
     val rs = this
     return object : Iterator<ResultSet>{
+        var fetched = false
+        var more = false
+
         override val hasNext : Boolean
-        get() = rs.next()
+        get() {
+            if (!fetched) {
+                more = rs.next()
+                fetched = true
+            }
+            return more
+        }
 
-        override fun next() : ResultSet = rs
+        override fun next() : ResultSet {
+            if (!hasNext) {
+                throw NoSuchElementException()
+            }
+            fetched = false
+            return rs
+        }
     }
 }
 
@@ -29,7 +49,101 @@ fun ResultSet.get(columnId: Int): Any? = this.getObject(columnId)
 fun ResultSet.get(columnName: String): Any? = this.getObject(columnName)
 
 /**
- * Maps the collection of rows to some value
+ * Returns the int value at the given column index (starting at 1), or 0 if the value is SQL NULL, without boxing it
+ */
+fun ResultSet.intValue(columnId: Int): Int = this.getInt(columnId)
+
+/**
+ * Returns the int value at the given column name, or 0 if the value is SQL NULL, without boxing it
+ */
+fun ResultSet.intValue(columnName: String): Int = this.getInt(columnName)
+
+/**
+ * Returns the long value at the given column index (starting at 1), or 0 if the value is SQL NULL, without boxing it
+ */
+fun ResultSet.longValue(columnId: Int): Long = this.getLong(columnId)
+
+/**
+ * Returns the long value at the given column name, or 0 if the value is SQL NULL, without boxing it
+ */
+fun ResultSet.longValue(columnName: String): Long = this.getLong(columnName)
+
+/**
+ * Returns the double value at the given column index (starting at 1), or 0 if the value is SQL NULL, without boxing it
+ */
+fun ResultSet.doubleValue(columnId: Int): Double = this.getDouble(columnId)
+
+/**
+ * Returns the double value at the given column name, or 0 if the value is SQL NULL, without boxing it
+ */
+fun ResultSet.doubleValue(columnName: String): Double = this.getDouble(columnName)
+
+/**
+ * Returns the boolean value at the given column index (starting at 1), or false if the value is SQL NULL, without boxing it
+ */
+fun ResultSet.booleanValue(columnId: Int): Boolean = this.getBoolean(columnId)
+
+/**
+ * Returns the boolean value at the given column name, or false if the value is SQL NULL, without boxing it
+ */
+fun ResultSet.booleanValue(columnName: String): Boolean = this.getBoolean(columnName)
+
+/**
+ * Returns the string value at the given column index (starting at 1)
+ */
+fun ResultSet.stringValue(columnId: Int): String? = this.getString(columnId)
+
+/**
+ * Returns the string value at the given column name
+ */
+fun ResultSet.stringValue(columnName: String): String? = this.getString(columnName)
+
+/**
+ * Returns the column indices of this result set, looked up in the [[ResultSetMetaData]].
+ * Call it once before iterating over the rows and read the columns by index, so that the driver does not
+ * search the columns by name on every row:
+ *
+ * <pre>
+ * val columns = resultSet.columnIndex()
+ * val id = columns["id"]
+ * for (row in resultSet) process(row.intValue(id))
+ * </pre>
+ */
+fun ResultSet.columnIndex(): ColumnIndex = ColumnIndex(getMetaData().sure())
+
+/**
+ * Maps column labels to column indices (starting at 1); like [[ResultSet#findColumn()]] the labels are case insensitive
+ */
+class ColumnIndex(metaData: ResultSetMetaData) {
+    private val indices: Map<String, Int> = createIndices(metaData)
+
+    fun get(columnName: String): Int {
+        val index = indices.get(normalize(columnName))
+        if (index == null) {
+            throw SQLException("Column $columnName not found")
+        }
+        return index
+    }
+
+    private fun createIndices(metaData: ResultSetMetaData): Map<String, Int> {
+        val answer = HashMap<String, Int>()
+        for (i in 1..metaData.getColumnCount()) {
+            val label = normalize(metaData.getColumnLabel(i).sure())
+            // the first column wins, as in findColumn()
+            if (!answer.containsKey(label)) {
+                answer.put(label, i)
+            }
+        }
+        return answer
+    }
+
+    // not the default locale: "id" must match "ID" under the Turkish one too
+    private fun normalize(label: String): String = label.toUpperCase(Locale.ENGLISH.sure())
+}
+
+/**
+ * Maps the collection of rows to some value.
+ * All the results are kept in memory; iterate over the result set with a for loop to process the rows one by one.
  */
 fun <T> ResultSet.map(fn: (ResultSet) -> T) : List<T> {
     val answer = ArrayList<T>()
@@ -0,0 +1,94 @@
+package test.kotlin.jdbc
+
+import kotlin.jdbc. *
+import kotlin.test. *
+
+import junit.framework.TestCase
+import java.util.ArrayList
+import java.util.Locale
+
+class JdbcBatchTest : TestCase() {
+    override fun setUp() {
+        dataSource.update("create table bar (id int primary key, name varchar(100), amount double)")
+    }
+
+    override fun tearDown() {
+        dataSource.update("drop table bar")
+    }
+
+    fun testBatchInsertAndStreamingRead() {
+        val ids = ArrayList<Int>()
+        for (i in 1..2500) ids.add(i)
+
+        val inserted = dataSource.executeBatch("insert into bar (id, name, amount) values (?, ?, ?)", ids, 1000) {
+            (statement, id) ->
+            statement.setInt(1, id)
+            statement.setString(2, "name$id")
+            statement.setDouble(3, id * 0.5)
+        }
+        assertEquals(2500, inserted)
+
+        dataSource.query("select id, name, amount from bar order by id", 100) {
+            val columns = it.columnIndex()
+            val id = columns["ID"]
+            val name = columns["name"]
+            val amount = columns["Amount"]
+            var count = 0
+            var sum = 0.0
+            for (row in it) {
+                count++
+                assertEquals(count, row.intValue(id))
+                assertEquals("name$count", row.stringValue(name))
+                assertEquals("name$count", row["Name"])
+                sum += row.doubleValue(amount)
+            }
+            assertEquals(2500, count)
+            assertEquals(2500 * 2501 * 0.25, sum)
+        }
+    }
+
+    fun testEmptyBatch() {
+        assertEquals(0, dataSource.executeBatch("insert into bar (id, name, amount) values (?, ?, ?)", ArrayList<Int>()) {
+            (statement, id) ->
+            statement.setInt(1, id)
+        })
+    }
+
+    fun testIteratorHasNextDoesNotSkipRows() {
+        dataSource.update("insert into bar (id, name, amount) values (1, 'a', 1.0)")
+        dataSource.update("insert into bar (id, name, amount) values (2, 'b', 2.0)")
+        dataSource.query("select id from bar order by id") {
+            val iterator = it.iterator()
+            assertTrue(iterator.hasNext)
+            assertTrue(iterator.hasNext)
+            assertEquals(1, iterator.next().intValue("id"))
+            assertEquals(2, iterator.next().intValue("id"))
+            assertFalse(iterator.hasNext)
+        }
+    }
+
+    fun testColumnIndexIgnoresDefaultLocale() {
+        val defaultLocale = Locale.getDefault().sure()
+        Locale.setDefault(Locale("tr"))
+        try {
+            dataSource.query("select id, name from bar") {
+                val columns = it.columnIndex()
+                assertEquals(1, columns["id"])
+                assertEquals(2, columns["NAME"])
+                fails { columns["missing"] }
+            }
+        }
+        finally {
+            Locale.setDefault(defaultLocale)
+        }
+    }
+
+    fun testUnknownColumn() {
+        dataSource.update("insert into bar (id, name, amount) values (1, 'a', 1.0)")
+        dataSource.query("select id from bar") {
+            for (row in it) {
+                fails { row["missing"] }
+            }
+        }
+    }
+}
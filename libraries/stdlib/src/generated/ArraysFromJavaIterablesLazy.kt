@@ -11,6 +11,10 @@ import java.util.List
 // This file contains methods which could have a lazy implementation for things like
 // Iterator<T> or java.util.Iterator<T>
 //
+// These versions build a new list at every step. The lazy versions in Iterators.kt work on
+// java.util.Iterator: a chain like iterator().filter { }.map { }.take(10) pulls each element
+// through all the stages and stops as soon as the terminal operation (toList(), find(), ...) is done
+//
 // See [[GenerateStandardLib.kt]] for more details
 //
 
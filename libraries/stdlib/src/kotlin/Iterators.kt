@@ -98,12 +98,20 @@ private class FlatMapIterator<T, R>(val iterator : java.util.Iterator<T>, val tr
  *
  * @includeFunction ../../test/iterators/IteratorsTest.kt takeExtractsTheFirstNElements
  */
-inline fun <T> java.util.Iterator<T>.take(n: Int): java.util.Iterator<T> {
-    fun countTo(n: Int): (T) -> Boolean {
-        var count = 0
-        return { ++count; count <= n }
+inline fun <T> java.util.Iterator<T>.take(n: Int): java.util.Iterator<T> = TakeIterator<T>(this, n)
+
+private class TakeIterator<T>(val iterator: java.util.Iterator<T>, val n: Int) : AbstractIterator<T>() {
+    var count = 0
+
+    override protected fun computeNext() : T? {
+        // checking the count first means the stages before take() never compute an element past the n-th one
+        if (count < n && iterator.hasNext()) {
+            count++
+            return iterator.next()
+        }
+        done()
+        return null
     }
-    return takeWhile(countTo(n))
 }
 
 /**
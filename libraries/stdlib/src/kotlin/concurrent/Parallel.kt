@@ -0,0 +1,379 @@
+package kotlin.concurrent
+
+import java.util.ArrayList
+import java.util.Collections
+import java.util.Comparator
+import java.util.List
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Future
+
+/*
+ * Parallel versions of the common bulk operations.
+ *
+ * The elements are split into contiguous chunks of at least threshold elements, each chunk is processed
+ * by a task submitted to the given executor, and the partial results are combined in order on the calling thread
+ * (parallelSort submits the merges to the executor too), so the result is the same as the sequential one
+ * as long as the combining function is associative.
+ * Inputs smaller than the threshold are processed by a single task.
+ */
+
+/**
+ * Returns a list containing the results of applying the given transform function to each element of the list
+ */
+public fun <T, R> List<T>.parallelMap(executor: ExecutorService, threshold: Int = 1024, transform: (T) -> R): List<R> {
+    val list = this
+    return executor.splitAndCombine<ArrayList<R>>(size(), threshold, { (a: ArrayList<R>, b: ArrayList<R>) -> a.addAll(b); a }) {
+        (from: Int, to: Int) ->
+        val part = ArrayList<R>(to - from)
+        var i = from
+        while (i < to) {
+            part.add(transform(list.get(i) as T))
+            i++
+        }
+        part
+    }
+}
+
+/**
+ * Returns a list containing the elements of the list which match the given predicate, in their original order
+ */
+public fun <T> List<T>.parallelFilter(executor: ExecutorService, threshold: Int = 1024, predicate: (T) -> Boolean): List<T> {
+    val list = this
+    return executor.splitAndCombine<ArrayList<T>>(size(), threshold, { (a: ArrayList<T>, b: ArrayList<T>) -> a.addAll(b); a }) {
+        (from: Int, to: Int) ->
+        val part = ArrayList<T>()
+        var i = from
+        while (i < to) {
+            val element = list.get(i) as T
+            if (predicate(element)) part.add(element)
+            i++
+        }
+        part
+    }
+}
+
+/**
+ * Folds every chunk of the list with the given operation starting from initial, then folds the partial results
+ * with combine. The initial value must be an identity of combine, and combine must be associative.
+ */
+public fun <T, R> List<T>.parallelFold(executor: ExecutorService, initial: R, combine: (R, R) -> R, threshold: Int = 1024, operation: (R, T) -> R): R {
+    val list = this
+    return executor.splitAndCombine<R>(size(), threshold, combine) {
+        (from: Int, to: Int) ->
+        var result = initial
+        var i = from
+        while (i < to) {
+            result = operation(result, list.get(i) as T)
+            i++
+        }
+        result
+    }
+}
+
+/**
+ * Returns a new list with the elements of the list sorted by the given comparator.
+ * Chunks are sorted in parallel and then merged pairwise, also in parallel, so the sort is stable.
+ */
+public fun <T> List<T>.parallelSort(executor: ExecutorService, comparator: Comparator<T>, threshold: Int = 1024): List<T> {
+    val list = this
+    var parts = executor.split<ArrayList<T>>(size(), threshold) {
+        (from: Int, to: Int) ->
+        val part = ArrayList<T>(list.subList(from, to))
+        Collections.sort(part, comparator)
+        part
+    }
+    // neighbours are merged a level at a time, each merge is submitted as soon as both of its parts are ready
+    while (parts.size() > 1) {
+        val merged = ArrayList<Future<ArrayList<T>>>()
+        var i = 0
+        while (i + 1 < parts.size()) {
+            val left = await(parts.get(i).sure())
+            val right = await(parts.get(i + 1).sure())
+            merged.add(executor.submit(object : Callable<ArrayList<T>> {
+                override fun call(): ArrayList<T>? = merge(left, right, comparator)
+            }).sure())
+            i += 2
+        }
+        if (i < parts.size()) merged.add(parts.get(i).sure())
+        parts = merged
+    }
+    return await(parts.get(0).sure())
+}
+
+/**
+ * Returns a new list with the elements of the list sorted by the values the given function calculates
+ */
+public fun <T> List<T>.parallelSortBy(executor: ExecutorService, threshold: Int = 1024, f: (T) -> Any?): List<T>
+    = parallelSort(executor, comparator<T>(f), threshold)
+
+/**
+ * Returns a list containing the results of applying the given transform function to each element of the array
+ */
+public fun <T, R> Array<T>.parallelMap(executor: ExecutorService, threshold: Int = 1024, transform: (T) -> R): List<R> {
+    val array = this
+    return executor.splitAndCombine<ArrayList<R>>(size, threshold, { (a: ArrayList<R>, b: ArrayList<R>) -> a.addAll(b); a }) {
+        (from: Int, to: Int) ->
+        val part = ArrayList<R>(to - from)
+        var i = from
+        while (i < to) {
+            part.add(transform(array[i]))
+            i++
+        }
+        part
+    }
+}
+
+/**
+ * Returns a list containing the elements of the array which match the given predicate, in their original order
+ */
+public fun <T> Array<T>.parallelFilter(executor: ExecutorService, threshold: Int = 1024, predicate: (T) -> Boolean): List<T> {
+    val array = this
+    return executor.splitAndCombine<ArrayList<T>>(size, threshold, { (a: ArrayList<T>, b: ArrayList<T>) -> a.addAll(b); a }) {
+        (from: Int, to: Int) ->
+        val part = ArrayList<T>()
+        var i = from
+        while (i < to) {
+            val element = array[i]
+            if (predicate(element)) part.add(element)
+            i++
+        }
+        part
+    }
+}
+
+/**
+ * Folds the array in parallel, see [[List.parallelFold]]
+ */
+public fun <T, R> Array<T>.parallelFold(executor: ExecutorService, initial: R, combine: (R, R) -> R, threshold: Int = 1024, operation: (R, T) -> R): R {
+    val array = this
+    return executor.splitAndCombine<R>(size, threshold, combine) {
+        (from: Int, to: Int) ->
+        var result = initial
+        var i = from
+        while (i < to) {
+            result = operation(result, array[i])
+            i++
+        }
+        result
+    }
+}
+
+/**
+ * Folds the numbers of the range in parallel, in iteration order, see [[List.parallelFold]]
+ */
+public fun <R> IntRange.parallelFold(executor: ExecutorService, initial: R, combine: (R, R) -> R, threshold: Int = 1024, operation: (R, Int) -> R): R {
+    val first = start
+    val step = if (isReversed) -1 else 1
+    return executor.splitAndCombine<R>(size, threshold, combine) {
+        (from: Int, to: Int) ->
+        var result = initial
+        var value = first + from * step
+        var i = from
+        while (i < to) {
+            result = operation(result, value)
+            value += step
+            i++
+        }
+        result
+    }
+}
+
+/**
+ * Returns a list containing the results of applying the given transform function to each number of the range
+ */
+public fun <R> IntRange.parallelMap(executor: ExecutorService, threshold: Int = 1024, transform: (Int) -> R): List<R> {
+    val first = start
+    val step = if (isReversed) -1 else 1
+    return executor.splitAndCombine<ArrayList<R>>(size, threshold, { (a: ArrayList<R>, b: ArrayList<R>) -> a.addAll(b); a }) {
+        (from: Int, to: Int) ->
+        val part = ArrayList<R>(to - from)
+        var value = first + from * step
+        var i = from
+        while (i < to) {
+            part.add(transform(value))
+            value += step
+            i++
+        }
+        part
+    }
+}
+
+/**
+ * Returns an array with the results of applying the given transform function to each element.
+ * Every task writes its own part of the result array instead of building an intermediate list.
+ * Function types are generic, so every call of transform still boxes its argument and its result.
+ */
+public fun IntArray.parallelMap(executor: ExecutorService, threshold: Int = 1024, transform: (Int) -> Int): IntArray {
+    val array = this
+    val result = IntArray(size)
+    executor.splitAndCombine<Boolean>(size, threshold, { (a: Boolean, b: Boolean) -> true }) {
+        (from: Int, to: Int) ->
+        var i = from
+        while (i < to) {
+            result[i] = transform(array[i])
+            i++
+        }
+        true
+    }
+    return result
+}
+
+/**
+ * Returns an array with the results of applying the given transform function to each element, see [[IntArray.parallelMap]]
+ */
+public fun LongArray.parallelMap(executor: ExecutorService, threshold: Int = 1024, transform: (Long) -> Long): LongArray {
+    val array = this
+    val result = LongArray(size)
+    executor.splitAndCombine<Boolean>(size, threshold, { (a: Boolean, b: Boolean) -> true }) {
+        (from: Int, to: Int) ->
+        var i = from
+        while (i < to) {
+            result[i] = transform(array[i])
+            i++
+        }
+        true
+    }
+    return result
+}
+
+/**
+ * Returns an array with the results of applying the given transform function to each element, see [[IntArray.parallelMap]]
+ */
+public fun DoubleArray.parallelMap(executor: ExecutorService, threshold: Int = 1024, transform: (Double) -> Double): DoubleArray {
+    val array = this
+    val result = DoubleArray(size)
+    executor.splitAndCombine<Boolean>(size, threshold, { (a: Boolean, b: Boolean) -> true }) {
+        (from: Int, to: Int) ->
+        var i = from
+        while (i < to) {
+            result[i] = transform(array[i])
+            i++
+        }
+        true
+    }
+    return result
+}
+
+/**
+ * Returns the sum of the elements, summed in parallel without boxing them
+ */
+public fun IntArray.parallelSum(executor: ExecutorService, threshold: Int = 1024): Long {
+    val array = this
+    return executor.splitAndCombine<Long>(size, threshold, { (a: Long, b: Long) -> a + b }) {
+        (from: Int, to: Int) ->
+        var sum = 0.toLong()
+        var i = from
+        while (i < to) {
+            sum += array[i]
+            i++
+        }
+        sum
+    }
+}
+
+/**
+ * Returns the sum of the elements, summed in parallel without boxing them
+ */
+public fun LongArray.parallelSum(executor: ExecutorService, threshold: Int = 1024): Long {
+    val array = this
+    return executor.splitAndCombine<Long>(size, threshold, { (a: Long, b: Long) -> a + b }) {
+        (from: Int, to: Int) ->
+        var sum = 0.toLong()
+        var i = from
+        while (i < to) {
+            sum += array[i]
+            i++
+        }
+        sum
+    }
+}
+
+/**
+ * Returns the sum of the elements, summed in parallel without boxing them.
+ * The chunks are summed separately, so the result may differ from the sequential sum in the last bits.
+ */
+public fun DoubleArray.parallelSum(executor: ExecutorService, threshold: Int = 1024): Double {
+    val array = this
+    return executor.splitAndCombine<Double>(size, threshold, { (a: Double, b: Double) -> a + b }) {
+        (from: Int, to: Int) ->
+        var sum = 0.0
+        var i = from
+        while (i < to) {
+            sum += array[i]
+            i++
+        }
+        sum
+    }
+}
+
+/**
+ * Runs chunk for consecutive index ranges [from, to) covering [0, size) and combines the results in order
+ */
+private fun <R> ExecutorService.splitAndCombine(size: Int, threshold: Int, combine: (R, R) -> R, chunk: (Int, Int) -> R): R {
+    val futures = split(size, threshold, chunk)
+    var result = await(futures.get(0).sure())
+    var i = 1
+    while (i < futures.size()) {
+        result = combine(result, await(futures.get(i).sure()))
+        i++
+    }
+    return result
+}
+
+/**
+ * Submits chunk for consecutive index ranges [from, to) covering [0, size), there is at least one range
+ */
+private fun <R> ExecutorService.split(size: Int, threshold: Int, chunk: (Int, Int) -> R): ArrayList<Future<R>> {
+    // a few tasks per processor, so that one slow chunk does not keep the others idle
+    val maxTasks = Runtime.getRuntime().sure().availableProcessors() * 4
+    val chunkSize = Math.max(Math.max(threshold, 1), (size + maxTasks - 1) / maxTasks)
+
+    val futures = ArrayList<Future<R>>()
+    var from = 0
+    do {
+        val start = from
+        val end = if (size - from > chunkSize) from + chunkSize else size
+        futures.add(submit(object : Callable<R> {
+            override fun call(): R? = chunk(start, end)
+        }).sure())
+        from = end
+    } while (from < size)
+    return futures
+}
+
+private fun <R> await(future: Future<R>): R {
+    try {
+        return future.get() as R
+    }
+    catch (e: ExecutionException) {
+        throw e.getCause() ?: e
+    }
+}
+
+private fun <T> merge(a: ArrayList<T>, b: ArrayList<T>, comparator: Comparator<T>): ArrayList<T> {
+    val result = ArrayList<T>(a.size() + b.size())
+    var i = 0
+    var j = 0
+    while (i < a.size() && j < b.size()) {
+        // take from the left part on ties to keep the sort stable
+        if (comparator.compare(b.get(j), a.get(i)) < 0) {
+            result.add(b.get(j))
+            j++
+        }
+        else {
+            result.add(a.get(i))
+            i++
+        }
+    }
+    while (i < a.size()) {
+        result.add(a.get(i))
+        i++
+    }
+    while (j < b.size()) {
+        result.add(b.get(j))
+        j++
+    }
+    return result
+}
@@ -0,0 +1,105 @@
+package test.concurrent
+
+import kotlin.concurrent.*
+import kotlin.test.*
+
+import java.util.ArrayList
+import java.util.concurrent.Executors
+import junit.framework.TestCase
+
+class ParallelTest() : TestCase() {
+    val executor = Executors.newFixedThreadPool(4).sure()
+
+    override fun tearDown() {
+        executor.shutdown()
+    }
+
+    fun numbers(count: Int): java.util.List<Int> {
+        val list = ArrayList<Int>()
+        for (i in 0..count - 1) list.add(i)
+        return list
+    }
+
+    fun testMapKeepsOrder() {
+        val result = numbers(10000).parallelMap(executor, 100) { it * 2 }
+        assertEquals(10000, result.size())
+        for (i in 0..9999) assertEquals(i * 2, result.get(i))
+    }
+
+    fun testFilterKeepsOrder() {
+        val result = numbers(10000).parallelFilter(executor, 100) { it % 3 == 0 }
+        assertEquals(3334, result.size())
+        assertEquals(0, result.get(0))
+        assertEquals(9999, result.get(3333))
+    }
+
+    fun testFold() {
+        val sum = numbers(10000).parallelFold(executor, 0, { (a: Int, b: Int) -> a + b }, 100) { (acc: Int, n: Int) -> acc + n }
+        assertEquals(49995000, sum)
+    }
+
+    fun testSmallInputIsOneChunk() {
+        val result = numbers(3).parallelMap(executor) { "$it" }
+        assertEquals(arrayList("0", "1", "2"), result)
+    }
+
+    fun testEmptyInput() {
+        assertEquals(0, numbers(0).parallelMap(executor) { it }.size())
+        assertEquals(7, numbers(0).parallelFold(executor, 7, { (a: Int, b: Int) -> a + b }) { (acc: Int, n: Int) -> acc + n })
+    }
+
+    fun testSortBy() {
+        val list = ArrayList<Int>()
+        for (i in 0..999) list.add((i * 7919) % 1000)
+        val result = list.parallelSortBy(executor, 50) { it }
+        for (i in 0..999) assertEquals(i, result.get(i))
+    }
+
+    fun testSortIsStableWithManyChunks() {
+        // threshold 1 splits the list into as many chunks as there are tasks, so the merge tree has several levels
+        val result = numbers(5000).parallelSortBy(executor, 1) { it % 7 }
+        assertEquals(5000, result.size())
+        val seen = BooleanArray(5000)
+        for (i in 0..4999) {
+            val n = result.get(i).sure()
+            assertFalse(seen[n])
+            seen[n] = true
+            if (i > 0) {
+                val previous = result.get(i - 1).sure()
+                // sorted by the key, and equal keys keep their original order
+                assertTrue(previous % 7 < n % 7 || (previous % 7 == n % 7 && previous < n))
+            }
+        }
+    }
+
+    fun testRangeFold() {
+        val ascending = (1..1000).parallelFold(executor, "", { (a: String, b: String) -> a + b }, 10) { (acc: String, n: Int) -> acc + "$n," }
+        val descending = (-(1..1000)).parallelFold(executor, "", { (a: String, b: String) -> a + b }, 10) { (acc: String, n: Int) -> acc + "$n," }
+        var expectedAscending = ""
+        var expectedDescending = ""
+        for (i in 1..1000) {
+            expectedAscending += "$i,"
+            expectedDescending += "${1001 - i},"
+        }
+        assertEquals(expectedAscending, ascending)
+        assertEquals(expectedDescending, descending)
+    }
+
+    fun testPrimitiveArrays() {
+        val ints = IntArray(5000)
+        for (i in 0..4999) ints[i] = i
+        assertEquals(12497500.toLong(), ints.parallelSum(executor, 100))
+        val squares = ints.parallelMap(executor, 100) { it * it }
+        assertEquals(4999 * 4999, squares[4999])
+
+        val doubles = DoubleArray(1000)
+        doubles.fill(0.5)
+        assertEquals(500.0, doubles.parallelSum(executor, 100))
+    }
+
+    fun testExceptionIsRethrown() {
+        fails {
+            numbers(1000).parallelMap(executor, 10) { if (it == 500) throw IllegalStateException() else it }
+        }
+    }
+}
@@ -24,6 +24,33 @@ class IteratorsTest {
         assertEquals(arrayList(0, 1, 1, 2, 3, 5, 8, 13, 21, 34), fibonacci().take(10).toList())
     }
 
+    Test fun takeStopsPullingFromTheSourceAfterNElements() {
+        var pulled = 0
+        val source = iterate<Int> { pulled++ }
+        assertEquals(arrayList(0, 1, 2), source.take(3).toList())
+        assertEquals(3, pulled)
+    }
+
+    Test fun lazyPipelineTransformsOnlyTheElementsItReturns() {
+        val numbers = arrayList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+
+        var eagerCalls = 0
+        val eager = numbers.filter { it % 2 == 0 }.map { eagerCalls++; it * it }.take(2)
+
+        var lazyCalls = 0
+        val lazy = numbers.iterator().filter { it % 2 == 0 }.map { lazyCalls++; it * it }.take(2).toList()
+
+        assertEquals(eager, lazy)
+        assertEquals(5, eagerCalls)
+        assertEquals(2, lazyCalls)
+    }
+
+    Test fun findStopsAtTheFirstMatch() {
+        var mapped = 0
+        assertEquals(13, fibonacci().map { mapped++; it }.find { it > 10 })
+        assertEquals(8, mapped)
+    }
+
     Test fun mapAndTakeWhileExtractTheTransformedElements() {
         assertEquals(arrayList(0, 3, 3, 6, 9, 15), fibonacci().map { it * 3 }.takeWhile { (i: Int) -> i < 20 }.toList())
     }
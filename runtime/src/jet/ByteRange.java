@@ -58,9 +58,9 @@ public final class ByteRange implements Range<Byte>, ByteIterable {
 
     public ByteIterator step(int step) {
         if(step < 0)
-            return new MyIterator(getEnd(), -count, -step);
+            return iterator(getEnd(), -count, -step);
         else
-            return new MyIterator(start, count, step);
+            return iterator(start, count, step);
     }
 
     public ByteRange minus() {
@@ -69,32 +69,70 @@ public final class ByteRange implements Range<Byte>, ByteIterable {
 
     @Override
     public ByteIterator iterator() {
-        return new MyIterator(start, count, 1);
+        return iterator(start, count, 1);
     }
 
     public static ByteRange count(int length) {
         return new ByteRange((byte) 0, length);
     }
 
-    private static class MyIterator extends ByteIterator {
+    /**
+     * @return the numbers of the range in iteration order, so that they can be walked with a counted loop
+     */
+    public byte[] toArray() {
+        byte[] result = new byte[getSize()];
+        byte value = start;
+        int delta = count < 0 ? -1 : 1;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = value;
+            value += delta;
+        }
+        return result;
+    }
+
+    private static ByteIterator iterator(byte startValue, int count, int step) {
+        if (count < 0) {
+            return new DownIterator(startValue, -count, step);
+        }
+        return new UpIterator(startValue, count, step);
+    }
+
+    // Separate classes for the two directions keep the direction check out of nextByte()
+
+    private static final class UpIterator extends ByteIterator {
         private byte cur;
-        private int step;
         private int count;
+        private final int step;
 
-        private final boolean reversed;
-
-        public MyIterator(byte startValue, int count, int step) {
-            cur = startValue;
+        private UpIterator(byte startValue, int count, int step) {
+            this.cur = startValue;
+            this.count = count;
             this.step = step;
-            if(count < 0) {
-                reversed = true;
-                count = -count;
-                startValue += count;
-            }
-            else {
-                reversed = false;
-            }
+        }
+
+        @Override
+        public boolean getHasNext() {
+            return count > 0;
+        }
+
+        @Override
+        public byte nextByte() {
+            byte result = cur;
+            cur += step;
+            count -= step;
+            return result;
+        }
+    }
+
+    private static final class DownIterator extends ByteIterator {
+        private byte cur;
+        private int count;
+        private final int step;
+
+        private DownIterator(byte startValue, int count, int step) {
+            this.cur = startValue;
             this.count = count;
+            this.step = step;
         }
 
         @Override
@@ -104,15 +142,10 @@ public final class ByteRange implements Range<Byte>, ByteIterable {
 
         @Override
         public byte nextByte() {
+            byte result = cur;
+            cur -= step;
             count -= step;
-            if(reversed) {
-                cur -= step;
-                return (byte) (cur + step);
-            }
-            else {
-                cur += step;
-                return (byte) (cur - step);
-            }
+            return result;
         }
     }
 }
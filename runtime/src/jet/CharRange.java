@@ -62,39 +62,77 @@ public final class CharRange implements Range<Character>, CharIterable {
 
     public CharIterator step(int step) {
         if(step < 0)
-            return new MyIterator(getEnd(), -count, -step);
+            return iterator(getEnd(), -count, -step);
         else
-            return new MyIterator(start, count, step);
+            return iterator(start, count, step);
     }
 
     @Override
     public CharIterator iterator() {
-        return new MyIterator(start, count, 1);
+        return iterator(start, count, 1);
     }
 
     public static CharRange count(int length) {
         return new CharRange((char) 0, length);
     }
 
-    private static class MyIterator extends CharIterator {
+    /**
+     * @return the numbers of the range in iteration order, so that they can be walked with a counted loop
+     */
+    public char[] toArray() {
+        char[] result = new char[getSize()];
+        char value = start;
+        int delta = count < 0 ? -1 : 1;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = value;
+            value += delta;
+        }
+        return result;
+    }
+
+    private static CharIterator iterator(char startValue, int count, int step) {
+        if (count < 0) {
+            return new DownIterator(startValue, -count, step);
+        }
+        return new UpIterator(startValue, count, step);
+    }
+
+    // Separate classes for the two directions keep the direction check out of nextChar()
+
+    private static final class UpIterator extends CharIterator {
         private char cur;
-        private int step;
         private int count;
+        private final int step;
 
-        private final boolean reversed;
-
-        public MyIterator(char startValue, int count, int step) {
-            cur = startValue;
+        private UpIterator(char startValue, int count, int step) {
+            this.cur = startValue;
+            this.count = count;
             this.step = step;
-            if(count < 0) {
-                reversed = true;
-                count = -count;
-                startValue += count;
-            }
-            else {
-                reversed = false;
-            }
+        }
+
+        @Override
+        public boolean getHasNext() {
+            return count > 0;
+        }
+
+        @Override
+        public char nextChar() {
+            char result = cur;
+            cur += step;
+            count -= step;
+            return result;
+        }
+    }
+
+    private static final class DownIterator extends CharIterator {
+        private char cur;
+        private int count;
+        private final int step;
+
+        private DownIterator(char startValue, int count, int step) {
+            this.cur = startValue;
             this.count = count;
+            this.step = step;
         }
 
         @Override
@@ -104,15 +142,10 @@ public final class CharRange implements Range<Character>, CharIterable {
 
         @Override
         public char nextChar() {
+            char result = cur;
+            cur -= step;
             count -= step;
-            if(reversed) {
-                cur -= step;
-                return (char) (cur + step);
-            }
-            else {
-                cur += step;
-                return (char) (cur - step);
-            }
+            return result;
         }
     }
 }
@@ -36,9 +36,9 @@ public final class DoubleRange implements Range<Double> {
 
     public DoubleIterator step(double step) {
         if(step < 0)
-            return new MyIterator(getEnd(), -size, -step);
+            return iterator(getEnd(), -size, -step);
         else
-            return new MyIterator(start, size, step);
+            return iterator(start, size, step);
     }
 
     public boolean getIsReversed() {
@@ -65,45 +65,60 @@ public final class DoubleRange implements Range<Double> {
         return new DoubleRange(0, length);
     }
 
-    private static class MyIterator extends DoubleIterator {
+    private static DoubleIterator iterator(double startValue, double size, double step) {
+        if (size < 0) {
+            return new DownIterator(startValue, startValue - size, step);
+        }
+        return new UpIterator(startValue, startValue + size, step);
+    }
+
+    // Separate classes for the two directions keep the direction check out of getHasNext() and nextDouble()
+
+    private static final class UpIterator extends DoubleIterator {
         private double cur;
-        private double step;
         private final double end;
+        private final double step;
+
+        private UpIterator(double startValue, double end, double step) {
+            this.cur = startValue;
+            this.end = end;
+            this.step = step;
+        }
+
+        @Override
+        public boolean getHasNext() {
+            return cur <= end;
+        }
 
-        private final boolean reversed;
+        @Override
+        public double nextDouble() {
+            double result = cur;
+            cur += step;
+            return result;
+        }
+    }
+
+    private static final class DownIterator extends DoubleIterator {
+        private double cur;
+        private final double end;
+        private final double step;
 
-        public MyIterator(double startValue, double size, double step) {
-            cur = startValue;
+        private DownIterator(double startValue, double end, double step) {
+            this.cur = startValue;
+            this.end = end;
             this.step = step;
-            if(size < 0) {
-                reversed = true;
-                end = startValue-size;
-                startValue -= size;
-            }
-            else {
-                reversed = false;
-                this.end = startValue + size;
-            }
         }
 
         @Override
         public boolean getHasNext() {
-            if(reversed)
-                return cur >= end;
-            else
-                return cur <= end;
+            return cur >= end;
         }
 
         @Override
         public double nextDouble() {
-            if(reversed) {
-                cur -= step;
-                return cur + step;
-            }
-            else {
-                cur += step;
-                return cur - step;
-            }
+            double result = cur;
+            cur -= step;
+            return result;
         }
     }
 }
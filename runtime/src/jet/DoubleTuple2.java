@@ -0,0 +1,75 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jet;
+
+/**
+ * A pair of non-nullable doubles that keeps its components unboxed: {@link #get_1()} and {@link #get_2()} box them on demand,
+ * and the inherited {@link #_1} and {@link #_2} fields stay null.
+ * The compiler creates it for tuple literals like <code>#(a, b)</code> where both entries are doubles
+ * and reads the components with {@link #get_1Double()} and {@link #get_2Double()}.
+ */
+public final class DoubleTuple2 extends Tuple2<Double, Double> {
+    private final double v1;
+    private final double v2;
+
+    public DoubleTuple2(double t1, double t2) {
+        super(null, null);
+        v1 = t1;
+        v2 = t2;
+    }
+
+    @Override
+    public Double get_1() {
+        return Double.valueOf(v1);
+    }
+    @Override
+    public Double get_2() {
+        return Double.valueOf(v2);
+    }
+
+    @Override
+    public double get_1Double() {
+        return v1;
+    }
+    @Override
+    public double get_2Double() {
+        return v2;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + v1 + ", " + v2 + ")";
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof DoubleTuple2) {
+            DoubleTuple2 t = (DoubleTuple2) o;
+            return Double.doubleToLongBits(v1) == Double.doubleToLongBits(t.v1) && Double.doubleToLongBits(v2) == Double.doubleToLongBits(t.v2);
+        }
+        return super.equals(o);
+    }
+    @Override
+    public int hashCode() {
+        // same as Tuple2.hashCode() of the boxed values
+        return 31 * hash(v1) + hash(v2);
+    }
+
+    private static int hash(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return (int) (bits ^ (bits >>> 32));
+    }
+}
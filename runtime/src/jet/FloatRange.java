@@ -36,9 +36,9 @@ public final class FloatRange implements Range<Float> {
 
     public FloatIterator step(float step) {
         if(step < 0)
-            return new MyIterator(getEnd(), -size, -step);
+            return iterator(getEnd(), -size, -step);
         else
-            return new MyIterator(start, size, step);
+            return iterator(start, size, step);
     }
 
     public boolean getIsReversed() {
@@ -65,45 +65,60 @@ public final class FloatRange implements Range<Float> {
         return new FloatRange(0, length);
     }
 
-    private static class MyIterator extends FloatIterator {
+    private static FloatIterator iterator(float startValue, float size, float step) {
+        if (size < 0) {
+            return new DownIterator(startValue, startValue - size, step);
+        }
+        return new UpIterator(startValue, startValue + size, step);
+    }
+
+    // Separate classes for the two directions keep the direction check out of getHasNext() and nextFloat()
+
+    private static final class UpIterator extends FloatIterator {
         private float cur;
-        private float step;
         private final float end;
+        private final float step;
+
+        private UpIterator(float startValue, float end, float step) {
+            this.cur = startValue;
+            this.end = end;
+            this.step = step;
+        }
+
+        @Override
+        public boolean getHasNext() {
+            return cur <= end;
+        }
 
-        private final boolean reversed;
+        @Override
+        public float nextFloat() {
+            float result = cur;
+            cur += step;
+            return result;
+        }
+    }
+
+    private static final class DownIterator extends FloatIterator {
+        private float cur;
+        private final float end;
+        private final float step;
 
-        public MyIterator(float startValue, float size, float step) {
-            cur = startValue;
+        private DownIterator(float startValue, float end, float step) {
+            this.cur = startValue;
+            this.end = end;
             this.step = step;
-            if(size < 0) {
-                reversed = true;
-                end = startValue-size;
-                startValue -= size;
-            }
-            else {
-                reversed = false;
-                this.end = startValue + size;
-            }
         }
 
         @Override
         public boolean getHasNext() {
-            if(reversed)
-                return cur >= end;
-            else
-                return cur <= end;
+            return cur >= end;
         }
 
         @Override
         public float nextFloat() {
-            if(reversed) {
-                cur -= step;
-                return cur + step;
-            }
-            else {
-                cur += step;
-                return cur - step;
-            }
+            float result = cur;
+            cur -= step;
+            return result;
         }
     }
 }
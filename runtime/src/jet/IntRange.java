@@ -38,9 +38,9 @@ public final class IntRange implements Range<Integer>, IntIterable {
 
     public IntIterator step(int step) {
         if(step < 0)
-            return new MyIterator(getEnd(), -count, -step);
+            return iterator(getEnd(), -count, -step);
         else
-            return new MyIterator(start, count, step);
+            return iterator(start, count, step);
     }
 
     public boolean getIsReversed() {
@@ -69,32 +69,70 @@ public final class IntRange implements Range<Integer>, IntIterable {
 
     @Override
     public IntIterator iterator() {
-        return new MyIterator(start, count, 1);
+        return iterator(start, count, 1);
     }
 
     public static IntRange count(int length) {
         return new IntRange(0, length);
     }
 
-    private static class MyIterator extends IntIterator {
+    /**
+     * @return the numbers of the range in iteration order, so that they can be walked with a counted loop
+     */
+    public int[] toArray() {
+        int[] result = new int[getSize()];
+        int value = start;
+        int delta = count < 0 ? -1 : 1;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = value;
+            value += delta;
+        }
+        return result;
+    }
+
+    private static IntIterator iterator(int startValue, int count, int step) {
+        if (count < 0) {
+            return new DownIterator(startValue, -count, step);
+        }
+        return new UpIterator(startValue, count, step);
+    }
+
+    // Separate classes for the two directions keep the direction check out of nextInt()
+
+    private static final class UpIterator extends IntIterator {
         private int cur;
-        private int step;
         private int count;
+        private final int step;
 
-        private final boolean reversed;
-
-        public MyIterator(int startValue, int count, int step) {
-            cur = startValue;
+        private UpIterator(int startValue, int count, int step) {
+            this.cur = startValue;
+            this.count = count;
             this.step = step;
-            if(count < 0) {
-                reversed = true;
-                count = -count;
-                startValue += count;
-            }
-            else {
-                reversed = false;
-            }
+        }
+
+        @Override
+        public boolean getHasNext() {
+            return count > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            int result = cur;
+            cur += step;
+            count -= step;
+            return result;
+        }
+    }
+
+    private static final class DownIterator extends IntIterator {
+        private int cur;
+        private int count;
+        private final int step;
+
+        private DownIterator(int startValue, int count, int step) {
+            this.cur = startValue;
             this.count = count;
+            this.step = step;
         }
 
         @Override
@@ -104,15 +142,10 @@ public final class IntRange implements Range<Integer>, IntIterable {
 
         @Override
         public int nextInt() {
+            int result = cur;
+            cur -= step;
             count -= step;
-            if(reversed) {
-                cur -= step;
-                return cur + step;
-            }
-            else {
-                cur += step;
-                return cur - step;
-            }
+            return result;
         }
     }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jet;
+
+/**
+ * A pair of non-nullable ints that keeps its components unboxed: {@link #get_1()} and {@link #get_2()} box them on demand,
+ * and the inherited {@link #_1} and {@link #_2} fields stay null.
+ * The compiler creates it for tuple literals like <code>#(a, b)</code> where both entries are ints
+ * and reads the components with {@link #get_1Int()} and {@link #get_2Int()}.
+ */
+public final class IntTuple2 extends Tuple2<Integer, Integer> {
+    private final int v1;
+    private final int v2;
+
+    public IntTuple2(int t1, int t2) {
+        super(null, null);
+        v1 = t1;
+        v2 = t2;
+    }
+
+    @Override
+    public Integer get_1() {
+        return Integer.valueOf(v1);
+    }
+    @Override
+    public Integer get_2() {
+        return Integer.valueOf(v2);
+    }
+
+    @Override
+    public int get_1Int() {
+        return v1;
+    }
+    @Override
+    public int get_2Int() {
+        return v2;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + v1 + ", " + v2 + ")";
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof IntTuple2) {
+            IntTuple2 t = (IntTuple2) o;
+            return v1 == t.v1 && v2 == t.v2;
+        }
+        return super.equals(o);
+    }
+    @Override
+    public int hashCode() {
+        // same as Tuple2.hashCode() of the boxed values
+        return 31 * v1 + v2;
+    }
+}
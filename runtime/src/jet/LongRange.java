@@ -29,9 +29,9 @@ public final class LongRange implements Range<Long>, LongIterable {
 
     public LongIterator step(long step) {
         if(step < 0)
-            return new MyIterator(getEnd(), -count, -step);
+            return iterator(getEnd(), -count, -step);
         else
-            return new MyIterator(start, count, step);
+            return iterator(start, count, step);
     }
 
     @Override
@@ -69,32 +69,74 @@ public final class LongRange implements Range<Long>, LongIterable {
 
     @Override
     public LongIterator iterator() {
-        return new MyIterator(start, count, 1);
+        return iterator(start, count, 1);
     }
 
     public static LongRange count(int length) {
         return new LongRange(0, length);
     }
 
-    private static class MyIterator extends LongIterator {
+    /**
+     * @return the numbers of the range in iteration order, so that they can be walked with a counted loop
+     */
+    public long[] toArray() {
+        long size = getSize();
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Range is too big to fit into an array: " + size);
+        }
+        long[] result = new long[(int) size];
+        long value = start;
+        long delta = count < 0 ? -1 : 1;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = value;
+            value += delta;
+        }
+        return result;
+    }
+
+    private static LongIterator iterator(long startValue, long count, long step) {
+        if (count < 0) {
+            return new DownIterator(startValue, -count, step);
+        }
+        return new UpIterator(startValue, count, step);
+    }
+
+    // Separate classes for the two directions keep the direction check out of nextLong()
+
+    private static final class UpIterator extends LongIterator {
         private long cur;
-        private long step;
         private long count;
+        private final long step;
 
-        private final boolean reversed;
-
-        public MyIterator(long startValue, long count, long step) {
-            cur = startValue;
+        private UpIterator(long startValue, long count, long step) {
+            this.cur = startValue;
+            this.count = count;
             this.step = step;
-            if(count < 0) {
-                reversed = true;
-                count = -count;
-                startValue += count;
-            }
-            else {
-                reversed = false;
-            }
+        }
+
+        @Override
+        public boolean getHasNext() {
+            return count > 0;
+        }
+
+        @Override
+        public long nextLong() {
+            long result = cur;
+            cur += step;
+            count -= step;
+            return result;
+        }
+    }
+
+    private static final class DownIterator extends LongIterator {
+        private long cur;
+        private long count;
+        private final long step;
+
+        private DownIterator(long startValue, long count, long step) {
+            this.cur = startValue;
             this.count = count;
+            this.step = step;
         }
 
         @Override
@@ -104,15 +146,10 @@ public final class LongRange implements Range<Long>, LongIterable {
 
         @Override
         public long nextLong() {
+            long result = cur;
+            cur -= step;
             count -= step;
-            if(reversed) {
-                cur -= step;
-                return (cur + step);
-            }
-            else {
-                cur += step;
-                return (cur - step);
-            }
+            return result;
         }
     }
 }
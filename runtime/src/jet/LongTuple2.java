@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2012 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jet;
+
+/**
+ * A pair of non-nullable longs that keeps its components unboxed: {@link #get_1()} and {@link #get_2()} box them on demand,
+ * and the inherited {@link #_1} and {@link #_2} fields stay null.
+ * The compiler creates it for tuple literals like <code>#(a, b)</code> where both entries are longs
+ * and reads the components with {@link #get_1Long()} and {@link #get_2Long()}.
+ */
+public final class LongTuple2 extends Tuple2<Long, Long> {
+    private final long v1;
+    private final long v2;
+
+    public LongTuple2(long t1, long t2) {
+        super(null, null);
+        v1 = t1;
+        v2 = t2;
+    }
+
+    @Override
+    public Long get_1() {
+        return Long.valueOf(v1);
+    }
+    @Override
+    public Long get_2() {
+        return Long.valueOf(v2);
+    }
+
+    @Override
+    public long get_1Long() {
+        return v1;
+    }
+    @Override
+    public long get_2Long() {
+        return v2;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + v1 + ", " + v2 + ")";
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof LongTuple2) {
+            LongTuple2 t = (LongTuple2) o;
+            return v1 == t.v1 && v2 == t.v2;
+        }
+        return super.equals(o);
+    }
+    @Override
+    public int hashCode() {
+        // same as Tuple2.hashCode() of the boxed values
+        return 31 * (int) (v1 ^ (v1 >>> 32)) + (int) (v2 ^ (v2 >>> 32));
+    }
+}
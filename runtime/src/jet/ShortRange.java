@@ -29,9 +29,9 @@ public final class ShortRange implements Range<Short>, ShortIterable {
 
     public ShortIterator step(int step) {
         if(step < 0)
-            return new MyIterator(getEnd(), -count, -step);
+            return iterator(getEnd(), -count, -step);
         else
-            return new MyIterator(start, count, step);
+            return iterator(start, count, step);
     }
 
     @Override
@@ -69,32 +69,70 @@ public final class ShortRange implements Range<Short>, ShortIterable {
 
     @Override
     public ShortIterator iterator() {
-        return new MyIterator(start, count, 1);
+        return iterator(start, count, 1);
     }
 
     public static ShortRange count(int length) {
         return new ShortRange((byte) 0, length);
     }
 
-    private static class MyIterator extends ShortIterator {
+    /**
+     * @return the numbers of the range in iteration order, so that they can be walked with a counted loop
+     */
+    public short[] toArray() {
+        short[] result = new short[getSize()];
+        short value = start;
+        int delta = count < 0 ? -1 : 1;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = value;
+            value += delta;
+        }
+        return result;
+    }
+
+    private static ShortIterator iterator(short startValue, int count, int step) {
+        if (count < 0) {
+            return new DownIterator(startValue, -count, step);
+        }
+        return new UpIterator(startValue, count, step);
+    }
+
+    // Separate classes for the two directions keep the direction check out of nextShort()
+
+    private static final class UpIterator extends ShortIterator {
         private short cur;
-        private int step;
         private int count;
+        private final int step;
 
-        private final boolean reversed;
-
-        public MyIterator(short startValue, int count, int step) {
-            cur = startValue;
+        private UpIterator(short startValue, int count, int step) {
+            this.cur = startValue;
+            this.count = count;
             this.step = step;
-            if(count < 0) {
-                reversed = true;
-                count = -count;
-                startValue += count;
-            }
-            else {
-                reversed = false;
-            }
+        }
+
+        @Override
+        public boolean getHasNext() {
+            return count > 0;
+        }
+
+        @Override
+        public short nextShort() {
+            short result = cur;
+            cur += step;
+            count -= step;
+            return result;
+        }
+    }
+
+    private static final class DownIterator extends ShortIterator {
+        private short cur;
+        private int count;
+        private final int step;
+
+        private DownIterator(short startValue, int count, int step) {
+            this.cur = startValue;
             this.count = count;
+            this.step = step;
         }
 
         @Override
@@ -104,15 +142,10 @@ public final class ShortRange implements Range<Short>, ShortIterable {
 
         @Override
         public short nextShort() {
+            short result = cur;
+            cur -= step;
             count -= step;
-            if(reversed) {
-                cur -= step;
-                return (short) (cur + step);
-            }
-            else {
-                cur += step;
-                return (short) (cur - step);
-            }
+            return result;
         }
     }
 }
@@ -17,6 +17,9 @@
 package jet;
 
 public class Tuple2<T1, T2> extends Tuple {
+    /**
+     * Stays null in {@link IntTuple2}, {@link LongTuple2} and {@link DoubleTuple2}: always read the components through the getters.
+     */
     public final T1 _1;
     public final T2 _2;
 
@@ -27,35 +30,60 @@ public class Tuple2<T1, T2> extends Tuple {
 
     @Override
     public String toString() {
-        return "(" + _1 + ", " + _2 + ")";
+        return "(" + get_1() + ", " + get_2() + ")";
     }
-    public final T1 get_1() {
+    public T1 get_1() {
         return _1;
     }
-    public final T2 get_2() {
+    public T2 get_2() {
         return _2;
     }
+
+    public int get_1Int() {
+        return ((Number) get_1()).intValue();
+    }
+    public int get_2Int() {
+        return ((Number) get_2()).intValue();
+    }
+    public long get_1Long() {
+        return ((Number) get_1()).longValue();
+    }
+    public long get_2Long() {
+        return ((Number) get_2()).longValue();
+    }
+    public double get_1Double() {
+        return ((Number) get_1()).doubleValue();
+    }
+    public double get_2Double() {
+        return ((Number) get_2()).doubleValue();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        // specialized subclasses must be equal to generic tuples holding the same boxed values
+        if (!(o instanceof Tuple2)) return false;
 
         Tuple2 t = (Tuple2) o;
-        if (_1 != null ? !_1.equals(t._1) : t._1 != null) return false;
-        if (_2 != null ? !_2.equals(t._2) : t._2 != null) return false;
+        Object t1 = get_1();
+        Object t2 = get_2();
+        if (t1 != null ? !t1.equals(t.get_1()) : t.get_1() != null) return false;
+        if (t2 != null ? !t2.equals(t.get_2()) : t.get_2() != null) return false;
         return true;
     }
     @Override
     public int hashCode() {
-        int result = _1 != null ? _1.hashCode() : 0;
-        result = 31 * result + (_2 != null ? _2.hashCode() : 0);
+        Object t1 = get_1();
+        Object t2 = get_2();
+        int result = t1 != null ? t1.hashCode() : 0;
+        result = 31 * result + (t2 != null ? t2.hashCode() : 0);
         return result;
     }
 
     @Override
     public void forEach(Function1<Object, Tuple0> fn) {
-        fn.invoke(_1);
-        fn.invoke(_2);
+        fn.invoke(get_1());
+        fn.invoke(get_2());
     }
 
     @Override
@@ -67,28 +67,28 @@ public class JetSignatureReader {
                 TypeInfoVariance variance;
                 boolean reified = true;
                 
-                if (signature.substring(pos).startsWith("erased ")) {
+                // startsWith(prefix, offset) compares in place instead of copying the rest of the signature
+                if (signature.startsWith("erased ", pos)) {
                     reified = false;
                     pos += "erased ".length();
                 }
-                if (signature.substring(pos).startsWith("in ")) {
+                if (signature.startsWith("in ", pos)) {
                     variance = TypeInfoVariance.IN;
                     pos += "in ".length();
-                } else if (signature.substring(pos).startsWith("out ")) {
+                } else if (signature.startsWith("out ", pos)) {
                     variance = TypeInfoVariance.OUT;
                     pos += "out ".length();
                 } else {
                     variance = TypeInfoVariance.INVARIANT;
-                    pos += "".length();
                 }
                 int end = signature.indexOf(':', pos);
                 if (end < 0) {
                     throw new IllegalStateException();
                 }
-                String typeParameterName = signature.substring(pos, end);
-                if (typeParameterName.isEmpty()) {
+                if (end == pos) {
                     throw new IllegalStateException("incorrect signature: " + signature);
                 }
+                String typeParameterName = signature.substring(pos, end);
                 JetSignatureVisitor parameterVisitor = v.visitFormalTypeParameter(typeParameterName, variance, reified);
                 pos = end + 1;
 